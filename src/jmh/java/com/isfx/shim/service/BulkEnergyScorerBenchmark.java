@@ -0,0 +1,85 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에너지 점수 시뮬레이션: 기록별 단건 계산(EnergyScoreCalculator) vs primitive 배열 일괄 계산(BulkEnergyScorer)
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkEnergyScorerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int records;
+
+    private final EnergyScoreCalculator calculator = new EnergyScoreCalculator();
+    private Integer[] emotionLevels;
+    private Integer[] conversationLevels;
+    private Integer[] meetingCounts;
+    private TransportMode[] transportModes;
+    private Integer[] congestionLevels;
+    private WeatherLog[] weatherLogs;
+    private BulkEnergyScorer.Batch batch;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        EnergyScoreModel model = EnergyScoreModel.CURRENT;
+        emotionLevels = new Integer[records];
+        conversationLevels = new Integer[records];
+        meetingCounts = new Integer[records];
+        transportModes = new TransportMode[records];
+        congestionLevels = new Integer[records];
+        weatherLogs = new WeatherLog[records];
+        batch = new BulkEnergyScorer.Batch(model, records);
+        out = new double[records];
+
+        for (int i = 0; i < records; i++) {
+            emotionLevels[i] = 1 + random.nextInt(5);
+            conversationLevels[i] = 1 + random.nextInt(5);
+            meetingCounts[i] = random.nextInt(5);
+            transportModes[i] = TransportMode.values()[random.nextInt(TransportMode.values().length)];
+            congestionLevels[i] = 1 + random.nextInt(5);
+            weatherLogs[i] = WeatherLog.builder()
+                    .temperature(-5 + random.nextDouble() * 35)
+                    .condition(WeatherCondition.values()[random.nextInt(WeatherCondition.values().length)])
+                    .pm10((short) random.nextInt(120))
+                    .pm25((short) random.nextInt(60))
+                    .build();
+            batch.add(emotionLevels[i], conversationLevels[i], meetingCounts[i], transportModes[i],
+                    congestionLevels[i], calculator.calculateWeatherScore(model, weatherLogs[i]));
+        }
+    }
+
+    @Benchmark
+    public double[] perRecordWalkScenario() {
+        EnergyScoreModel model = EnergyScoreModel.CURRENT;
+        for (int i = 0; i < records; i++) {
+            out[i] = calculator.calculateEnergyScore(model, emotionLevels[i], conversationLevels[i],
+                    meetingCounts[i], TransportMode.WALK, congestionLevels[i], weatherLogs[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] bulkWalkScenario() {
+        BulkEnergyScorer.score(batch, TransportMode.WALK, null, null, out);
+        return out;
+    }
+}
@@ -0,0 +1,132 @@
+package com.isfx.shim.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isfx.shim.dto.AirQualityResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기상청/서울시 응답 파싱: 기존 JsonNode 트리 방식 vs 스트리밍 파서 비교
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeatherPayloadParsingBenchmark {
+
+    private static final List<String> KMA_CATEGORIES = List.of("PTY", "REH", "RN1", "T1H", "UUU", "VEC", "VVV", "WSD");
+    private static final List<String> DISTRICTS = List.of(
+            "종로구", "중구", "용산구", "성동구", "광진구", "동대문구", "중랑구", "성북구", "강북구", "도봉구",
+            "노원구", "은평구", "서대문구", "마포구", "양천구", "강서구", "구로구", "금천구", "영등포구", "동작구",
+            "관악구", "서초구", "강남구", "송파구", "강동구");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] kmaPayload;
+    private byte[] airQualityPayload;
+
+    @Setup
+    public void setUp() {
+        kmaPayload = buildKmaPayload().getBytes(StandardCharsets.UTF_8);
+        airQualityPayload = buildAirQualityPayload().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public double kmaTree() throws Exception {
+        JsonNode items = objectMapper.readTree(kmaPayload)
+                .path("response").path("body").path("items").path("item");
+        double temperature = Double.NaN;
+        int sky = 1;
+        int pty = 0;
+        for (JsonNode item : items) {
+            switch (item.path("category").asText("")) {
+                case "T1H" -> temperature = item.path("obsrValue").asDouble(Double.NaN);
+                case "SKY" -> sky = item.path("obsrValue").asInt(1);
+                case "PTY" -> pty = item.path("obsrValue").asInt(0);
+                default -> {
+                }
+            }
+        }
+        return temperature + sky + pty;
+    }
+
+    @Benchmark
+    public double kmaStreaming() throws Exception {
+        KmaObservationParser.KmaObservation observation = KmaObservationParser.parse(kmaPayload);
+        return observation.temperature() + observation.sky() + observation.pty();
+    }
+
+    @Benchmark
+    public Map<String, AirQualityResponseDto> airQualityTree() throws Exception {
+        JsonNode rows = objectMapper.readTree(airQualityPayload)
+                .path("ListAirQualityByDistrictService").path("row");
+        Map<String, AirQualityResponseDto> byDistrict = new HashMap<>();
+        for (JsonNode row : rows) {
+            byDistrict.put(row.path("MSRSTENAME").asText("").trim(), AirQualityResponseDto.builder()
+                    .pm10(parseTreeValue(row.path("PM")))
+                    .pm25(parseTreeValue(row.path("FPM")))
+                    .airQualityIndex(parseTreeValue(row.path("CAI")))
+                    .build());
+        }
+        return byDistrict;
+    }
+
+    @Benchmark
+    public Map<String, AirQualityResponseDto> airQualityStreaming() throws Exception {
+        return AirQualityPayloadParser.parse(airQualityPayload);
+    }
+
+    private Short parseTreeValue(JsonNode node) {
+        String value = node.asText("").trim();
+        if (value.isEmpty() || value.equals("-")) {
+            return null;
+        }
+        int parsed = Integer.parseInt(value);
+        return parsed >= 0 ? (short) parsed : null;
+    }
+
+    private String buildKmaPayload() {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < KMA_CATEGORIES.size(); i++) {
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"baseDate\":\"20250101\",\"baseTime\":\"1300\",\"category\":\"")
+                    .append(KMA_CATEGORIES.get(i))
+                    .append("\",\"nx\":61,\"ny\":125,\"obsrValue\":\"")
+                    .append(i == 3 ? "4.7" : String.valueOf(i))
+                    .append("\"}");
+        }
+        return "{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL_SERVICE\"},"
+                + "\"body\":{\"dataType\":\"JSON\",\"items\":{\"item\":[" + items + "]},"
+                + "\"pageNo\":1,\"numOfRows\":1000,\"totalCount\":" + KMA_CATEGORIES.size() + "}}}";
+    }
+
+    private String buildAirQualityPayload() {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < DISTRICTS.size(); i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            rows.append("{\"MSRDATE\":\"202501011300\",\"MSRADMCODE\":\"1110000\",\"MSRSTENAME\":\"")
+                    .append(DISTRICTS.get(i))
+                    .append("\",\"MAXINDEX\":\"PM10\",\"GRADE\":\"보통\",\"POLLUTANT\":\"미세먼지\",")
+                    .append("\"NITROGEN\":\"0.021\",\"OZONE\":\"0.018\",\"CARBON\":\"0.4\",\"SULFUROUS\":\"0.003\",")
+                    .append("\"PM\":\"").append(20 + i).append("\",\"FPM\":\"").append(10 + i)
+                    .append("\",\"CAI\":\"").append(50 + i).append("\"}");
+        }
+        return "{\"ListAirQualityByDistrictService\":{\"list_total_count\":25,"
+                + "\"RESULT\":{\"CODE\":\"INFO-000\",\"MESSAGE\":\"정상 처리되었습니다\"},\"row\":[" + rows + "]}}";
+    }
+}
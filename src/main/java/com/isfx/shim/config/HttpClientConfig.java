@@ -0,0 +1,139 @@
+package com.isfx.shim.config;
+
+import com.isfx.shim.global.monitoring.TransactionIoInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 API 공용 HTTP 클라이언트 설정
+ *
+ * 모든 외부 호출(기상청, 서울시, Upstage, 카카오)이 하나의 커넥션 풀을 공유합니다.
+ * - keep-alive 연결 재사용으로 요청마다 TCP/TLS 핸드셰이크 반복 방지
+ * - 호스트별 최대 연결 수 제한 (느린 업스트림 하나가 풀 전체를 점유하지 않도록)
+ * - 업스트림별 연결/읽기 타임아웃 (느린 응답이 Tomcat 스레드를 무한정 붙잡지 않도록)
+ * - 풀 사용량 메트릭 (httpcomponents.httpclient.pool.*)
+ * - 트랜잭션 커넥션을 잡은 상태의 호출 감지 (TransactionIoInterceptor)
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class HttpClientConfig {
+
+    private final OutboundHttpProperties properties;
+    private final TransactionIoInterceptor transactionIoInterceptor;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager() {
+        // 호스트별 연결 설정 (연결 타임아웃은 업스트림마다 다름)
+        Map<String, ConnectionConfig> connectionConfigs = new HashMap<>();
+        ConnectionConfig defaultConfig = connectionConfig(properties.getKma());
+        for (OutboundHttpProperties.Upstream upstream : upstreams()) {
+            ConnectionConfig config = connectionConfig(upstream);
+            upstream.getHosts().forEach(host -> connectionConfigs.put(URI.create(host).getHost(), config));
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setConnectionConfigResolver(route ->
+                        connectionConfigs.getOrDefault(route.getTargetHost().getHostName(), defaultConfig))
+                .build();
+
+        for (OutboundHttpProperties.Upstream upstream : upstreams()) {
+            upstream.getHosts().forEach(host ->
+                    connectionManager.setMaxPerRoute(toRoute(host), upstream.getMaxPerRoute()));
+        }
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis()))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder outboundConnectionPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(outboundConnectionManager, "outbound");
+    }
+
+    @Bean
+    public RestTemplate kmaRestTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return buildRestTemplate(builder, outboundHttpClient, properties.getKma());
+    }
+
+    @Bean
+    public RestTemplate seoulAirRestTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return buildRestTemplate(builder, outboundHttpClient, properties.getSeoulAir());
+    }
+
+    @Bean
+    public RestTemplate upstageRestTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return buildRestTemplate(builder, outboundHttpClient, properties.getUpstage());
+    }
+
+    @Bean
+    public RestTemplate kakaoRestTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return buildRestTemplate(builder, outboundHttpClient, properties.getKakao());
+    }
+
+    private RestTemplate buildRestTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient,
+                                           OutboundHttpProperties.Upstream upstream) {
+        return builder
+                .requestFactory(() -> {
+                    HttpComponentsClientHttpRequestFactory requestFactory =
+                            new HttpComponentsClientHttpRequestFactory(httpClient);
+                    requestFactory.setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis());
+                    requestFactory.setReadTimeout((int) upstream.getReadTimeout().toMillis());
+                    return requestFactory;
+                })
+                .additionalInterceptors(transactionIoInterceptor)
+                .build();
+    }
+
+    private ConnectionConfig connectionConfig(OutboundHttpProperties.Upstream upstream) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(upstream.getConnectTimeout().toMillis()))
+                .setSocketTimeout(Timeout.ofMilliseconds(upstream.getReadTimeout().toMillis()))
+                .setTimeToLive(TimeValue.ofMilliseconds(properties.getTimeToLive().toMillis()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+    }
+
+    private List<OutboundHttpProperties.Upstream> upstreams() {
+        return List.of(properties.getKma(), properties.getSeoulAir(), properties.getUpstage(), properties.getKakao());
+    }
+
+    /**
+     * scheme://host[:port] → 커넥션 풀의 라우트 키 (포트 생략 시 기본 포트)
+     */
+    private HttpRoute toRoute(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+}
@@ -0,0 +1,40 @@
+package com.isfx.shim.config;
+
+import com.isfx.shim.entity.DailyRecord;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 테이블 기반 ID 생성기(id_generators)의 시작 위치 보정
+ *
+ * daily_records는 AUTO_INCREMENT로 생성된 기존 행이 있으므로, 생성기 값이 기존 최대 ID보다 작으면
+ * 새 ID가 겹칩니다. 스키마 생성(EntityManagerFactory) 직후, 요청을 받기 전에 값을 끌어올립니다.
+ * pooled 최적화는 읽은 값에서 할당 크기만큼 아래 구간을 쓸 수 있으므로 그만큼 여유를 둡니다.
+ * 보정에 실패하면(테이블 없음, 권한 부족 등) 기동을 중단합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class IdGeneratorInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignDailyRecordIds() {
+        try {
+            jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) "
+                    + "SELECT * FROM (SELECT 'daily_records' AS seq, COALESCE(MAX(record_id), 0) + 1 + ? AS val "
+                    + "FROM daily_records) AS src "
+                    + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, src.val)", DailyRecord.ID_ALLOCATION_SIZE);
+        } catch (Exception e) {
+            // 보정 없이 기동하면 새 record_id가 기존 행과 겹쳐 INSERT가 실패하므로 기동 중단
+            log.error("[ID 생성기] daily_records 시작 위치 보정 실패, 기동 중단: error={}", e.getMessage());
+            throw new IllegalStateException("Failed to align id_generators for daily_records", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.isfx.shim.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 외부 API 호출용 HTTP 커넥션 풀 / 타임아웃 설정 (outbound.http.*)
+ * 값을 지정하지 않으면 아래 기본값을 사용합니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbound.http")
+public class OutboundHttpProperties {
+
+    // 전체 풀 최대 연결 수
+    private int maxTotal = 100;
+
+    // 풀에서 연결을 얻기까지 최대 대기 시간 (풀이 고갈되면 빠르게 실패)
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    // 이 시간 이상 사용되지 않은 keep-alive 연결은 정리
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    // 연결 최대 수명
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    // 기상청 초단기실황 API
+    private Upstream kma = new Upstream(
+            List.of("https://apis.data.go.kr"), 20, Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+    // 서울시 대기질 정보 API
+    private Upstream seoulAir = new Upstream(
+            List.of("http://openapi.seoul.go.kr:8088"), 5, Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+    // Upstage Chat API (LLM 응답 생성 시간을 고려해 읽기 타임아웃을 길게)
+    private Upstream upstage = new Upstream(
+            List.of("https://api.upstage.ai"), 20, Duration.ofSeconds(3), Duration.ofSeconds(30));
+
+    // 카카오 로그인 (토큰 / 사용자 정보)
+    private Upstream kakao = new Upstream(
+            List.of("https://kauth.kakao.com", "https://kapi.kakao.com"), 10, Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Upstream {
+        // 이 업스트림이 사용하는 호스트 (scheme://host[:port])
+        private List<String> hosts;
+        // 호스트별 최대 연결 수
+        private int maxPerRoute;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+    }
+}
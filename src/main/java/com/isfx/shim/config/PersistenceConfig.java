@@ -0,0 +1,46 @@
+package com.isfx.shim.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JPA 쓰기 배치 설정
+ *
+ * - Hibernate JDBC 배치: 같은 테이블 INSERT/UPDATE를 모아 한 번에 전송 (기록 일괄 가져오기 등)
+ * - MySQL 드라이버 rewriteBatchedStatements: 배치를 다중 VALUES INSERT 한 문장으로 재작성
+ *   (이 옵션이 없으면 배치여도 문장마다 왕복이 발생)
+ * IDENTITY 생성 엔티티는 INSERT 배치가 되지 않으므로, 대량 저장 대상은 테이블 기반 ID 생성기를 사용합니다. (DailyRecord)
+ */
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${persistence.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")
+                        && !dataSource.getJdbcUrl().contains("rewriteBatchedStatements")) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
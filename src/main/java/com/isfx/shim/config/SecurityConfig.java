@@ -4,6 +4,7 @@ import com.isfx.shim.global.security.JwtAuthenticationFilter;
 import com.isfx.shim.global.security.JwtUtil;
 import com.isfx.shim.global.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -49,8 +50,10 @@ public class SecurityConfig {
         // 4. URL별 권한 설정
         http.authorizeHttpRequests(authorize -> authorize
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // preflight 허용
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE 비동기 디스패치 (최초 요청에서 인증 완료)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
         );
 
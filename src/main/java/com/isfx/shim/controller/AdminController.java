@@ -0,0 +1,69 @@
+package com.isfx.shim.controller;
+
+import com.isfx.shim.dto.EnergyScoreRecomputeStatusDto;
+import com.isfx.shim.dto.PrescriptionRefreshStatusDto;
+import com.isfx.shim.global.common.ApiResponse;
+import com.isfx.shim.global.exception.CustomException;
+import com.isfx.shim.global.exception.ErrorCode;
+import com.isfx.shim.service.EnergyScoreRecomputeJob;
+import com.isfx.shim.service.PrescriptionRefreshJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 관리자 전용 API (/api/admin/**, ROLE_ADMIN)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final EnergyScoreRecomputeJob energyScoreRecomputeJob;
+    private final PrescriptionRefreshJob prescriptionRefreshJob;
+
+    /**
+     * 에너지 점수 일괄 재계산 시작 API
+     * 현재 모델 버전과 다른 버전으로 계산된 기록을 백그라운드에서 다시 계산합니다.
+     */
+    @PostMapping("/energy-scores/recompute")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiResponse<EnergyScoreRecomputeStatusDto> startEnergyScoreRecompute() {
+        if (!energyScoreRecomputeJob.start()) {
+            throw new CustomException(ErrorCode.RECOMPUTE_ALREADY_RUNNING);
+        }
+        return ApiResponse.success(energyScoreRecomputeJob.status());
+    }
+
+    /**
+     * 에너지 점수 재계산 진행 상황 조회 API
+     */
+    @GetMapping("/energy-scores/recompute")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiResponse<EnergyScoreRecomputeStatusDto> getEnergyScoreRecomputeStatus() {
+        return ApiResponse.success(energyScoreRecomputeJob.status());
+    }
+
+    /**
+     * AI 처방 일괄 재생성 시작 API
+     * 현재 모델/프롬프트 버전과 다른 버전으로 생성된 처방을 백그라운드에서 다시 생성합니다.
+     * 중단된 재생성이 있으면 마지막 진행 위치부터 이어서 처리합니다.
+     */
+    @PostMapping("/prescriptions/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiResponse<PrescriptionRefreshStatusDto> startPrescriptionRefresh() {
+        if (!prescriptionRefreshJob.start()) {
+            throw new CustomException(ErrorCode.PRESCRIPTION_REFRESH_ALREADY_RUNNING);
+        }
+        return ApiResponse.success(prescriptionRefreshJob.status());
+    }
+
+    /**
+     * AI 처방 재생성 진행 상황/처리 속도 조회 API
+     */
+    @GetMapping("/prescriptions/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiResponse<PrescriptionRefreshStatusDto> getPrescriptionRefreshStatus() {
+        return ApiResponse.success(prescriptionRefreshJob.status());
+    }
+}
@@ -2,16 +2,27 @@ package com.isfx.shim.controller;
 
 import com.isfx.shim.dto.CreateRecordRequest;
 import com.isfx.shim.dto.CreateRecordResponseDto;
+import com.isfx.shim.dto.EnergySimulationRequest;
+import com.isfx.shim.dto.EnergySimulationResponseDto;
+import com.isfx.shim.dto.ImportRecordsRequest;
+import com.isfx.shim.dto.ImportRecordsResponseDto;
 import com.isfx.shim.dto.UpdateRecordRequest;
 import com.isfx.shim.dto.RecordSummaryDto;
 import com.isfx.shim.global.common.ApiResponse;
 import com.isfx.shim.global.security.UserDetailsImpl;
+import com.isfx.shim.service.EnergySimulationService;
+import com.isfx.shim.service.IdempotentExecutor;
+import com.isfx.shim.service.PrescriptionStreamService;
+import com.isfx.shim.service.RecordCommandService;
+import com.isfx.shim.service.RecordImportService;
 import com.isfx.shim.service.RecordService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -21,10 +32,16 @@ import java.util.List;
 public class RecordController {
 
     private final RecordService recordService;
+    private final RecordCommandService recordCommandService;
+    private final PrescriptionStreamService prescriptionStreamService;
+    private final IdempotentExecutor idempotentExecutor;
+    private final RecordImportService recordImportService;
+    private final EnergySimulationService energySimulationService;
 
     /**
      * 오늘의 기록 생성 API
      * @param userDetails JWT 토큰에서 추출된 사용자 정보
+     * @param idempotencyKey 재시도 식별 키 (선택, 같은 키로 다시 요청하면 처음 응답을 그대로 반환)
      * @param request 기록 생성 요청 DTO
      * @return 생성된 기록 응답 DTO
      */
@@ -32,26 +49,67 @@ public class RecordController {
     @ResponseStatus(HttpStatus.CREATED)
     public ApiResponse<CreateRecordResponseDto> createRecord(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CreateRecordRequest request) {
         
         Long userId = userDetails.getUser().getId();
-        CreateRecordResponseDto response = recordService.createRecord(userId, request);
+        CreateRecordResponseDto response = idempotentExecutor.execute(
+                userId, idempotencyKey, "POST /api/records", request, CreateRecordResponseDto.class,
+                () -> recordCommandService.createRecord(userId, request));
         
         return ApiResponse.created(response);
     }
 
+    /**
+     * 기록 일괄 가져오기 API (다른 앱 이력 이전, 오프라인 기록 전송)
+     * 같은 내용의 기록이 이미 있으면 건너뛰며, 과거 기록에는 AI 처방을 생성하지 않습니다.
+     */
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ApiResponse<ImportRecordsResponseDto> importRecords(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody ImportRecordsRequest request) {
+
+        Long userId = userDetails.getUser().getId();
+        ImportRecordsResponseDto response = idempotentExecutor.execute(
+                userId, idempotencyKey, "POST /api/records/import", request, ImportRecordsResponseDto.class,
+                () -> recordImportService.importRecords(userId, request));
+
+        return ApiResponse.created(response);
+    }
+
+    /**
+     * 에너지 점수 what-if 시뮬레이션 API
+     * 이동 수단/혼잡도/만남 횟수를 바꿨다면 전체 기록의 점수가 어떻게 달라졌을지 계산합니다. (기록은 변경하지 않음)
+     * 기록 단위 차이는 include_records=true일 때만 최근 기록 일부를 함께 반환합니다.
+     */
+    @PostMapping("/simulate")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiResponse<EnergySimulationResponseDto> simulateEnergyScores(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @Valid @RequestBody EnergySimulationRequest request) {
+
+        Long userId = userDetails.getUser().getId();
+        return ApiResponse.success(energySimulationService.simulate(userId, request));
+    }
+
     /**
      * 기록 수정 API
+     * Idempotency-Key 헤더가 있으면 같은 키의 재요청에 처음 응답을 반환합니다. (AI 처방 재생성 중복 방지)
      */
     @PutMapping("/{recordId}")
     @ResponseStatus(HttpStatus.OK)
     public ApiResponse<CreateRecordResponseDto> updateRecord(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @PathVariable("recordId") Long recordId,
             @Valid @RequestBody UpdateRecordRequest request) {
 
         Long userId = userDetails.getUser().getId();
-        CreateRecordResponseDto response = recordService.updateRecord(userId, recordId, request);
+        CreateRecordResponseDto response = idempotentExecutor.execute(
+                userId, idempotencyKey, "PUT /api/records/" + recordId, request, CreateRecordResponseDto.class,
+                () -> recordCommandService.updateRecord(userId, recordId, request));
 
         return ApiResponse.success(response);
     }
@@ -71,6 +129,36 @@ public class RecordController {
         return ApiResponse.success(response);
     }
 
+    /**
+     * AI 처방 생성 상태 조회 API
+     * 기록 생성/수정 직후에는 PENDING이며, 생성이 끝나면 DONE과 함께 처방 내용을 반환합니다.
+     */
+    @GetMapping("/{recordId}/prescription")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiResponse<CreateRecordResponseDto.AiPrescriptionDto> getPrescription(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable("recordId") Long recordId) {
+
+        Long userId = userDetails.getUser().getId();
+        CreateRecordResponseDto.AiPrescriptionDto response = recordService.getPrescription(userId, recordId);
+
+        return ApiResponse.success(response);
+    }
+
+    /**
+     * AI 처방 스트리밍 API (Server-Sent Events)
+     * journal_explain / recommendation_text 이벤트로 생성 중인 텍스트 조각을 보내고,
+     * 완료되면 done 이벤트로 저장된 최종 처방을 보냅니다.
+     */
+    @GetMapping(value = "/{recordId}/prescription/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrescription(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable("recordId") Long recordId) {
+
+        Long userId = userDetails.getUser().getId();
+        return prescriptionStreamService.stream(userId, recordId);
+    }
+
     /**
      * 월별 기록 요약 조회 API
      */
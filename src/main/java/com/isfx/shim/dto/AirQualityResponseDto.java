@@ -3,10 +3,16 @@ package com.isfx.shim.dto;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Builder
 public class AirQualityResponseDto {
     private final Short pm10;
     private final Short pm25;
     private final Short airQualityIndex;
+    // 스냅샷을 받아온 시각
+    private final LocalDateTime observedAt;
+    // 스냅샷 갱신이 실패하여 이전 스냅샷을 사용 중인 경우 true
+    private final boolean stale;
 }
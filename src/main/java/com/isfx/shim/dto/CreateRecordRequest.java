@@ -44,6 +44,16 @@ public class CreateRecordRequest {
     @NotBlank(message = "location은 필수 입력값입니다.")
     private String location; // 위치 정보 (예: 강남구)
 
+    @JsonProperty("latitude")
+    @DecimalMin(value = "32.0", message = "위도는 32.0 이상이어야 합니다.")
+    @DecimalMax(value = "44.0", message = "위도는 44.0 이하여야 합니다.")
+    private Double latitude; // 기기 위도 (선택, 있으면 격자 좌표 계산에 사용)
+
+    @JsonProperty("longitude")
+    @DecimalMin(value = "123.0", message = "경도는 123.0 이상이어야 합니다.")
+    @DecimalMax(value = "133.0", message = "경도는 133.0 이하여야 합니다.")
+    private Double longitude; // 기기 경도 (선택)
+
     @JsonProperty("journal")
     private String journal; // 일기 내용 (선택)
 }
@@ -5,12 +5,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.isfx.shim.entity.enums.EnergyLevel;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@Jacksonized // 멱등성 키로 저장된 응답 복원용
 public class CreateRecordResponseDto {
 
     @JsonProperty("record_id")
@@ -67,10 +69,15 @@ public class CreateRecordResponseDto {
     // AI 처방 정보
     @Getter
     @Builder
+    @Jacksonized
     public static class AiPrescriptionDto {
         @JsonProperty("id")
         private Long id;
 
+        // 생성 상태 (PENDING / IN_PROGRESS / DONE / FAILED), DONE일 때만 내용 포함
+        @JsonProperty("status")
+        private String status;
+
         @JsonProperty("category")
         private String category;
 
@@ -84,6 +91,7 @@ public class CreateRecordResponseDto {
     // 날씨 로그 정보
     @Getter
     @Builder
+    @Jacksonized
     public static class WeatherLogDto {
         @JsonProperty("id")
         private Long id;
@@ -103,5 +111,14 @@ public class CreateRecordResponseDto {
 
         @JsonProperty("pm10")
         private Integer pm10;
+
+        // 관측값 출처 (LIVE / LAST_KNOWN_GOOD / DEFAULT)
+        @JsonProperty("data_source")
+        private String dataSource;
+
+        // 실제 관측 시각 (대체값 사용 시 observed_at보다 이전)
+        @JsonProperty("source_observed_at")
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime sourceObservedAt;
     }
 }
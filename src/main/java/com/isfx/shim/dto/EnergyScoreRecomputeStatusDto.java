@@ -0,0 +1,48 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class EnergyScoreRecomputeStatusDto {
+
+    @JsonProperty("running")
+    private Boolean running;
+
+    // 재계산에 사용하는 모델 버전
+    @JsonProperty("target_version")
+    private Integer targetVersion;
+
+    // 시작 시점의 재계산 대상 수 (진행 중 새로 생긴 대상은 포함되지 않음)
+    @JsonProperty("total")
+    private Long total;
+
+    @JsonProperty("processed")
+    private Long processed;
+
+    @JsonProperty("written")
+    private Long written;
+
+    // 점수 또는 레벨이 달라진 기록 수
+    @JsonProperty("changed")
+    private Long changed;
+
+    @JsonProperty("failed_chunks")
+    private Long failedChunks;
+
+    @JsonProperty("records_per_second")
+    private Double recordsPerSecond;
+
+    @JsonProperty("started_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finished_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,49 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class EnergySimulationRequest {
+
+    @JsonProperty("scenarios")
+    @NotEmpty(message = "scenarios는 1개 이상이어야 합니다.")
+    @Size(max = 10, message = "한 번에 비교할 수 있는 시나리오는 10개 이하입니다.")
+    @Valid
+    private List<Scenario> scenarios;
+
+    // 시나리오별 기록 단위 차이 포함 여부 (선택, 기본 false, 최근 기록부터 최대 100건)
+    @JsonProperty("include_records")
+    private Boolean includeRecords;
+
+    // 바꿔 볼 입력값 (지정하지 않은 값은 각 기록의 실제 값 사용)
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Scenario {
+
+        @JsonProperty("transport_mode")
+        // 점수 모델에 기본 점수가 있는 이동 수단만 허용 (car/bike/none은 walk로 계산되어 잘못된 차이가 나옴)
+        @Pattern(regexp = "subway|bus|walk",
+                 message = "이동 수단은 subway, bus, walk 중 하나여야 합니다.")
+        private String transportMode; // 이동 수단 (선택)
+
+        @JsonProperty("congestion_level")
+        @Min(value = 1, message = "혼잡도는 1 이상이어야 합니다.")
+        @Max(value = 5, message = "혼잡도는 5 이하여야 합니다.")
+        private Integer congestionLevel; // 혼잡도 (선택, 1~5)
+
+        @JsonProperty("meeting_count")
+        @Min(value = 0, message = "만남 횟수는 0 이상이어야 합니다.")
+        @Max(value = 20, message = "만남 횟수는 20 이하여야 합니다.")
+        private Integer meetingCount; // 만남 횟수 (선택)
+    }
+}
@@ -0,0 +1,75 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Builder
+public class EnergySimulationResponseDto {
+
+    @JsonProperty("record_count")
+    private Integer recordCount;
+
+    // 현재 점수 모델로 다시 계산한 실제 입력값 기준 평균 점수 (시나리오 차이는 이 값 기준)
+    @JsonProperty("baseline_average_score")
+    private Double baselineAverageScore;
+
+    @JsonProperty("scenarios")
+    private List<ScenarioResult> scenarios;
+
+    @Getter
+    @Builder
+    public static class ScenarioResult {
+
+        @JsonProperty("transport_mode")
+        private String transportMode;
+
+        @JsonProperty("congestion_level")
+        private Integer congestionLevel;
+
+        @JsonProperty("meeting_count")
+        private Integer meetingCount;
+
+        @JsonProperty("average_score")
+        private Double averageScore;
+
+        @JsonProperty("average_delta")
+        private Double averageDelta;
+
+        // 에너지 레벨(LOW/MEDIUM/HIGH)이 달라지는 기록 수
+        @JsonProperty("level_changed_count")
+        private Integer levelChangedCount;
+
+        // include_records 요청 시에만 포함 (최근 기록 최대 EnergySimulationService.MAX_RECORD_DELTAS건)
+        @JsonProperty("records")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private List<RecordDelta> records;
+    }
+
+    @Getter
+    @Builder
+    public static class RecordDelta {
+
+        @JsonProperty("record_id")
+        private Long recordId;
+
+        @JsonProperty("record_date")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate recordDate;
+
+        @JsonProperty("baseline_score")
+        private Double baselineScore;
+
+        @JsonProperty("simulated_score")
+        private Double simulatedScore;
+
+        @JsonProperty("delta")
+        private Double delta;
+    }
+}
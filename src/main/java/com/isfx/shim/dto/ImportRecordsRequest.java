@@ -0,0 +1,42 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportRecordsRequest {
+
+    @JsonProperty("records")
+    @NotEmpty(message = "records는 1건 이상이어야 합니다.")
+    @Size(max = 1000, message = "한 번에 가져올 수 있는 기록은 1000건 이하입니다.")
+    @Valid
+    private List<ImportRecordItem> records;
+
+    // 가져올 기록 1건: 기록 생성 요청 값 + 기록 날짜/시간대
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class ImportRecordItem extends CreateRecordRequest {
+
+        @JsonProperty("record_date")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        @NotNull(message = "record_date는 필수 입력값입니다.")
+        @PastOrPresent(message = "record_date는 오늘 이전 날짜여야 합니다.")
+        private LocalDate recordDate; // 기록 날짜
+
+        @JsonProperty("time_period")
+        @Pattern(regexp = "MORNING|HOON|EVENING|NIGHT|OTHER",
+                 message = "시간대는 MORNING, HOON, EVENING, NIGHT, OTHER 중 하나여야 합니다.")
+        private String timePeriod; // 기록 시간대 (선택, 없으면 OTHER)
+    }
+}
@@ -0,0 +1,25 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Jacksonized // 멱등성 키로 저장된 응답 복원용
+public class ImportRecordsResponseDto {
+
+    // 새로 저장된 기록 수
+    @JsonProperty("imported_count")
+    private Integer importedCount;
+
+    // 같은 내용의 기록이 이미 있어 건너뛴 수 (재전송된 오프라인 기록 등)
+    @JsonProperty("skipped_count")
+    private Integer skippedCount;
+
+    @JsonProperty("record_ids")
+    private List<Long> recordIds;
+}
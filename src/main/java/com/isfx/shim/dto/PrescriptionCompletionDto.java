@@ -0,0 +1,21 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * AI 처방 생성 응답 (Upstage JSON 응답 모드의 본문)
+ */
+@Getter
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PrescriptionCompletionDto {
+
+    @JsonProperty("journal_explain")
+    private String journalExplain;
+
+    @JsonProperty("recommendation_text")
+    private String recommendationText;
+}
@@ -0,0 +1,60 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class PrescriptionRefreshStatusDto {
+
+    @JsonProperty("running")
+    private Boolean running;
+
+    // RUNNING / STOPPED / COMPLETED (한 번도 실행하지 않았으면 null)
+    @JsonProperty("status")
+    private String status;
+
+    // 재생성에 사용하는 모델/프롬프트 버전
+    @JsonProperty("target_version")
+    private String targetVersion;
+
+    // 마지막으로 끝까지 처리한 처방 ID (재시작 시 이 다음부터 처리)
+    @JsonProperty("last_id")
+    private Long lastId;
+
+    // 아래 건수는 중단 전 실행분까지 포함한 누적값
+    @JsonProperty("processed")
+    private Long processed;
+
+    @JsonProperty("regenerated")
+    private Long regenerated;
+
+    // 생성 중 기록이 수정되어 저장하지 않은 처방 수
+    @JsonProperty("skipped")
+    private Long skipped;
+
+    @JsonProperty("failed")
+    private Long failed;
+
+    @JsonProperty("remaining")
+    private Long remaining;
+
+    // 이번 실행의 처리 속도와, 그 속도 기준 남은 예상 시간
+    @JsonProperty("records_per_minute")
+    private Double recordsPerMinute;
+
+    @JsonProperty("estimated_remaining_minutes")
+    private Long estimatedRemainingMinutes;
+
+    @JsonProperty("started_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finished_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime finishedAt;
+}
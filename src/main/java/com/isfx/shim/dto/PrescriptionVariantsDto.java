@@ -0,0 +1,20 @@
+package com.isfx.shim.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 처방 템플릿 생성 응답 (한 조합에 대한 여러 변형)
+ */
+@Getter
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PrescriptionVariantsDto {
+
+    @JsonProperty("variants")
+    private List<PrescriptionCompletionDto> variants;
+}
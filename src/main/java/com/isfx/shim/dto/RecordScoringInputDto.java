@@ -0,0 +1,24 @@
+package com.isfx.shim.dto;
+
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+
+import java.time.LocalDate;
+
+/**
+ * 점수 계산에 필요한 기록/날씨 값 (엔티티 로딩 없이 한 번의 쿼리로 조회)
+ */
+public record RecordScoringInputDto(
+        Long recordId,
+        LocalDate recordDate,
+        Integer emotionLevel,
+        Integer conversationLevel,
+        Integer meetingCount,
+        TransportMode transportMode,
+        Integer congestionLevel,
+        Long weatherLogId,
+        Double temperature,
+        WeatherCondition condition,
+        Short pm10,
+        Short pm25) {
+}
@@ -1,5 +1,6 @@
 package com.isfx.shim.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,6 +16,21 @@ public class UpstageChatRequestDto {
     
     @JsonProperty("messages")
     private List<Message> messages;
+
+    // true면 SSE(data: ...)로 토큰 단위 응답
+    @JsonProperty("stream")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stream;
+
+    // {"type": "json_object"}면 유효한 JSON 객체만 생성
+    @JsonProperty("response_format")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ResponseFormat responseFormat;
+
+    // 스트리밍 시 마지막 chunk에 usage를 포함하도록 요청
+    @JsonProperty("stream_options")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private StreamOptions streamOptions;
     
     @Getter
     @Builder
@@ -25,5 +41,22 @@ public class UpstageChatRequestDto {
         @JsonProperty("content")
         private String content;
     }
-}
 
+    @Getter
+    @Builder
+    public static class ResponseFormat {
+        public static final ResponseFormat JSON_OBJECT = ResponseFormat.builder().type("json_object").build();
+
+        @JsonProperty("type")
+        private String type;
+    }
+
+    @Getter
+    @Builder
+    public static class StreamOptions {
+        public static final StreamOptions INCLUDE_USAGE = StreamOptions.builder().includeUsage(true).build();
+
+        @JsonProperty("include_usage")
+        private Boolean includeUsage;
+    }
+}
@@ -10,6 +10,10 @@ public class UpstageChatResponseDto {
     
     @JsonProperty("choices")
     private List<Choice> choices;
+
+    // 토큰 사용량
+    @JsonProperty("usage")
+    private Usage usage;
     
     @Getter
     public static class Choice {
@@ -23,6 +27,18 @@ public class UpstageChatResponseDto {
         private String content;
     }
     
+    @Getter
+    public static class Usage {
+        @JsonProperty("prompt_tokens")
+        private Integer promptTokens;
+
+        @JsonProperty("completion_tokens")
+        private Integer completionTokens;
+
+        @JsonProperty("total_tokens")
+        private Integer totalTokens;
+    }
+    
     public String getContent() {
         if (choices != null && !choices.isEmpty() && choices.get(0).message != null) {
             return choices.get(0).message.content;
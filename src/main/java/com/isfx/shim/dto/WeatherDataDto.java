@@ -12,4 +12,5 @@ public class WeatherDataDto {
   private Short pm10;
   private Short pm25;
   private Short airQualityIndex;
+  private String dataSource;
 }
\ No newline at end of file
@@ -35,21 +35,36 @@ public class AiPrescriptions {
   @Column(name = "journal_explain", columnDefinition = "TEXT")
   private String journalExplain;
 
+  // 처방 생성에 사용한 프롬프트 입력값 해시 (PrescriptionContext.inputHash), 도입 이전 처방은 null
+  @Column(name = "input_hash", length = 64)
+  private String inputHash;
+
+  // 처방을 생성한 모델/프롬프트 버전 (PrescriptionContent.generationVersion), 도입 이전 처방은 null
+  // LLM 응답이면 GENERATION_VERSION, 일기 없는 기록의 템플릿이면 "template", 기본 문구로 대체했으면 "fallback"
+  @Column(name = "generation_version", length = 100)
+  private String generationVersion;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
   @Builder
-  public AiPrescriptions(DailyRecord record, AiPrescriptionCategory category, String recommendationText, String journalExplain) {
+  public AiPrescriptions(DailyRecord record, AiPrescriptionCategory category, String recommendationText, String journalExplain,
+                         String inputHash, String generationVersion) {
     this.record = record;
     this.category = category;
     this.recommendationText = recommendationText;
     this.journalExplain = journalExplain;
+    this.inputHash = inputHash;
+    this.generationVersion = generationVersion;
   }
 
-  public void update(AiPrescriptionCategory category, String recommendationText, String journalExplain) {
+  public void update(AiPrescriptionCategory category, String recommendationText, String journalExplain, String inputHash,
+                     String generationVersion) {
     this.category = category;
     this.recommendationText = recommendationText;
     this.journalExplain = journalExplain;
+    this.inputHash = inputHash;
+    this.generationVersion = generationVersion;
   }
 }
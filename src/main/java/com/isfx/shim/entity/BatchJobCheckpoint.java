@@ -0,0 +1,103 @@
+package com.isfx.shim.entity;
+
+import com.isfx.shim.entity.enums.BatchJobStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 작업 진행 위치 (작업 이름당 한 행)
+ * 마지막으로 끝까지 처리한 ID(last_id)를 페이지마다 저장하여, 재시작 후 그 다음부터 이어서 처리합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "batch_job_checkpoints")
+public class BatchJobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    // 작업 대상 버전 (버전이 바뀌면 처음부터 다시 시작)
+    @Column(name = "target_version", nullable = false, length = 100)
+    private String targetVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BatchJobStatus status;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "processed", nullable = false)
+    private Long processed;
+
+    @Column(name = "succeeded", nullable = false)
+    private Long succeeded;
+
+    @Column(name = "skipped", nullable = false)
+    private Long skipped;
+
+    @Column(name = "failed", nullable = false)
+    private Long failed;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BatchJobCheckpoint(String jobName, String targetVersion) {
+        this.jobName = jobName;
+        restart(targetVersion);
+    }
+
+    /**
+     * 처음부터 다시 시작
+     */
+    public void restart(String targetVersion) {
+        this.targetVersion = targetVersion;
+        this.status = BatchJobStatus.RUNNING;
+        this.lastId = 0L;
+        this.processed = 0L;
+        this.succeeded = 0L;
+        this.skipped = 0L;
+        this.failed = 0L;
+        this.startedAt = LocalDateTime.now();
+        this.finishedAt = null;
+    }
+
+    /**
+     * 중단된 위치부터 이어서 시작
+     */
+    public void resume() {
+        this.status = BatchJobStatus.RUNNING;
+        this.finishedAt = null;
+    }
+
+    public boolean isResumable(String targetVersion) {
+        return status != BatchJobStatus.COMPLETED && this.targetVersion.equals(targetVersion);
+    }
+
+    public void advance(Long lastId, long processed, long succeeded, long skipped, long failed) {
+        this.lastId = lastId;
+        this.processed += processed;
+        this.succeeded += succeeded;
+        this.skipped += skipped;
+        this.failed += failed;
+    }
+
+    public void finish(BatchJobStatus status) {
+        this.status = status;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
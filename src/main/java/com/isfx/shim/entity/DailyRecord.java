@@ -20,8 +20,16 @@ import java.time.LocalDateTime;
 @Table(name = "daily_records")
 public class DailyRecord {
 
+    public static final String ID_GENERATOR = "daily_record_id";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼짐 → 테이블 기반 pooled 생성기로 50개씩 미리 할당
+    // (기존 AUTO_INCREMENT 값과 겹치지 않도록 IdGeneratorInitializer가 시작 시 할당 위치를 맞춤)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = DailyRecord.ID_GENERATOR)
+    @TableGenerator(name = DailyRecord.ID_GENERATOR, table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "daily_records", allocationSize = DailyRecord.ID_ALLOCATION_SIZE)
     @Column(name = "record_id")
     private Long id;
 
@@ -69,6 +77,10 @@ public class DailyRecord {
     @Column(name = "energy_level", nullable = false)
     private EnergyLevel energyLevel;
 
+    // 점수 계산에 사용한 모델 버전 (EnergyScoreModel), 버전 도입 이전 기록은 null
+    @Column(name = "score_version")
+    private Integer scoreVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -81,7 +93,8 @@ public class DailyRecord {
     public DailyRecord(User user, LocalDate recordDate, TimePeriod timePeriod,
                       Integer emotionLevel, Integer conversationLevel, Integer meetingCount,
                       TransportMode transportMode, Integer congestionLevel, String location,
-                      String journal, double energyScore, EnergyLevel energyLevel, WeatherLog weatherLog) {
+                      String journal, double energyScore, EnergyLevel energyLevel, Integer scoreVersion,
+                      WeatherLog weatherLog) {
         this.user = user;
         this.recordDate = recordDate;
         this.timePeriod = timePeriod;
@@ -94,12 +107,14 @@ public class DailyRecord {
         this.journal = journal;
         this.energyScore = energyScore;
         this.energyLevel = energyLevel;
+        this.scoreVersion = scoreVersion;
         this.weatherLog = weatherLog;
     }
 
     public void updateRecord(Integer emotionLevel, Integer conversationLevel, Integer meetingCount,
                              TransportMode transportMode, Integer congestionLevel, String location,
-                             String journal, double energyScore, EnergyLevel energyLevel, WeatherLog weatherLog) {
+                             String journal, double energyScore, EnergyLevel energyLevel, Integer scoreVersion,
+                             WeatherLog weatherLog) {
         this.emotionLevel = emotionLevel;
         this.conversationLevel = conversationLevel;
         this.meetingCount = meetingCount != null ? meetingCount : 0;
@@ -109,6 +124,7 @@ public class DailyRecord {
         this.journal = journal;
         this.energyScore = energyScore;
         this.energyLevel = energyLevel;
+        this.scoreVersion = scoreVersion;
         this.weatherLog = weatherLog;
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.isfx.shim.entity;
+
+import com.isfx.shim.entity.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 헤더로 받은 요청의 처리 상태와 응답
+ * 같은 사용자가 같은 키로 다시 요청하면 저장된 응답을 그대로 돌려주고, 처리 중이면 중복 실행을 막습니다.
+ * 행 삽입은 INSERT IGNORE로만 하며 (user_id, idempotency_key) 유니크 키가 동시 요청 중 한 곳만 통과시킵니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_user_key", columnNames = {"user_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idempotency_key_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // 요청 메서드/경로/본문의 SHA-256 (같은 키를 다른 요청에 재사용했는지 확인)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    // 첫 요청의 응답 데이터 (JSON), COMPLETED일 때만 존재
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    // 처리를 시작한 시각 (요청 도중 서버가 종료되어 IN_PROGRESS로 남은 키 회수용)
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,93 @@
+package com.isfx.shim.entity;
+
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 처방 생성 작업 (outbox)
+ * 기록 저장과 같은 트랜잭션에서 등록되고, PrescriptionWorker가 트랜잭션 밖에서 처방을 생성합니다.
+ * 기록당 한 행이며, 기록이 수정되면 revision을 올려 다시 대기 상태로 돌립니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "prescription_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_prescription_jobs_record_id", columnNames = "record_id"),
+        indexes = @Index(name = "idx_prescription_jobs_status_available_at", columnList = "status, available_at"))
+public class PrescriptionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long id;
+
+    @Column(name = "record_id", nullable = false)
+    private Long recordId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PrescriptionStatus status;
+
+    // 기록 수정 시 증가 → 이전 요청으로 생성된 결과가 최신 요청을 덮어쓰지 않도록 사용
+    @Column(name = "revision", nullable = false)
+    private Integer revision;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    // 이 시각 이후에 처리 가능 (재시도 대기)
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    // 작업자가 가져간 시각 (오래된 IN_PROGRESS 작업 복구용)
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // 마지막으로 요청된 프롬프트 입력값 해시 (같은 입력으로 다시 요청되면 재생성하지 않음)
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PrescriptionJob(Long recordId, String inputHash) {
+        this.recordId = recordId;
+        this.inputHash = inputHash;
+        this.status = PrescriptionStatus.PENDING;
+        this.revision = 0;
+        this.attempts = 0;
+        this.availableAt = LocalDateTime.now();
+    }
+
+    /**
+     * 같은 입력값으로 이미 생성되었거나 생성 대기 중인지 (실패한 작업은 다시 요청)
+     */
+    public boolean isRequestedWith(String inputHash) {
+        return inputHash != null && inputHash.equals(this.inputHash) && this.status != PrescriptionStatus.FAILED;
+    }
+
+    public void requeue(String inputHash) {
+        this.inputHash = inputHash;
+        this.status = PrescriptionStatus.PENDING;
+        this.revision = this.revision + 1;
+        this.attempts = 0;
+        this.availableAt = LocalDateTime.now();
+        this.lockedAt = null;
+        this.lastError = null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.isfx.shim.entity;
+
+import com.isfx.shim.entity.enums.AiPrescriptionCategory;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 입력 조합(에너지 레벨 × 날씨 × 이동 수단 × 감정/대화/만남 구간)별로 미리 생성해 둔 AI 처방
+ * PrescriptionTemplateJob이 조합마다 여러 변형(variant)을 생성하고, 일기가 없거나 LLM 예산이 소진된 기록에 사용합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "prescription_templates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_prescription_templates_combination_variant",
+                columnNames = {"energy_level", "weather_condition", "transport_mode",
+                        "emotion_bucket", "conversation_bucket", "meeting_bucket", "variant"}),
+        indexes = @Index(name = "idx_prescription_templates_generated_at", columnList = "generated_at"))
+public class PrescriptionTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "template_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "energy_level", nullable = false, length = 20)
+    private EnergyLevel energyLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "weather_condition", nullable = false, length = 20)
+    private WeatherCondition weatherCondition;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transport_mode", nullable = false, length = 20)
+    private TransportMode transportMode;
+
+    // 감정/대화 수준 구간 (0: 1~2, 1: 3, 2: 4~5), 만남 횟수 구간 (0: 0회, 1: 1~2회, 2: 3회 이상)
+    @Column(name = "emotion_bucket", nullable = false)
+    private Integer emotionBucket;
+
+    @Column(name = "conversation_bucket", nullable = false)
+    private Integer conversationBucket;
+
+    @Column(name = "meeting_bucket", nullable = false)
+    private Integer meetingBucket;
+
+    @Column(name = "variant", nullable = false)
+    private Integer variant;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private AiPrescriptionCategory category;
+
+    @Column(name = "journal_explain", nullable = false, columnDefinition = "TEXT")
+    private String journalExplain;
+
+    @Column(name = "recommendation_text", nullable = false, columnDefinition = "TEXT")
+    private String recommendationText;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    @Builder
+    public PrescriptionTemplate(EnergyLevel energyLevel, WeatherCondition weatherCondition, TransportMode transportMode,
+                                Integer emotionBucket, Integer conversationBucket, Integer meetingBucket,
+                                Integer variant, AiPrescriptionCategory category,
+                                String journalExplain, String recommendationText, LocalDateTime generatedAt) {
+        this.energyLevel = energyLevel;
+        this.weatherCondition = weatherCondition;
+        this.transportMode = transportMode;
+        this.emotionBucket = emotionBucket;
+        this.conversationBucket = conversationBucket;
+        this.meetingBucket = meetingBucket;
+        this.variant = variant;
+        this.category = category;
+        this.journalExplain = journalExplain;
+        this.recommendationText = recommendationText;
+        this.generatedAt = generatedAt;
+    }
+}
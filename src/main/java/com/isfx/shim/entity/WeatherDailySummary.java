@@ -0,0 +1,59 @@
+package com.isfx.shim.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 보존 기간이 지난 시간별 관측값(weather_logs)을 지역/날짜 단위로 압축한 일별 요약
+ * 행은 WeatherRetentionJob의 집계 쿼리로만 생성됩니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "weather_daily_summaries",
+    uniqueConstraints = @UniqueConstraint(name = "uk_weather_daily_summaries_location_date",
+        columnNames = {"location", "summary_date"}))
+public class WeatherDailySummary {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "summary_id")
+  private Long id;
+
+  @Column(name = "location", nullable = false, length = 255)
+  private String location;
+
+  @Column(name = "summary_date", nullable = false)
+  private LocalDate summaryDate;
+
+  @Column(name = "observation_count", nullable = false)
+  private Integer observationCount;
+
+  @Column(name = "avg_temperature", nullable = false)
+  private Double avgTemperature;
+
+  @Column(name = "min_temperature", nullable = false)
+  private Double minTemperature;
+
+  @Column(name = "max_temperature", nullable = false)
+  private Double maxTemperature;
+
+  @Column(name = "avg_pm10", nullable = false)
+  private Double avgPm10;
+
+  @Column(name = "avg_pm25", nullable = false)
+  private Double avgPm25;
+
+  @Column(name = "avg_air_quality_index", nullable = false)
+  private Double avgAirQualityIndex;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
@@ -10,11 +10,15 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 
 import com.isfx.shim.entity.enums.WeatherCondition;
+import com.isfx.shim.entity.enums.WeatherDataSource;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "weather_logs")
+@Table(name = "weather_logs",
+    uniqueConstraints = @UniqueConstraint(name = "uk_weather_logs_location_grid_observed_at_source",
+        columnNames = {"location", "grid_nx", "grid_ny", "observed_at", "data_source"}),
+    indexes = @Index(name = "idx_weather_logs_observed_at", columnList = "observed_at"))
 public class WeatherLog {
 
   @Id
@@ -25,6 +29,14 @@ public class WeatherLog {
   @Column(name = "location", nullable = false, length = 255)
   private String location;
 
+  // 관측에 사용한 기상청 격자 (같은 지역명이라도 기기 위경도에 따라 격자가 다를 수 있음), null은 기존 데이터
+  @Column(name = "grid_nx")
+  private Integer gridNx;
+
+  @Column(name = "grid_ny")
+  private Integer gridNy;
+
+  // 관측 시간대 (기상청 발표 기준 정시) - 같은 지역/격자/시간대/출처의 관측값은 한 행만 저장하고 기록들이 공유
   @Column(name = "observed_at", nullable = false)
   private LocalDateTime observed_at;
 
@@ -44,19 +56,33 @@ public class WeatherLog {
   @Column(name = "air_quality_index", nullable = false)
   private Short air_quality_index;
 
+  // 관측값 출처 (외부 API 장애 시 마지막 정상 관측값/기본값 사용 여부), null은 기존 데이터(LIVE)
+  @Enumerated(EnumType.STRING)
+  @Column(name = "data_source", length = 20)
+  private WeatherDataSource dataSource;
+
+  // 실제 관측 시각 (대체값을 사용한 경우 observed_at보다 이전, 기본값인 경우 null)
+  @Column(name = "source_observed_at")
+  private LocalDateTime sourceObservedAt;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
   @Builder
-  public WeatherLog(String location, LocalDateTime observed_at, Double temperature,
-                   WeatherCondition condition, Short pm10, Short pm25, Short air_quality_index) {
+  public WeatherLog(String location, Integer gridNx, Integer gridNy, LocalDateTime observed_at, Double temperature,
+                   WeatherCondition condition, Short pm10, Short pm25, Short air_quality_index,
+                   WeatherDataSource dataSource, LocalDateTime sourceObservedAt) {
     this.location = location;
+    this.gridNx = gridNx;
+    this.gridNy = gridNy;
     this.observed_at = observed_at;
     this.temperature = temperature;
     this.condition = condition;
     this.pm10 = pm10;
     this.pm25 = pm25;
     this.air_quality_index = air_quality_index;
+    this.dataSource = dataSource;
+    this.sourceObservedAt = sourceObservedAt;
   }
 }
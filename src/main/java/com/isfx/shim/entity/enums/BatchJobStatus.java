@@ -0,0 +1,5 @@
+package com.isfx.shim.entity.enums;
+
+public enum BatchJobStatus {
+    RUNNING, STOPPED, COMPLETED
+}
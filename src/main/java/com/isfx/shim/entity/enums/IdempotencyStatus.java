@@ -0,0 +1,6 @@
+package com.isfx.shim.entity.enums;
+
+// 멱등성 키 상태: 첫 요청 처리 중 / 응답 저장 완료
+public enum IdempotencyStatus {
+    IN_PROGRESS, COMPLETED
+}
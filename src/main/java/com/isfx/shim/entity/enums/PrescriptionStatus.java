@@ -0,0 +1,6 @@
+package com.isfx.shim.entity.enums;
+
+// AI 처방 생성 작업 상태: 대기 / 생성 중 / 완료 / 실패 (재시도 횟수 초과)
+public enum PrescriptionStatus {
+    PENDING, IN_PROGRESS, DONE, FAILED
+}
@@ -0,0 +1,6 @@
+package com.isfx.shim.entity.enums;
+
+// 날씨 관측값 출처: 실시간 / 마지막 정상 관측값 / 기본값 (순서대로 신뢰도 낮음)
+public enum WeatherDataSource {
+    LIVE, LAST_KNOWN_GOOD, DEFAULT
+}
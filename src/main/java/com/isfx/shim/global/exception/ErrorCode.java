@@ -14,6 +14,9 @@ public enum ErrorCode {
     RECORD_ALREADY_EXISTS(HttpStatus.CONFLICT, "오늘의 기록이 이미 존재합니다."),
     RECORD_NOT_FOUND(HttpStatus.NOT_FOUND, "요청한 기록을 찾을 수 없습니다."),
     RECORD_FORBIDDEN(HttpStatus.FORBIDDEN, "해당 기록에 접근 권한이 없습니다."),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency-Key 헤더는 1~100자여야 합니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "같은 Idempotency-Key의 요청이 아직 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key가 다른 요청에 이미 사용되었습니다."),
 
     // [추가] 400 - 닉네임 유효성 검사 (API 명세)
     INVALID_NICKNAME(HttpStatus.BAD_REQUEST, "잘못된 요청입니다. 'name' 값이 비어있거나 유효하지 않습니다."),
@@ -22,9 +25,12 @@ public enum ErrorCode {
 
     // 404 NOT_FOUND: 리소스를 찾을 수 없음
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "해당 사용자를 찾을 수 없습니다."),
+    PRESCRIPTION_NOT_FOUND(HttpStatus.NOT_FOUND, "해당 기록의 AI 처방을 찾을 수 없습니다."),
 
     // [추가] 409 CONFLICT: 리소스 충돌
     CONFLICT_NICKNAME(HttpStatus.CONFLICT, "이미 사용 중인 닉네임입니다."),
+    RECOMPUTE_ALREADY_RUNNING(HttpStatus.CONFLICT, "에너지 점수 재계산이 이미 진행 중입니다."),
+    PRESCRIPTION_REFRESH_ALREADY_RUNNING(HttpStatus.CONFLICT, "AI 처방 재생성이 이미 진행 중입니다."),
 
     // 500 INTERNAL_SERVER_ERROR: 서버 내부 오류
     FILE_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "파일 업로드에 실패했습니다."),
@@ -0,0 +1,132 @@
+package com.isfx.shim.global.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 호출 지연 시간/토큰 사용량/비용 집계
+ *
+ * - ai.llm.calls (타이머, mode=sync/stream, outcome=success/parse_failure/error): 호출 전체 소요 시간
+ * - ai.llm.first_token (타이머): 스트리밍 첫 조각까지 걸린 시간 (모델 생성 지연과 네트워크 지연 구분용)
+ * - ai.llm.tokens (type=prompt/completion): 응답 usage 기준 토큰 수
+ * - ai.llm.cost: 토큰 단가(ai.llm.price.*-per-million) 기준 추정 비용
+ * - ai.llm.tokens.daily_used / ai.llm.tokens.daily_remaining: 오늘 사용량과 일일 예산(ai.llm.daily-token-budget) 잔량
+ */
+@Slf4j
+@Component
+public class LlmUsageMonitor {
+
+    public static final String MODE_SYNC = "sync";
+    public static final String MODE_STREAM = "stream";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_PARSE_FAILURE = "parse_failure";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final long dailyTokenBudget;
+    private final double promptPricePerMillion;
+    private final double completionPricePerMillion;
+
+    private final Counter promptTokenCounter;
+    private final Counter completionTokenCounter;
+    private final Counter costCounter;
+    private final Timer firstTokenTimer;
+
+    // 일일 사용량 (날짜가 바뀌면 0부터 다시 집계)
+    private final AtomicLong dailyTokens = new AtomicLong();
+    private volatile LocalDate usageDate = LocalDate.now();
+
+    public LlmUsageMonitor(MeterRegistry meterRegistry,
+                           @Value("${ai.llm.daily-token-budget:2000000}") long dailyTokenBudget,
+                           @Value("${ai.llm.price.prompt-per-million:0}") double promptPricePerMillion,
+                           @Value("${ai.llm.price.completion-per-million:0}") double completionPricePerMillion) {
+        this.meterRegistry = meterRegistry;
+        this.dailyTokenBudget = dailyTokenBudget;
+        this.promptPricePerMillion = promptPricePerMillion;
+        this.completionPricePerMillion = completionPricePerMillion;
+
+        this.promptTokenCounter = Counter.builder("ai.llm.tokens").tag("type", "prompt").register(meterRegistry);
+        this.completionTokenCounter = Counter.builder("ai.llm.tokens").tag("type", "completion").register(meterRegistry);
+        this.costCounter = Counter.builder("ai.llm.cost")
+                .description("Estimated LLM cost from token usage and configured unit prices")
+                .register(meterRegistry);
+        this.firstTokenTimer = Timer.builder("ai.llm.first_token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.tokens.daily_used", this, monitor -> monitor.todayTokens()).register(meterRegistry);
+        Gauge.builder("ai.llm.tokens.daily_remaining", this, monitor -> monitor.remainingDailyTokens())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 한 건의 소요 시간 기록
+     * @param mode MODE_SYNC / MODE_STREAM
+     * @param outcome OUTCOME_SUCCESS / OUTCOME_PARSE_FAILURE / OUTCOME_ERROR
+     */
+    public void recordCall(String mode, String outcome, long elapsedNanos) {
+        Timer.builder("ai.llm.calls")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFirstToken(long elapsedNanos) {
+        firstTokenTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 응답 usage 블록의 토큰 수 기록 (값이 없으면 0)
+     */
+    public void recordUsage(Integer promptTokens, Integer completionTokens) {
+        int prompt = promptTokens != null ? promptTokens : 0;
+        int completion = completionTokens != null ? completionTokens : 0;
+        promptTokenCounter.increment(prompt);
+        completionTokenCounter.increment(completion);
+        costCounter.increment((prompt * promptPricePerMillion + completion * completionPricePerMillion) / 1_000_000);
+
+        long used = addTodayTokens(prompt + completion);
+        if (used >= dailyTokenBudget && used - (prompt + completion) < dailyTokenBudget) {
+            log.warn("[LLM 사용량] 일일 토큰 예산 소진: used={}, budget={}", used, dailyTokenBudget);
+        }
+    }
+
+    public boolean isDailyBudgetExhausted() {
+        return todayTokens() >= dailyTokenBudget;
+    }
+
+    public long remainingDailyTokens() {
+        return Math.max(0, dailyTokenBudget - todayTokens());
+    }
+
+    private long todayTokens() {
+        rollOverIfNewDay();
+        return dailyTokens.get();
+    }
+
+    private long addTodayTokens(long tokens) {
+        rollOverIfNewDay();
+        return dailyTokens.addAndGet(tokens);
+    }
+
+    private void rollOverIfNewDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(usageDate)) {
+            synchronized (this) {
+                if (!today.equals(usageDate)) {
+                    dailyTokens.set(0);
+                    usageDate = today;
+                }
+            }
+        }
+    }
+}
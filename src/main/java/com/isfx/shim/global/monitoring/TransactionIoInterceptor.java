@@ -0,0 +1,36 @@
+package com.isfx.shim.global.monitoring;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * RestTemplate 외부 호출을 TransactionIoMonitor로 감싸는 인터셉터 (업스트림 = 요청 호스트)
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionIoInterceptor implements ClientHttpRequestInterceptor {
+
+    private final TransactionIoMonitor transactionIoMonitor;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            return transactionIoMonitor.monitor(request.getURI().getHost(), () -> {
+                try {
+                    return execution.execute(request, body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
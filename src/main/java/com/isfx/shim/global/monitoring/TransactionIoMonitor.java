@@ -0,0 +1,94 @@
+package com.isfx.shim.global.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션이 DB 커넥션을 잡고 있는 동안 실행되는 외부 I/O(HTTP, S3) 감지
+ *
+ * 외부 호출 시간만큼 커넥션이 풀로 반환되지 않으므로, 업스트림이 느려지면 커넥션 풀이 고갈됩니다.
+ * - 메트릭: outbound.io.in_transaction (upstream, call_site, read_only 태그) - 커넥션을 잡은 채 보낸 시간
+ * - strict 모드: 감지 즉시 예외 (테스트에서 회귀 방지용, monitoring.transaction-io.strict=true)
+ */
+@Slf4j
+@Component
+public class TransactionIoMonitor {
+
+    private static final String METRIC_NAME = "outbound.io.in_transaction";
+
+    private final MeterRegistry meterRegistry;
+    private final DataSource dataSource;
+    private final boolean strict;
+
+    public TransactionIoMonitor(MeterRegistry meterRegistry,
+                                DataSource dataSource,
+                                @Value("${monitoring.transaction-io.strict:false}") boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.dataSource = dataSource;
+        this.strict = strict;
+    }
+
+    /**
+     * 외부 호출을 실행하고, 트랜잭션 커넥션을 잡은 상태였다면 소요 시간을 기록
+     * @param upstream 외부 서비스 이름 (호스트명, s3 등)
+     */
+    public <T> T monitor(String upstream, Supplier<T> call) {
+        String callSite = currentCallSite();
+        if (callSite == null) {
+            return call.get();
+        }
+
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (strict) {
+            throw new TransactionIoViolationException(String.format(
+                    "Outbound I/O inside a JDBC transaction: upstream=%s, callSite=%s", upstream, callSite));
+        }
+
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder(METRIC_NAME)
+                    .description("Time spent on outbound I/O while holding a transaction-bound JDBC connection")
+                    .tag("upstream", upstream)
+                    .tag("call_site", callSite)
+                    .tag("read_only", String.valueOf(readOnly))
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            log.warn("[트랜잭션 I/O] 트랜잭션 커넥션을 잡은 상태에서 외부 호출: upstream={}, callSite={}, readOnly={}, elapsedMs={}",
+                    upstream, callSite, readOnly, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * 현재 스레드가 트랜잭션에 묶인 커넥션을 가지고 있으면 트랜잭션 이름(클래스.메서드), 아니면 null
+     */
+    private String currentCallSite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        if (!(TransactionSynchronizationManager.getResource(dataSource) instanceof ConnectionHolder)) {
+            return null;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null ? name : "unknown";
+    }
+
+    /**
+     * strict 모드에서 트랜잭션 내 외부 호출이 감지된 경우
+     */
+    public static class TransactionIoViolationException extends IllegalStateException {
+        public TransactionIoViolationException(String message) {
+            super(message);
+        }
+    }
+}
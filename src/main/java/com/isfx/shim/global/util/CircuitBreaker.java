@@ -0,0 +1,103 @@
+package com.isfx.shim.global.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 호출용 서킷 브레이커
+ *
+ * - CLOSED: 정상 호출. 연속 실패가 임계치에 도달하면 OPEN
+ * - OPEN: 대기 시간 동안 호출하지 않고 즉시 실패 (타임아웃까지 기다리지 않음)
+ * - HALF_OPEN: 대기 시간이 지나면 한 건만 시험 호출. 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * 서킷 상태에 따라 호출을 실행하거나 즉시 CircuitOpenException을 던집니다.
+     */
+    public <T> T call(Supplier<T> supplier) {
+        acquirePermission();
+        try {
+            T result = supplier.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException | Error e) {
+            // Error도 실패로 처리해야 HALF_OPEN 시험 호출이 끝나지 않은 상태로 남지 않음
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (Instant.now().isBefore(openedAt.plus(openDuration))) {
+                throw new CircuitOpenException(name);
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            log.info("[서킷 브레이커] 시험 호출 허용: name={}", name);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                throw new CircuitOpenException(name);
+            }
+            trialInFlight = true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("[서킷 브레이커] 호출 복구, CLOSED 전환: name={}", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    private synchronized void onFailure(Throwable e) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = Instant.now();
+            trialInFlight = false;
+            log.warn("[서킷 브레이커] OPEN 전환: name={}, consecutiveFailures={}, openDuration={}, error={}",
+                    name, consecutiveFailures, openDuration, e.getMessage());
+        }
+    }
+
+    /**
+     * 서킷이 열려 있어 호출하지 않은 경우
+     */
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String name) {
+            super("Circuit breaker is open: " + name);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.isfx.shim.global.util;
+
+import java.util.Arrays;
+
+/**
+ * 최근 N건의 응답 시간을 보관하는 고정 크기 링 버퍼 (백분위 계산용)
+ *
+ * - 가장 오래된 값부터 덮어쓰므로 최근 추세만 반영
+ * - 표본이 minSamples보다 적으면 백분위를 계산하지 않음 (-1)
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final int minSamples;
+
+    private int next;
+    private int size;
+
+    public LatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * quantile(0~1) 위치의 응답 시간(ns), 표본이 부족하면 -1
+     */
+    public long percentile(double quantile) {
+        long[] sorted;
+        synchronized (this) {
+            if (size < minSamples) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
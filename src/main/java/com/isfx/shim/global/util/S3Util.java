@@ -8,6 +8,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.isfx.shim.global.exception.CustomException;
 import com.isfx.shim.global.exception.ErrorCode;
+import com.isfx.shim.global.monitoring.TransactionIoMonitor;
 
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
@@ -25,6 +26,7 @@ import java.util.UUID;
 public class S3Util {
 
     private final S3Client s3Client;
+    private final TransactionIoMonitor transactionIoMonitor;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -49,10 +51,10 @@ public class S3Util {
                     .contentType(multipartFile.getContentType())
                     .build();
 
-            s3Client.putObject(
+            transactionIoMonitor.monitor("s3", () -> s3Client.putObject(
                     putObjectRequest,
                     RequestBody.fromInputStream(inputStream, multipartFile.getSize())
-            );
+            ));
 
         } catch (IOException e) {
             log.error("S3 파일 업로드 실패: {}", e.getMessage());
@@ -86,8 +88,10 @@ public class S3Util {
                     .key(fileKey)
                     .build();
 
-            s3Client.deleteObject(deleteObjectRequest);
+            transactionIoMonitor.monitor("s3", () -> s3Client.deleteObject(deleteObjectRequest));
 
+        } catch (TransactionIoMonitor.TransactionIoViolationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("S3 파일 삭제 중 오류: {}", fileUrl, e);
         }
@@ -0,0 +1,70 @@
+package com.isfx.shim.global.util;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 버킷 속도 제한기
+ *
+ * - 초당 refillPerSecond개씩 토큰이 채워지며, 최대 capacity개까지 쌓임 (순간 허용량)
+ * - 토큰이 부족하면 다음 토큰이 채워질 시점까지 기다릴 수 있는지 먼저 계산하고,
+ *   허용 대기 시간 안이면 미리 예약(잔량이 음수가 될 수 있음)한 뒤 그만큼만 대기
+ * - 허용 대기 시간을 넘으면 토큰을 소비하지 않고 즉시 거절
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(int capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * maxWait 안에 토큰을 얻을 수 있으면 예약하고 대기해야 할 시간(ns)을, 아니면 -1을 반환
+     */
+    public synchronized long reserve(Duration maxWait) {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long waitNanos = (long) Math.ceil((1 - tokens) / refillPerNano);
+        if (waitNanos > maxWait.toNanos()) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * maxWait 안에 토큰을 얻으면 true (필요한 만큼 대기), 아니면 즉시 false
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        long waitNanos = reserve(maxWait);
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
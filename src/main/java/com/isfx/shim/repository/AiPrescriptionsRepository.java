@@ -2,7 +2,10 @@ package com.isfx.shim.repository;
 
 import com.isfx.shim.entity.AiPrescriptions;
 import com.isfx.shim.entity.DailyRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,5 +16,23 @@ public interface AiPrescriptionsRepository extends JpaRepository<AiPrescriptions
     // [추가] 회원 탈퇴 시, 해당 기록들에 연결된 AI 처방을 한 번에 삭제하는 메서드
     // (엔티티 필드명이 'record'라서 'ByRecordIn'이어야 함)
     void deleteAllByRecordIn(List<DailyRecord> records);
+
+    // 재생성 대상 처방 ID (다른 모델/프롬프트 버전으로 생성된 처방, 기본 문구로 대체된 처방), ID 기준 keyset 페이지
+    // 일기 없는 기록의 템플릿 처방(templateVersion)은 다시 생성해도 템플릿이므로 제외
+    @Query("SELECT p.prescription_id FROM AiPrescriptions p WHERE p.prescription_id > :afterId "
+            + "AND (p.generationVersion IS NULL OR p.generationVersion NOT IN (:version, :templateVersion)) "
+            + "ORDER BY p.prescription_id")
+    List<Long> findIdsToRegenerate(@Param("afterId") Long afterId, @Param("version") String version,
+                                   @Param("templateVersion") String templateVersion, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM AiPrescriptions p WHERE p.prescription_id > :afterId "
+            + "AND (p.generationVersion IS NULL OR p.generationVersion NOT IN (:version, :templateVersion))")
+    long countToRegenerate(@Param("afterId") Long afterId, @Param("version") String version,
+                           @Param("templateVersion") String templateVersion);
+
+    // 재생성 페이지 조회 (기록/날씨 함께 로딩)
+    @Query("SELECT p FROM AiPrescriptions p JOIN FETCH p.record r LEFT JOIN FETCH r.weatherLog "
+            + "WHERE p.prescription_id IN :ids")
+    List<AiPrescriptions> findAllWithRecordByIdIn(@Param("ids") List<Long> ids);
 }
 
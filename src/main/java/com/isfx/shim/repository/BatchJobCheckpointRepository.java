@@ -0,0 +1,7 @@
+package com.isfx.shim.repository;
+
+import com.isfx.shim.entity.BatchJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BatchJobCheckpointRepository extends JpaRepository<BatchJobCheckpoint, String> {
+}
@@ -1,8 +1,12 @@
 package com.isfx.shim.repository;
 
+import com.isfx.shim.dto.RecordScoringInputDto;
 import com.isfx.shim.entity.DailyRecord;
 import com.isfx.shim.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -22,4 +26,21 @@ public interface DailyRecordRepository extends JpaRepository<DailyRecord, Long>
     // [추가] 회원 탈퇴 시 해당 사용자의 모든 기록 삭제
     void deleteAllByUser(User user);
 
-}
\ No newline at end of file
+    // 점수 재계산 대상 ID (다른 모델 버전으로 계산된 기록), ID 기준 keyset 페이지
+    @Query("SELECT r.id FROM DailyRecord r WHERE r.id > :afterId "
+            + "AND (r.scoreVersion IS NULL OR r.scoreVersion <> :version) ORDER BY r.id")
+    List<Long> findIdsToRescore(@Param("afterId") Long afterId, @Param("version") Integer version, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM DailyRecord r WHERE r.scoreVersion IS NULL OR r.scoreVersion <> :version")
+    long countToRescore(@Param("version") Integer version);
+
+    // 재계산 chunk 조회 (날씨 함께 로딩)
+    @Query("SELECT r FROM DailyRecord r LEFT JOIN FETCH r.weatherLog WHERE r.id IN :ids")
+    List<DailyRecord> findAllWithWeatherByIdIn(@Param("ids") List<Long> ids);
+
+    // 점수 시뮬레이션용 사용자 전체 기록의 입력값 (기록 날짜 순)
+    @Query("SELECT new com.isfx.shim.dto.RecordScoringInputDto(r.id, r.recordDate, r.emotionLevel, r.conversationLevel, "
+            + "r.meetingCount, r.transportMode, r.congestionLevel, w.weather_log_id, w.temperature, w.condition, w.pm10, w.pm25) "
+            + "FROM DailyRecord r LEFT JOIN r.weatherLog w WHERE r.user.id = :userId ORDER BY r.recordDate, r.id")
+    List<RecordScoringInputDto> findScoringInputsByUserId(@Param("userId") Long userId);
+}
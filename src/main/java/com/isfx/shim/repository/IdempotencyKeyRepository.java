@@ -0,0 +1,50 @@
+package com.isfx.shim.repository;
+
+import com.isfx.shim.entity.IdempotencyKey;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    void deleteAllByUserId(Long userId);
+
+    // 키 선점: 유니크 키 충돌 시 0 (이미 다른 요청이 같은 키를 사용 중이거나 응답이 저장됨)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (user_id, idempotency_key, request_hash, status, locked_at, "
+            + "expires_at, created_at) "
+            + "VALUES (:userId, :key, :requestHash, 'IN_PROGRESS', :now, :expiresAt, :now)", nativeQuery = true)
+    int insertIgnoringDuplicate(@Param("userId") Long userId, @Param("key") String key,
+                                @Param("requestHash") String requestHash, @Param("now") LocalDateTime now,
+                                @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 만료되었거나 처리 중 상태로 오래 남은 키 제거 (같은 키로 새 요청을 받을 수 있도록)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyKey k WHERE k.userId = :userId AND k.idempotencyKey = :key "
+            + "AND (k.expiresAt < :now OR (k.status = com.isfx.shim.entity.enums.IdempotencyStatus.IN_PROGRESS "
+            + "AND k.lockedAt < :lockedBefore))")
+    int deleteReclaimable(@Param("userId") Long userId, @Param("key") String key,
+                          @Param("now") LocalDateTime now, @Param("lockedBefore") LocalDateTime lockedBefore);
+
+    // 선점한 요청이 끝났을 때만 응답 저장 (회수되어 다른 요청이 다시 선점했다면 0)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE IdempotencyKey k SET k.status = com.isfx.shim.entity.enums.IdempotencyStatus.COMPLETED, "
+            + "k.responseBody = :responseBody, k.lockedAt = null "
+            + "WHERE k.id = :id AND k.status = com.isfx.shim.entity.enums.IdempotencyStatus.IN_PROGRESS")
+    int markCompleted(@Param("id") Long id, @Param("responseBody") String responseBody);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id "
+            + "AND k.status = com.isfx.shim.entity.enums.IdempotencyStatus.IN_PROGRESS")
+    int deleteInProgress(@Param("id") Long id);
+
+    // 만료된 키 삭제 (트랜잭션/락 범위를 줄이기 위해 배치 단위)
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :batchSize", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,67 @@
+package com.isfx.shim.repository;
+
+import com.isfx.shim.entity.PrescriptionJob;
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PrescriptionJobRepository extends JpaRepository<PrescriptionJob, Long> {
+
+    Optional<PrescriptionJob> findByRecordId(Long recordId);
+
+    void deleteByRecordId(Long recordId);
+
+    void deleteAllByRecordIdIn(List<Long> recordIds);
+
+    // 처리 가능한 대기 작업 (오래된 순)
+    @Query("SELECT j.id FROM PrescriptionJob j WHERE j.status = :status AND j.availableAt <= :now ORDER BY j.id")
+    List<Long> findDispatchableIds(@Param("status") PrescriptionStatus status,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+
+    // 조건부 갱신으로 작업 선점: 여러 작업자/인스턴스 중 한 곳만 1을 받음
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PrescriptionJob j SET j.status = com.isfx.shim.entity.enums.PrescriptionStatus.IN_PROGRESS, "
+            + "j.lockedAt = :now, j.attempts = j.attempts + 1 "
+            + "WHERE j.id = :jobId AND j.status = com.isfx.shim.entity.enums.PrescriptionStatus.PENDING AND j.availableAt <= :now")
+    int claim(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+
+    // 선점한 revision 그대로인 경우에만 완료 처리 (처리 중 기록이 수정되었으면 0)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PrescriptionJob j SET j.status = com.isfx.shim.entity.enums.PrescriptionStatus.DONE, "
+            + "j.lockedAt = null, j.lastError = null "
+            + "WHERE j.id = :jobId AND j.revision = :revision "
+            + "AND j.status = com.isfx.shim.entity.enums.PrescriptionStatus.IN_PROGRESS")
+    int markDone(@Param("jobId") Long jobId, @Param("revision") Integer revision);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PrescriptionJob j SET j.status = :status, j.availableAt = :availableAt, "
+            + "j.lockedAt = null, j.lastError = :lastError "
+            + "WHERE j.id = :jobId AND j.revision = :revision "
+            + "AND j.status = com.isfx.shim.entity.enums.PrescriptionStatus.IN_PROGRESS")
+    int release(@Param("jobId") Long jobId, @Param("revision") Integer revision,
+                @Param("status") PrescriptionStatus status, @Param("availableAt") LocalDateTime availableAt,
+                @Param("lastError") String lastError);
+
+    // 작업자가 종료되어 IN_PROGRESS로 남은 작업을 다시 대기 상태로 (재시도 횟수가 남은 작업만)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PrescriptionJob j SET j.status = com.isfx.shim.entity.enums.PrescriptionStatus.PENDING, j.lockedAt = null "
+            + "WHERE j.status = com.isfx.shim.entity.enums.PrescriptionStatus.IN_PROGRESS AND j.lockedAt < :lockedBefore "
+            + "AND j.attempts < :maxAttempts")
+    int recoverStale(@Param("lockedBefore") LocalDateTime lockedBefore, @Param("maxAttempts") int maxAttempts);
+
+    // 재시도 횟수를 모두 쓰고 IN_PROGRESS로 남은 작업은 FAILED (작업자를 계속 중단시키는 작업의 무한 재시도 방지)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PrescriptionJob j SET j.status = com.isfx.shim.entity.enums.PrescriptionStatus.FAILED, j.lockedAt = null, "
+            + "j.lastError = :lastError "
+            + "WHERE j.status = com.isfx.shim.entity.enums.PrescriptionStatus.IN_PROGRESS AND j.lockedAt < :lockedBefore "
+            + "AND j.attempts >= :maxAttempts")
+    int failStale(@Param("lockedBefore") LocalDateTime lockedBefore, @Param("maxAttempts") int maxAttempts,
+                  @Param("lastError") String lastError);
+}
@@ -0,0 +1,31 @@
+package com.isfx.shim.repository;
+
+import com.isfx.shim.entity.PrescriptionTemplate;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PrescriptionTemplateRepository extends JpaRepository<PrescriptionTemplate, Long> {
+
+    // 기준 시각 이후 생성된 템플릿 (조합별 최신 여부 확인용)
+    List<PrescriptionTemplate> findAllByGeneratedAtAfter(LocalDateTime generatedAfter);
+
+    // 조합의 기존 변형 삭제 (새로 생성한 변형으로 교체)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM PrescriptionTemplate t WHERE t.energyLevel = :energyLevel "
+            + "AND t.weatherCondition = :weatherCondition AND t.transportMode = :transportMode "
+            + "AND t.emotionBucket = :emotionBucket AND t.conversationBucket = :conversationBucket "
+            + "AND t.meetingBucket = :meetingBucket")
+    int deleteCombination(@Param("energyLevel") EnergyLevel energyLevel,
+                          @Param("weatherCondition") WeatherCondition weatherCondition,
+                          @Param("transportMode") TransportMode transportMode,
+                          @Param("emotionBucket") Integer emotionBucket,
+                          @Param("conversationBucket") Integer conversationBucket,
+                          @Param("meetingBucket") Integer meetingBucket);
+}
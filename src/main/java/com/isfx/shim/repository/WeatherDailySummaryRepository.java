@@ -0,0 +1,18 @@
+package com.isfx.shim.repository;
+
+import com.isfx.shim.entity.WeatherDailySummary;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WeatherDailySummaryRepository extends JpaRepository<WeatherDailySummary, Long> {
+
+    // 지역별 날씨 이력 조회 (보존 기간이 지난 구간)
+    List<WeatherDailySummary> findAllByLocationAndSummaryDateBetweenOrderBySummaryDateAsc(
+            String location, LocalDate startDate, LocalDate endDate);
+
+    // 여러 지역의 기간 내 일별 요약 일괄 조회 (기록 일괄 가져오기)
+    List<WeatherDailySummary> findAllByLocationInAndSummaryDateBetween(
+            Collection<String> locations, LocalDate startDate, LocalDate endDate);
+}
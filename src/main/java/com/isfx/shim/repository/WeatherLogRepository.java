@@ -1,8 +1,72 @@
 package com.isfx.shim.repository;
 
 import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.WeatherDataSource;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface WeatherLogRepository extends JpaRepository<WeatherLog, Long> {
-}
 
+    // (지역, 격자, 관측 시간대, 출처)로 공유 관측값 조회
+    @Query("SELECT w FROM WeatherLog w WHERE w.location = :location AND w.gridNx = :nx AND w.gridNy = :ny "
+            + "AND w.observed_at = :observedAt AND w.dataSource = :dataSource")
+    Optional<WeatherLog> findObservation(@Param("location") String location,
+                                         @Param("nx") int nx,
+                                         @Param("ny") int ny,
+                                         @Param("observedAt") LocalDateTime observedAt,
+                                         @Param("dataSource") WeatherDataSource dataSource);
+
+    // 여러 지역의 기간 내 관측값 일괄 조회 (기록 일괄 가져오기에서 날짜별 날씨 매칭, 기본값 행 제외)
+    @Query("SELECT w FROM WeatherLog w WHERE w.location IN :locations AND w.observed_at >= :from AND w.observed_at < :to "
+            + "AND (w.dataSource IS NULL OR w.dataSource <> com.isfx.shim.entity.enums.WeatherDataSource.DEFAULT)")
+    List<WeatherLog> findObservationsBetween(@Param("locations") Collection<String> locations,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    // 동시 요청이 같은 관측값을 저장하려 할 때 유니크 키 충돌을 예외 없이 무시 (이후 findObservation으로 조회)
+    // 날씨 조회는 트랜잭션 밖에서 실행되므로 INSERT만 짧은 트랜잭션으로 커밋
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO weather_logs (location, grid_nx, grid_ny, observed_at, temperature, weather_condition, "
+            + "pm10, pm25, air_quality_index, data_source, source_observed_at, created_at) "
+            + "VALUES (:#{#log.location}, :#{#log.gridNx}, :#{#log.gridNy}, :#{#log.observed_at}, :#{#log.temperature}, "
+            + ":#{#log.condition.name()}, "
+            + ":#{#log.pm10}, :#{#log.pm25}, :#{#log.air_quality_index}, :#{#log.dataSource.name()}, "
+            + ":#{#log.sourceObservedAt}, NOW())", nativeQuery = true)
+    int insertIgnoringDuplicate(@Param("log") WeatherLog log);
+
+    // 기록이 참조하지 않는 가장 오래된 관측 시각 (보존 작업의 시작 지점)
+    @Query("SELECT MIN(w.observed_at) FROM WeatherLog w WHERE w.observed_at < :before "
+            + "AND NOT EXISTS (SELECT 1 FROM DailyRecord d WHERE d.weatherLog = w)")
+    Optional<LocalDateTime> findOldestUnreferencedObservedAtBefore(@Param("before") LocalDateTime before);
+
+    // 기간 내 관측값을 (지역, 날짜) 단위로 집계하여 일별 요약에 저장 (이미 요약된 날짜는 유지)
+    // 기본값(DEFAULT) 행은 실제 관측이 아니므로 집계에서 제외
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO weather_daily_summaries (location, summary_date, observation_count, "
+            + "avg_temperature, min_temperature, max_temperature, avg_pm10, avg_pm25, avg_air_quality_index, created_at) "
+            + "SELECT location, DATE(observed_at), COUNT(*), AVG(temperature), MIN(temperature), MAX(temperature), "
+            + "AVG(pm10), AVG(pm25), AVG(air_quality_index), NOW() "
+            + "FROM weather_logs "
+            + "WHERE observed_at >= :from AND observed_at < :to AND (data_source IS NULL OR data_source <> 'DEFAULT') "
+            + "GROUP BY location, DATE(observed_at)", nativeQuery = true)
+    int rollUpDailySummaries(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 기록이 참조하지 않는 오래된 시간별 관측값 삭제 (트랜잭션/락 범위를 줄이기 위해 배치 단위)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM weather_logs "
+            + "WHERE observed_at >= :from AND observed_at < :to "
+            + "AND NOT EXISTS (SELECT 1 FROM daily_records d WHERE d.weather_log_id = weather_logs.weather_log_id) "
+            + "LIMIT :batchSize", nativeQuery = true)
+    int deleteUnreferencedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                  @Param("batchSize") int batchSize);
+}
@@ -1,12 +1,20 @@
 package com.isfx.shim.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.isfx.shim.dto.AirQualityResponseDto;
+import com.isfx.shim.global.util.CircuitBreaker;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -15,138 +23,170 @@ import org.springframework.web.util.UriComponentsBuilder;
 @Component
 public class AirQualityClient {
 
+    // 서울시 대기질 정보는 매시간 갱신되므로, 스냅샷이 이보다 오래되면 조회 시점에 백그라운드 갱신을 요청
+    private static final Duration SNAPSHOT_MAX_AGE = Duration.ofMinutes(70);
+    // 갱신 실패 시 요청마다 API를 다시 호출하지 않도록 재시도 간격 제한
+    private static final Duration REFRESH_RETRY_INTERVAL = Duration.ofMinutes(1);
+
     private final RestTemplate restTemplate;
     private final String apiKey;
+    private final CircuitBreaker circuitBreaker;
+
+    // 25개 자치구 전체를 담은 불변 스냅샷 (갱신 시 통째로 교체)
+    // 갱신에 실패하면 마지막 정상 스냅샷을 계속 사용 (stale 표시)
+    private volatile AirQualitySnapshot snapshot;
+    private volatile LocalDateTime lastRefreshAttempt;
+
+    // 갱신은 한 번에 하나만 실행 (synchronized는 가상 스레드를 캐리어에 고정하므로 ReentrantLock 사용)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // 조회 요청이 갱신을 기다리지 않도록 갱신은 별도 가상 스레드에서 실행
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public AirQualityClient(RestTemplateBuilder restTemplateBuilder,
-                            @Value("${api.seoul.air.key}") String apiKey) {
-        this.restTemplate = restTemplateBuilder.build();
+    public AirQualityClient(@Qualifier("seoulAirRestTemplate") RestTemplate restTemplate,
+                            @Value("${api.seoul.air.key}") String apiKey,
+                            @Value("${api.seoul.air.circuit.failure-threshold:3}") int failureThreshold,
+                            @Value("${api.seoul.air.circuit.open-seconds:300}") long openSeconds) {
+        this.restTemplate = restTemplate;
         this.apiKey = apiKey;
+        this.circuitBreaker = new CircuitBreaker("seoul-air", failureThreshold, Duration.ofSeconds(openSeconds));
     }
 
+    /**
+     * 자치구의 대기질 정보를 스냅샷에서 조회 (외부 API 호출 없음, 갱신을 기다리지 않음)
+     * @throws IllegalStateException 스냅샷이 없거나 해당 자치구 데이터가 없는 경우
+     */
     public AirQualityResponseDto getAirQuality(String districtName) {
         String targetName = districtName != null ? districtName.trim() : "종로구";
-        log.info("[대기오염 API] API 호출 시작: district={}", targetName);
 
-        try {
-            String url = UriComponentsBuilder
-                    .fromUriString("http://openapi.seoul.go.kr:8088")
-                    .pathSegment(apiKey, "json", "ListAirQualityByDistrictService", "1", "25")
-                    .build()
-                    .encode(StandardCharsets.UTF_8)
-                    .toString();
-
-            log.debug("[대기오염 API] API URL: {}", url);
-            ResponseEntity<JsonNode> response = restTemplate.getForEntity(url, JsonNode.class);
-            log.debug("[대기오염 API] API 응답 상태: {}", response.getStatusCode());
-
-            JsonNode body = response.getBody();
-            if (body == null) {
-                log.warn("[대기오염 API] API 응답 body가 null입니다: district={}, mock 데이터 사용", targetName);
-                return AirQualityResponseDto.builder()
-                        .pm10((short) 30)
-                        .pm25((short) 15)
-                        .airQualityIndex((short) 50)
-                        .build();
-            }
-
-            JsonNode items = body
-                    .path("ListAirQualityByDistrictService")
-                    .path("row");
-
-            if (!items.isArray() || items.size() == 0) {
-                log.warn("[대기오염 API] API 응답에 지역 데이터가 없습니다: district={}, mock 데이터 사용", targetName);
-                return AirQualityResponseDto.builder()
-                        .pm10((short) 30)
-                        .pm25((short) 15)
-                        .airQualityIndex((short) 50)
-                        .build();
-            }
-
-            log.debug("[대기오염 API] API 응답에서 받은 지역 데이터 개수: {}", items.size());
-            
-            for (JsonNode item : items) {
-                String stationName = item.path("MSRSTENAME").asText(item.path("MSRSTN_NM").asText(""));
-                log.debug("[대기오염 API] 비교 중: API 지역명='{}', 요청 지역명='{}'", stationName, targetName);
-                if (stationName.trim().equals(targetName)) {
-                    // API 응답의 모든 필드명 확인을 위한 로깅
-                    log.debug("[대기오염 API] 매칭된 지역 데이터 발견: district={}, 전체 JSON={}", targetName, item.toString());
-                    
-                    // 서울시 API 실제 필드명: PM (PM10), FPM (PM2.5), CAI (대기질 지수)
-                    JsonNode pm10Node = item.path("PM");  // PM → PM10 (미세먼지)
-                    JsonNode pm25Node = item.path("FPM"); // FPM → PM2.5 (초미세먼지)
-                    JsonNode caiNode = item.path("CAI");  // CAI → 대기질 지수
-                    
-                    // 값 추출 (null 체크 포함)
-                    Short pm10 = null;
-                    if (!pm10Node.isMissingNode() && !pm10Node.isNull()) {
-                        String pm10Str = pm10Node.asText("");
-                        if (!pm10Str.isEmpty() && !pm10Str.equals("-")) {
-                            try {
-                                int pm10Value = Integer.parseInt(pm10Str.trim());
-                                if (pm10Value >= 0) {
-                                    pm10 = (short) pm10Value;
-                                }
-                            } catch (NumberFormatException e) {
-                                log.warn("[대기오염 API] PM10 파싱 실패: value={}, district={}", pm10Str, targetName);
-                            }
-                        }
-                    }
-                    
-                    Short pm25 = null;
-                    if (!pm25Node.isMissingNode() && !pm25Node.isNull()) {
-                        String pm25Str = pm25Node.asText("");
-                        if (!pm25Str.isEmpty() && !pm25Str.equals("-")) {
-                            try {
-                                int pm25Value = Integer.parseInt(pm25Str.trim());
-                                if (pm25Value >= 0) {
-                                    pm25 = (short) pm25Value;
-                                }
-                            } catch (NumberFormatException e) {
-                                log.warn("[대기오염 API] PM25 파싱 실패: value={}, district={}", pm25Str, targetName);
-                            }
-                        }
-                    }
-                    
-                    Short cai = null;
-                    if (!caiNode.isMissingNode() && !caiNode.isNull()) {
-                        String caiStr = caiNode.asText("");
-                        if (!caiStr.isEmpty() && !caiStr.equals("-")) {
-                            try {
-                                int caiValue = Integer.parseInt(caiStr.trim());
-                                if (caiValue >= 0) {
-                                    cai = (short) caiValue;
-                                }
-                            } catch (NumberFormatException e) {
-                                log.warn("[대기오염 API] CAI 파싱 실패: value={}, district={}", caiStr, targetName);
-                            }
-                        }
-                    }
-                    
-                    log.info("[대기오염 API] 파싱된 값: district={}, pm10={}, pm25={}, cai={}", targetName, pm10, pm25, cai);
-
-                    AirQualityResponseDto result = AirQualityResponseDto.builder()
-                            .pm10(pm10)
-                            .pm25(pm25)
-                            .airQualityIndex(cai)
-                            .build();
-                    
-                    log.info("[대기오염 API] 서울시 대기질 정보 API 호출 성공: district={}, pm10={}, pm25={}, airQualityIndex={}", 
-                            targetName, result.getPm10(), result.getPm25(), result.getAirQualityIndex());
-                    return result;
-                }
-            }
+        AirQualitySnapshot current = currentSnapshot();
+        if (current == null) {
+            throw new IllegalStateException("Air quality snapshot is not available");
+        }
 
-            log.warn("[대기오염 API] 서울시 대기질 정보 API에서 해당 지역 데이터 없음: district={}, mock 데이터 사용", targetName);
-        } catch (Exception e) {
-            log.error("[대기오염 API] 서울시 대기질 정보 API 호출 실패: district={}, error={}, mock 데이터 사용", targetName, e.getMessage(), e);
+        AirQualityResponseDto measurement = current.byDistrict().get(targetName);
+        if (measurement == null) {
+            throw new IllegalStateException("No air quality data for district: " + targetName);
         }
 
-        // Mock 데이터 반환
+        boolean stale = current.isOlderThan(SNAPSHOT_MAX_AGE);
+        log.debug("[대기오염 API] 스냅샷 조회: district={}, pm10={}, pm25={}, airQualityIndex={}, fetchedAt={}, stale={}",
+                targetName, measurement.getPm10(), measurement.getPm25(), measurement.getAirQualityIndex(),
+                current.fetchedAt(), stale);
+
         return AirQualityResponseDto.builder()
-                .pm10((short) 30)
-                .pm25((short) 15)
-                .airQualityIndex((short) 50)
+                .pm10(measurement.getPm10())
+                .pm25(measurement.getPm25())
+                .airQualityIndex(measurement.getAirQualityIndex())
+                .observedAt(current.fetchedAt())
+                .stale(stale)
                 .build();
     }
+
+    /**
+     * 서울시 API를 한 번 호출하여 25개 자치구 스냅샷을 교체
+     * 실패하거나 서킷이 열려 있으면 기존 스냅샷을 유지합니다. (스케줄러에서 호출, 진행 중인 갱신이 있으면 끝날 때까지 대기)
+     */
+    public AirQualitySnapshot refreshSnapshot() {
+        refreshLock.lock();
+        try {
+            return doRefresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private AirQualitySnapshot doRefresh() {
+        lastRefreshAttempt = LocalDateTime.now();
+        log.info("[대기오염 API] 스냅샷 갱신 시작");
+
+        try {
+            Map<String, AirQualityResponseDto> byDistrict = circuitBreaker.call(this::requestAllDistricts);
+            snapshot = new AirQualitySnapshot(Map.copyOf(byDistrict), LocalDateTime.now());
+            log.info("[대기오염 API] 서울시 대기질 정보 API 호출 성공, 스냅샷 갱신: districts={}", byDistrict.size());
+        } catch (CircuitBreaker.CircuitOpenException e) {
+            log.warn("[대기오염 API] 서킷 OPEN 상태, 호출 생략 후 기존 스냅샷 유지");
+        } catch (Exception e) {
+            log.error("[대기오염 API] 서울시 대기질 정보 API 호출 실패, 기존 스냅샷 유지: error={}", e.getMessage(), e);
+        }
+        return snapshot;
+    }
+
+    private Map<String, AirQualityResponseDto> requestAllDistricts() {
+        String url = UriComponentsBuilder
+                .fromUriString("http://openapi.seoul.go.kr:8088")
+                .pathSegment(apiKey, "json", "ListAirQualityByDistrictService", "1", "25")
+                .build()
+                .encode(StandardCharsets.UTF_8)
+                .toString();
+
+        log.debug("[대기오염 API] API URL: {}", url);
+        // 응답 본문을 트리로 만들지 않고 스트리밍으로 바로 파싱
+        Map<String, AirQualityResponseDto> byDistrict = restTemplate.execute(url, HttpMethod.GET, null,
+                response -> {
+                    log.debug("[대기오염 API] API 응답 상태: {}", response.getStatusCode());
+                    return AirQualityPayloadParser.parse(response.getBody());
+                });
+
+        if (byDistrict == null || byDistrict.isEmpty()) {
+            throw new IllegalStateException("Seoul air quality API response has no district rows");
+        }
+
+        log.debug("[대기오염 API] API 응답에서 받은 지역 데이터 개수: {}", byDistrict.size());
+        return byDistrict;
+    }
+
+    /**
+     * 현재 스냅샷 반환. 없거나 오래된 경우 백그라운드 갱신만 요청하고 기존 스냅샷(또는 null)을 바로 반환
+     */
+    private AirQualitySnapshot currentSnapshot() {
+        AirQualitySnapshot current = snapshot;
+        if (current == null || current.isOlderThan(SNAPSHOT_MAX_AGE)) {
+            requestRefreshAsync();
+        }
+        return current;
+    }
+
+    // 재시도 간격이 지났고 진행 중인 갱신이 없을 때만 백그라운드 갱신 시작
+    private void requestRefreshAsync() {
+        if (refreshLock.isLocked() || recentlyAttempted()) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                if (!refreshLock.tryLock()) {
+                    return;
+                }
+                try {
+                    // 실행 전에 다른 갱신이 먼저 시도했으면 다시 호출하지 않음
+                    if (!recentlyAttempted()) {
+                        doRefresh();
+                    }
+                } finally {
+                    refreshLock.unlock();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("[대기오염 API] 종료 중이므로 스냅샷 갱신 요청 생략");
+        }
+    }
+
+    private boolean recentlyAttempted() {
+        LocalDateTime lastAttempt = lastRefreshAttempt;
+        return lastAttempt != null && lastAttempt.plus(REFRESH_RETRY_INTERVAL).isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * 서울시 25개 자치구 대기질 스냅샷 (불변)
+     */
+    public record AirQualitySnapshot(Map<String, AirQualityResponseDto> byDistrict, LocalDateTime fetchedAt) {
+
+        boolean isOlderThan(Duration maxAge) {
+            return fetchedAt.plus(maxAge).isBefore(LocalDateTime.now());
+        }
+    }
 }
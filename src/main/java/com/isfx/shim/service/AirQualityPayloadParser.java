@@ -0,0 +1,136 @@
+package com.isfx.shim.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.isfx.shim.dto.AirQualityResponseDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 서울시 대기질 정보 응답 스트리밍 파서
+ *
+ * ListAirQualityByDistrictService.row 배열만 토큰 단위로 읽으며,
+ * 문자열로 오는 PM/FPM/CAI 값을 중간 String 없이 바로 숫자로 변환합니다.
+ */
+@Slf4j
+final class AirQualityPayloadParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MISSING = -1;
+
+    private AirQualityPayloadParser() {
+    }
+
+    static Map<String, AirQualityResponseDto> parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    static Map<String, AirQualityResponseDto> parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private static Map<String, AirQualityResponseDto> parse(JsonParser parser) throws IOException {
+        Map<String, AirQualityResponseDto> byDistrict = new HashMap<>();
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && "row".equals(parser.currentName())) {
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readRow(parser, byDistrict);
+                    }
+                }
+                break;
+            }
+        }
+        return byDistrict;
+    }
+
+    private static void readRow(JsonParser parser, Map<String, AirQualityResponseDto> byDistrict) throws IOException {
+        String stationName = null;
+        String fallbackStationName = null;
+        int pm10 = MISSING;
+        int pm25 = MISSING;
+        int cai = MISSING;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "MSRSTENAME" -> stationName = parser.getValueAsString("").trim();
+                case "MSRSTN_NM" -> fallbackStationName = parser.getValueAsString("").trim();
+                // 서울시 API 실제 필드명: PM (PM10), FPM (PM2.5), CAI (대기질 지수)
+                case "PM" -> pm10 = readMeasurement(parser, field);
+                case "FPM" -> pm25 = readMeasurement(parser, field);
+                case "CAI" -> cai = readMeasurement(parser, field);
+                default -> parser.skipChildren();
+            }
+        }
+
+        String district = stationName != null ? stationName : fallbackStationName;
+        if (district == null || district.isEmpty()) {
+            return;
+        }
+        byDistrict.put(district, AirQualityResponseDto.builder()
+                .pm10(toShort(pm10))
+                .pm25(toShort(pm25))
+                .airQualityIndex(toShort(cai))
+                .build());
+    }
+
+    /**
+     * 측정값을 정수로 변환 ("-", 빈 값, 음수, 숫자가 아닌 값은 MISSING)
+     */
+    private static int readMeasurement(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            int value = parser.getIntValue();
+            return value >= 0 ? value : MISSING;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return MISSING;
+        }
+
+        char[] chars = parser.getTextCharacters();
+        int start = parser.getTextOffset();
+        int end = start + parser.getTextLength();
+        while (start < end && Character.isWhitespace(chars[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(chars[end - 1])) {
+            end--;
+        }
+        if (start == end || (end - start == 1 && chars[start] == '-')) {
+            return MISSING;
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                log.warn("[대기오염 API] {} 파싱 실패: value={}", field, parser.getText());
+                return MISSING;
+            }
+            value = value * 10 + (c - '0');
+            if (value > Short.MAX_VALUE) {
+                log.warn("[대기오염 API] {} 범위 초과: value={}", field, parser.getText());
+                return MISSING;
+            }
+        }
+        return value;
+    }
+
+    private static Short toShort(int value) {
+        return value == MISSING ? null : (short) value;
+    }
+}
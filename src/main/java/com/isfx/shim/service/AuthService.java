@@ -12,6 +12,7 @@ import com.isfx.shim.global.security.JwtUtil;
 import com.isfx.shim.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -30,7 +31,8 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final RestTemplate restTemplate = new RestTemplate(); // 외부 API 통신용
+    @Qualifier("kakaoRestTemplate")
+    private final RestTemplate restTemplate; // 외부 API 통신용 (공용 커넥션 풀)
     private final ObjectMapper objectMapper = new ObjectMapper(); // JSON 파싱용
 
     // application.yml에서 카카오 설정값 읽어오기
@@ -0,0 +1,105 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.enums.TransportMode;
+
+/**
+ * 에너지 점수 일괄 계산 (what-if 시뮬레이션용)
+ *
+ * 기록 값을 열 단위 primitive 배열(Batch)로 한 번 옮겨 두고, 시나리오마다 같은 배열을 다시 계산합니다.
+ * 날씨 점수는 시나리오와 관계없으므로 Batch를 만들 때 미리 계산하며, 계산 루프는 객체를 만들지 않습니다.
+ * 요소별 식은 EnergyScoreCalculator의 static 메서드를 그대로 사용하므로 단건 계산 결과와 같습니다.
+ */
+public final class BulkEnergyScorer {
+
+    private BulkEnergyScorer() {
+    }
+
+    /**
+     * 기록 입력값 열 (null은 단건 계산과 같은 기본값으로 채움)
+     * 이동 수단 기본 점수/혼잡도 기본값이 모델 버전에 따라 다르므로 Batch는 한 모델에 묶입니다.
+     */
+    public static final class Batch {
+        private final EnergyScoreModel model;
+        private final int[] emotionLevels;
+        private final int[] conversationLevels;
+        private final int[] meetingCounts;
+        private final double[] baseTransportScores;
+        private final int[] congestionLevels;
+        private final double[] weatherScores;
+        private int size;
+
+        public Batch(EnergyScoreModel model, int capacity) {
+            this.model = model;
+            this.emotionLevels = new int[capacity];
+            this.conversationLevels = new int[capacity];
+            this.meetingCounts = new int[capacity];
+            this.baseTransportScores = new double[capacity];
+            this.congestionLevels = new int[capacity];
+            this.weatherScores = new double[capacity];
+        }
+
+        public void add(Integer emotionLevel, Integer conversationLevel, Integer meetingCount,
+                        TransportMode transportMode, Integer congestionLevel, double weatherScore) {
+            emotionLevels[size] = emotionLevel != null ? emotionLevel : 0;
+            conversationLevels[size] = conversationLevel != null ? conversationLevel : 0;
+            meetingCounts[size] = meetingCount != null ? meetingCount : 0;
+            baseTransportScores[size] = EnergyScoreCalculator.baseTransportScore(model, transportMode);
+            congestionLevels[size] = congestionLevel != null ? congestionLevel : model.getDefaultCongestionLevel();
+            weatherScores[size] = weatherScore;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public EnergyScoreModel model() {
+            return model;
+        }
+    }
+
+    /**
+     * 시나리오 값으로 바꿔 계산한 점수를 out에 기록 (null인 값은 각 기록의 실제 값 사용, Batch의 모델 버전 사용)
+     * @param out batch.size() 이상 크기의 결과 배열
+     */
+    public static void score(Batch batch, TransportMode transportMode,
+                             Integer congestionLevel, Integer meetingCount, double[] out) {
+        EnergyScoreModel model = batch.model;
+        boolean overrideTransport = transportMode != null;
+        boolean overrideCongestion = congestionLevel != null;
+        boolean overrideMeeting = meetingCount != null;
+        double transportOverride = overrideTransport ? EnergyScoreCalculator.baseTransportScore(model, transportMode) : 0;
+        int congestionOverride = overrideCongestion ? congestionLevel : 0;
+        int meetingOverride = overrideMeeting ? meetingCount : 0;
+
+        for (int i = 0; i < batch.size; i++) {
+            double social = EnergyScoreCalculator.socialScore(model, batch.emotionLevels[i],
+                    batch.conversationLevels[i], overrideMeeting ? meetingOverride : batch.meetingCounts[i]);
+            double movement = EnergyScoreCalculator.movementScore(model,
+                    overrideTransport ? transportOverride : batch.baseTransportScores[i],
+                    overrideCongestion ? congestionOverride : batch.congestionLevels[i]);
+            out[i] = EnergyScoreCalculator.combine(model, social, movement, batch.weatherScores[i]);
+        }
+    }
+
+    /**
+     * 두 점수 배열 사이에 에너지 레벨 구간이 달라진 기록 수
+     */
+    public static int countLevelChanges(EnergyScoreModel model, double[] baseline, double[] simulated, int size) {
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            if (levelIndex(model, baseline[i]) != levelIndex(model, simulated[i])) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    // 0: LOW, 1: MEDIUM, 2: HIGH (EnergyScoreCalculator.determineEnergyLevel과 같은 경계)
+    private static int levelIndex(EnergyScoreModel model, double score) {
+        if (score < model.getMediumThreshold()) {
+            return 0;
+        }
+        return score < model.getHighThreshold() ? 1 : 2;
+    }
+}
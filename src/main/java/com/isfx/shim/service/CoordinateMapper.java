@@ -1,7 +1,12 @@
 package com.isfx.shim.service;
 
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public final class CoordinateMapper {
 
@@ -33,8 +38,47 @@ public final class CoordinateMapper {
             Map.entry("강동구", new Coordinate(63, 126))
     );
 
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // 정규화된 지역명 → 격자 좌표 (조회 시 매번 키를 변환하지 않도록 미리 구성)
+    private static final Map<String, Coordinate> DISTRICT_INDEX = buildDistrictIndex();
+
     private static final Coordinate DEFAULT_COORDINATE = new Coordinate(60, 127); // 서울 중구
 
+    // 기상청 동네예보 격자 (Lambert Conformal Conic) 투영 상수
+    private static final double EARTH_RADIUS_KM = 6371.00877;
+    private static final double GRID_SPACING_KM = 5.0;
+    private static final double STANDARD_LAT1 = 30.0;
+    private static final double STANDARD_LAT2 = 60.0;
+    private static final double ORIGIN_LON = 126.0;
+    private static final double ORIGIN_LAT = 38.0;
+    private static final double ORIGIN_X = 43;
+    private static final double ORIGIN_Y = 136;
+    private static final int MAX_NX = 149;
+    private static final int MAX_NY = 253;
+
+    private static final double DEG_TO_RAD = Math.PI / 180.0;
+    private static final double RE = EARTH_RADIUS_KM / GRID_SPACING_KM;
+    private static final double SN;
+    private static final double SF;
+    private static final double RO;
+
+    static {
+        double slat1 = STANDARD_LAT1 * DEG_TO_RAD;
+        double slat2 = STANDARD_LAT2 * DEG_TO_RAD;
+        double olat = ORIGIN_LAT * DEG_TO_RAD;
+
+        double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) / Math.tan(Math.PI * 0.25 + slat1 * 0.5);
+        SN = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
+        SF = Math.pow(Math.tan(Math.PI * 0.25 + slat1 * 0.5), SN) * Math.cos(slat1) / SN;
+        RO = RE * SF / Math.pow(Math.tan(Math.PI * 0.25 + olat * 0.5), SN);
+    }
+
+    // 위경도 → 격자 변환 캐시 (소수점 셋째 자리 ≈ 100m 단위로 반올림, 격자 간격은 5km)
+    private static final double CACHE_PRECISION = 1000.0;
+    private static final int MAX_CACHED_POSITIONS = 10_000;
+    private static final Map<Long, Coordinate> POSITION_CACHE = new ConcurrentHashMap<>();
+
     private CoordinateMapper() {
     }
 
@@ -42,11 +86,84 @@ public final class CoordinateMapper {
         if (districtName == null || districtName.isBlank()) {
             return DEFAULT_COORDINATE;
         }
-        String normalized = districtName.trim().toLowerCase(Locale.KOREAN);
-        return PREDEFINED_COORDINATES.entrySet().stream()
-                .filter(entry -> entry.getKey().toLowerCase(Locale.KOREAN).equals(normalized))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(DEFAULT_COORDINATE);
+        String normalized = normalize(districtName);
+        Coordinate coordinate = DISTRICT_INDEX.get(normalized);
+        if (coordinate != null) {
+            return coordinate;
+        }
+
+        // "서울특별시 강남구"처럼 상위 행정구역이 붙은 경우 마지막 단어로 다시 조회
+        int lastSpace = normalized.lastIndexOf(' ');
+        if (lastSpace >= 0) {
+            coordinate = DISTRICT_INDEX.get(normalized.substring(lastSpace + 1));
+        }
+        return coordinate != null ? coordinate : DEFAULT_COORDINATE;
+    }
+
+    /**
+     * 위경도를 기상청 격자 좌표(nx, ny)로 변환
+     * @throws IllegalArgumentException 기상청 격자 범위를 벗어난 위치인 경우
+     */
+    public static Coordinate toGridXY(double latitude, double longitude) {
+        long key = cacheKey(latitude, longitude);
+        Coordinate cached = POSITION_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Coordinate coordinate = project(latitude, longitude);
+        if (POSITION_CACHE.size() >= MAX_CACHED_POSITIONS) {
+            // 상한에 도달하면 통째로 비움 (재계산 비용이 작아 정교한 축출은 불필요)
+            POSITION_CACHE.clear();
+        }
+        POSITION_CACHE.put(key, coordinate);
+        return coordinate;
+    }
+
+    /**
+     * 미리 정의된 자치구들이 사용하는 격자 좌표 (중복 제거)
+     */
+    public static Set<Coordinate> distinctCoordinates() {
+        return PREDEFINED_COORDINATES.values().stream()
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Coordinate project(double latitude, double longitude) {
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)) {
+            throw new IllegalArgumentException("Invalid coordinate: lat=" + latitude + ", lon=" + longitude);
+        }
+
+        double ra = RE * SF / Math.pow(Math.tan(Math.PI * 0.25 + latitude * DEG_TO_RAD * 0.5), SN);
+        double theta = longitude * DEG_TO_RAD - ORIGIN_LON * DEG_TO_RAD;
+        if (theta > Math.PI) {
+            theta -= 2.0 * Math.PI;
+        }
+        if (theta < -Math.PI) {
+            theta += 2.0 * Math.PI;
+        }
+        theta *= SN;
+
+        int nx = (int) Math.floor(ra * Math.sin(theta) + ORIGIN_X + 0.5);
+        int ny = (int) Math.floor(RO - ra * Math.cos(theta) + ORIGIN_Y + 0.5);
+        if (nx < 1 || nx > MAX_NX || ny < 1 || ny > MAX_NY) {
+            throw new IllegalArgumentException("Coordinate is outside the KMA grid: lat=" + latitude + ", lon=" + longitude);
+        }
+        return new Coordinate(nx, ny);
+    }
+
+    private static long cacheKey(double latitude, double longitude) {
+        long lat = Math.round(latitude * CACHE_PRECISION);
+        long lon = Math.round(longitude * CACHE_PRECISION);
+        return (lat << 32) ^ (lon & 0xFFFFFFFFL);
+    }
+
+    private static String normalize(String districtName) {
+        return WHITESPACE.matcher(districtName.trim()).replaceAll(" ").toLowerCase(Locale.KOREAN);
+    }
+
+    private static Map<String, Coordinate> buildDistrictIndex() {
+        Map<String, Coordinate> index = new HashMap<>();
+        PREDEFINED_COORDINATES.forEach((name, coordinate) -> index.put(normalize(name), coordinate));
+        return Map.copyOf(index);
     }
 }
@@ -0,0 +1,12 @@
+package com.isfx.shim.service;
+
+/**
+ * 텍스트 임베딩 제공자 (AI 처방 의미 기반 캐시에서 사용)
+ * 반환 벡터는 L2 정규화되어 있어야 합니다. (내적 = 코사인 유사도)
+ */
+public interface EmbeddingProvider {
+
+    float[] embed(String text);
+
+    int dimensions();
+}
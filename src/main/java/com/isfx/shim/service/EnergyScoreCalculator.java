@@ -0,0 +1,308 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.CreateRecordRequest;
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기록 입력값과 날씨로 에너지 점수/레벨을 계산합니다.
+ * 단건 기록(RecordService)과 일괄 가져오기(RecordImportService)가 같은 계산을 사용합니다.
+ * 가중치/기준값은 EnergyScoreModel 버전에서 가져오며, 아래 설명의 수치는 V1 기준입니다.
+ * 요소별 식은 primitive 값만 받는 static 메서드로 두어 BulkEnergyScorer(시뮬레이션)도 같은 식을 사용합니다.
+ */
+@Component
+public class EnergyScoreCalculator {
+
+    /**
+     * TransportMode 문자열을 enum으로 변환
+     */
+    public TransportMode convertTransportMode(String transportMode) {
+        if (transportMode == null) {
+            return TransportMode.SUBWAY;
+        }
+        return switch (transportMode.toLowerCase()) {
+            case "subway" -> TransportMode.SUBWAY;
+            case "bus" -> TransportMode.BUS;
+            case "walk" -> TransportMode.WALK;
+            default -> TransportMode.WALK;
+        };
+    }
+
+    /**
+     * 전체 에너지 점수 계산
+     * 
+     * 에너지 점수는 세 가지 요소의 가중 평균으로 계산됩니다:
+     * - 사회적 점수 (40%): 감정 수준, 대화 수준, 만남 횟수
+     * - 이동 점수 (30%): 교통수단 종류와 혼잡도
+     * - 날씨 점수 (30%): 온도, 날씨 조건, 대기질(PM10, PM25)
+     * 
+     * @param request 기록 생성 요청 DTO
+     * @param transportMode 이동 수단 (WALK, SUBWAY, BUS 등)
+     * @param weatherLog 날씨 로그 정보
+     * @return 0~100 사이의 에너지 점수
+     */
+    public double calculateEnergyScore(CreateRecordRequest request, TransportMode transportMode, WeatherLog weatherLog) {
+        return calculateEnergyScore(EnergyScoreModel.CURRENT, request.getEmotionLevel(), request.getConversationLevel(),
+                request.getMeetingCount(), transportMode, request.getCongestionLevel(), weatherLog);
+    }
+
+    /**
+     * 지정한 모델 버전으로 에너지 점수 계산 (저장된 기록 재계산용)
+     */
+    public double calculateEnergyScore(EnergyScoreModel model, Integer emotionLevel, Integer conversationLevel,
+                                       Integer meetingCount, TransportMode transportMode, Integer congestionLevel,
+                                       WeatherLog weatherLog) {
+        // 각 요소별 점수 계산 (각각 0~100점)
+        double socialScore = calculateSocialScore(model, emotionLevel, conversationLevel, meetingCount);
+        double movementScore = calculateMovementScore(model, transportMode, congestionLevel);
+        double weatherScore = calculateWeatherScore(model, weatherLog);
+
+        return combine(model, socialScore, movementScore, weatherScore);
+    }
+
+    /**
+     * 요소별 점수의 가중 평균 (0~100 범위로 제한, 소수점 2자리 반올림)
+     */
+    static double combine(EnergyScoreModel model, double socialScore, double movementScore, double weatherScore) {
+        // 가중 평균 계산: 사회적(V1 40%) + 이동(V1 30%) + 날씨(V1 30%)
+        double energyScore = (model.getSocialWeight() * socialScore)
+                + (model.getMovementWeight() * movementScore)
+                + (model.getWeatherWeight() * weatherScore);
+        
+        // 점수를 0~100 범위로 제한
+        energyScore = Math.max(0, Math.min(100, energyScore));
+        
+        // 소수점 2자리로 반올림
+        return Math.round(energyScore * 100.0) / 100.0;
+    }
+
+    /**
+     * 사회적 점수 계산
+     * 
+     * 사회적 상호작용을 기반으로 에너지 점수를 계산합니다.
+     * 세 가지 요소로 구성되며, 총 100점 만점입니다:
+     * 
+     * 1. 감정 수준 점수 (최대 40점)
+     *    - 감정 수준(1~5)을 5로 나눈 비율에 40을 곱함
+     *    - 예: 감정 수준 5 → 40점, 감정 수준 3 → 24점
+     * 
+     * 2. 대화 수준 점수 (최대 30점)
+     *    - 대화 수준(1~5)을 5로 나눈 비율에 30을 곱함
+     *    - 예: 대화 수준 5 → 30점, 대화 수준 2 → 12점
+     * 
+     * 3. 만남 횟수 점수 (최대 30점)
+     *    - 만남 횟수 × 10점 (최대 30점으로 제한)
+     *    - 예: 만남 3회 → 30점, 만남 1회 → 10점
+     * 
+     * @param model 점수 모델 버전
+     * @return 0~100 사이의 사회적 점수
+     */
+    private double calculateSocialScore(EnergyScoreModel model, Integer emotionLevelInput,
+                                        Integer conversationLevelInput, Integer meetingCountInput) {
+        // null 값 처리: 기본값 0 사용
+        int emotionLevel = emotionLevelInput != null ? emotionLevelInput : 0;
+        int conversationLevel = conversationLevelInput != null ? conversationLevelInput : 0;
+        int meetingCount = meetingCountInput != null ? meetingCountInput : 0;
+        return socialScore(model, emotionLevel, conversationLevel, meetingCount);
+    }
+
+    static double socialScore(EnergyScoreModel model, int emotionLevel, int conversationLevel, int meetingCount) {
+        // 감정 수준 점수: (감정 수준 / 5) × 40점
+        double emotionScore = ((double) emotionLevel / model.getLevelScale()) * model.getEmotionMaxScore();
+        
+        // 대화 수준 점수: (대화 수준 / 5) × 30점
+        double conversationScore = ((double) conversationLevel / model.getLevelScale()) * model.getConversationMaxScore();
+        
+        // 만남 횟수 점수: 만남 횟수 × 10점 (최대 30점)
+        double meetingScore = Math.min(model.getMeetingMaxScore(), meetingCount * model.getMeetingUnitScore());
+
+        // 총점 계산 및 0~100 범위로 제한
+        return Math.max(0, Math.min(100, emotionScore + conversationScore + meetingScore));
+    }
+
+    /**
+     * 이동 점수 계산
+     * 
+     * 교통수단과 혼잡도를 기반으로 에너지 점수를 계산합니다.
+     * 
+     * 계산 방식:
+     * 1. 교통수단별 기본 점수 설정
+     *    - 도보(WALK): 100점 (가장 에너지 소모가 적음)
+     *    - 지하철(SUBWAY): 85점
+     *    - 버스(BUS): 80점
+     * 
+     * 2. 혼잡도에 따른 감점 적용
+     *    - 혼잡도 1: 감점 0점 (여유로움)
+     *    - 혼잡도 2: 감점 5점
+     *    - 혼잡도 3: 감점 10점
+     *    - 혼잡도 4: 감점 15점
+     *    - 혼잡도 5: 감점 20점 (매우 혼잡)
+     *    - 공식: (혼잡도 - 1) × 5점
+     * 
+     * 최종 점수 = 기본 점수 - 혼잡도 감점 (최소 0점)
+     * 
+     * @param transportMode 교통수단 (WALK, SUBWAY, BUS)
+     * @param congestionLevelInput 혼잡도 (1~5, null인 경우 기본값 3)
+     * @return 0~100 사이의 이동 점수
+     */
+    private double calculateMovementScore(EnergyScoreModel model, TransportMode transportMode, Integer congestionLevelInput) {
+        // 혼잡도 null 처리: 기본값 3 사용
+        int congestionLevel = congestionLevelInput != null ? congestionLevelInput : model.getDefaultCongestionLevel();
+        return movementScore(model, baseTransportScore(model, transportMode), congestionLevel);
+    }
+
+    // 교통수단별 기본 점수
+    static double baseTransportScore(EnergyScoreModel model, TransportMode transportMode) {
+        return switch (transportMode) {
+            case WALK -> model.getWalkBaseScore();     // 도보: 최고 점수
+            case SUBWAY -> model.getSubwayBaseScore(); // 지하철
+            case BUS -> model.getBusBaseScore();       // 버스
+        };
+    }
+
+    static double movementScore(EnergyScoreModel model, double baseTransportScore, int congestionLevelInput) {
+        // 혼잡도를 1~5 범위로 제한
+        int congestionLevel = Math.max(1, Math.min(model.getLevelScale(), congestionLevelInput));
+
+        // 혼잡도에 따른 감점 계산: (혼잡도 - 1) × 5점
+        double congestionPenalty = (congestionLevel - 1) * model.getCongestionPenalty();
+        
+        // 최종 점수 = 기본 점수 - 감점 (최소 0점)
+        return Math.max(0.0, baseTransportScore - congestionPenalty);
+    }
+
+    /**
+     * 날씨 점수 계산
+     * 
+     * 날씨 정보를 기반으로 에너지 점수를 계산합니다.
+     * 세 가지 요소로 구성되며, 총 100점 만점입니다:
+     * 
+     * 1. 온도 점수 (최대 33점)
+     *    - 이상적인 온도(21°C)를 기준으로 가우시안 분포 함수 사용
+     *    - 공식: 33 × exp(-0.03 × (온도 - 21)²)
+     *    - 21°C에서 최대 33점, 온도가 벗어날수록 점수 감소
+     *    - 예: 21°C → 33점, 15°C → 약 23점, 30°C → 약 15점
+     * 
+     * 2. 날씨 조건 점수 (최대 33점)
+     *    - 맑음(clear): 33점
+     *    - 구름(clouds): 25점
+     *    - 비(rain): 18점
+     *    - 눈(snow): 15점
+     *    - 기타(other): 25점
+     * 
+     * 3. 대기질 점수 (최대 33점)
+     *    - PM10 기준: 30 이하 → 감점 없음, 30 초과 시 감점
+     *    - PM25 기준: 15 이하 → 감점 없음, 15 초과 시 감점
+     *    - 공식: 33 - (PM10 감점 + PM25 감점)
+     *    - PM10 감점: max(0, (PM10 - 30) / 70) × 13점
+     *    - PM25 감점: max(0, (PM25 - 15) / 35) × 20점
+     *    - 예: PM10=30, PM25=15 → 33점
+     *          PM10=100, PM25=50 → 약 0점
+     * 
+     * @param weatherLog 날씨 로그 정보 (null인 경우 기본값 70점 반환)
+     * @return 0~100 사이의 날씨 점수
+     */
+    double calculateWeatherScore(EnergyScoreModel model, WeatherLog weatherLog) {
+        // 날씨 정보가 없는 경우 기본값 반환
+        if (weatherLog == null) {
+            return model.getNoWeatherScore();
+        }
+        return calculateWeatherScore(model, weatherLog.getTemperature(), weatherLog.getCondition(),
+                weatherLog.getPm10(), weatherLog.getPm25());
+    }
+
+    /**
+     * 날씨 값으로 날씨 점수 계산 (엔티티 없이 조회한 값용, 식은 위와 동일)
+     */
+    public double calculateWeatherScore(EnergyScoreModel model, Double temperatureInput, WeatherCondition condition,
+                                        Short pm10Input, Short pm25Input) {
+        // null 값 처리: 기본값 사용
+        double temperature = temperatureInput != null ? temperatureInput : model.getIdealTemperature();
+        double pm10 = pm10Input != null ? pm10Input : model.getPm10Baseline();
+        double pm25 = pm25Input != null ? pm25Input : model.getPm25Baseline();
+
+        // 1. 온도 점수: 가우시안 분포 함수 사용 (21°C 기준)
+        // exp(-0.03 × (온도 - 21)²)로 21°C에서 최대값, 멀어질수록 감소
+        double temperatureScore = model.getTemperatureMaxScore() * Math.exp(-model.getTemperatureDecay()
+                * Math.pow(temperature - model.getIdealTemperature(), 2));
+        
+        // 2. 날씨 조건 점수
+        double conditionScore = mapConditionScore(model, condition);
+
+        // 3. 대기질 점수 계산
+        // PM10 기준: 30 이하 → 감점 없음, 30 초과 시 비례 감점
+        double pm10Factor = Math.max(0, (pm10 - model.getPm10Baseline()) / model.getPm10Range());
+        // PM25 기준: 15 이하 → 감점 없음, 15 초과 시 비례 감점
+        double pm25Factor = Math.max(0, (pm25 - model.getPm25Baseline()) / model.getPm25Range());
+        // 대기질 점수 = 33점 - (PM10 감점 + PM25 감점)
+        double airQualityScore = model.getAirQualityMaxScore()
+                - (pm10Factor * model.getPm10Penalty() + pm25Factor * model.getPm25Penalty());
+        airQualityScore = Math.max(0, airQualityScore);
+
+        // 총점 계산: 온도 + 조건 + 대기질
+        double weatherScore = temperatureScore + conditionScore + airQualityScore;
+        
+        // 점수를 0~100 범위로 제한
+        return Math.max(0, Math.min(100, weatherScore));
+    }
+
+    /**
+     * 날씨 조건별 점수 매핑
+     * 
+     * 날씨 조건에 따라 점수를 반환합니다.
+     * 맑은 날씨일수록 높은 점수를 부여합니다.
+     * 
+     * 점수 체계:
+     * - 맑음(clear): 33점 (최고 점수)
+     * - 구름(clouds): 25점
+     * - 비(rain): 18점
+     * - 눈(snow): 15점 (최저 점수)
+     * - 기타(other): 25점
+     * - null: 25점 (기본값)
+     * 
+     * @param condition 날씨 조건 enum
+     * @return 날씨 조건 점수 (15~33점)
+     */
+    private double mapConditionScore(EnergyScoreModel model, WeatherCondition condition) {
+        if (condition == null) {
+            return model.getUnknownConditionScore(); // 기본값
+        }
+        return switch (condition) {
+            case clear -> model.getClearScore();           // 맑음: 최고 점수
+            case clouds -> model.getCloudsScore();         // 구름
+            case rain -> model.getRainScore();             // 비
+            case snow -> model.getSnowScore();             // 눈: 최저 점수
+            case other -> model.getOtherConditionScore();  // 기타
+        };
+    }
+
+    /**
+     * 에너지 레벨 결정
+     * 
+     * 에너지 점수에 따라 LOW, MEDIUM, HIGH 중 하나를 반환합니다.
+     * 
+     * 레벨 구분:
+     * - LOW: 0점 이상 ~ 33점 미만 (에너지가 낮음)
+     * - MEDIUM: 33점 이상 ~ 67점 미만 (에너지가 보통)
+     * - HIGH: 67점 이상 ~ 100점 (에너지가 높음)
+     * 
+     * @param energyScore 계산된 에너지 점수 (0~100)
+     * @return 에너지 레벨 (LOW, MEDIUM, HIGH)
+     */
+    public EnergyLevel determineEnergyLevel(double energyScore) {
+        return determineEnergyLevel(EnergyScoreModel.CURRENT, energyScore);
+    }
+
+    public EnergyLevel determineEnergyLevel(EnergyScoreModel model, double energyScore) {
+        if (energyScore < model.getMediumThreshold()) {
+            return EnergyLevel.LOW;    // 0~32점: 낮은 에너지
+        } else if (energyScore < model.getHighThreshold()) {
+            return EnergyLevel.MEDIUM; // 33~66점: 보통 에너지
+        } else {
+            return EnergyLevel.HIGH;   // 67~100점: 높은 에너지
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.isfx.shim.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 에너지 점수 계산 모델 (가중치/기준값 버전)
+ *
+ * 점수에 영향을 주는 모든 가중치/기준값/기본값은 여기에만 둡니다. (EnergyScoreCalculator에는 식만 있음)
+ * 값을 바꿀 때는 기존 상수를 고치지 말고 새 버전을 추가하고 CURRENT를 옮깁니다.
+ * 기록에는 계산에 사용한 버전(daily_records.score_version)이 저장되며,
+ * 이전 버전으로 계산된 기록은 EnergyScoreRecomputeJob으로 다시 계산합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EnergyScoreModel {
+
+    V1(1,
+            0.4, 0.3, 0.3,       // 사회적 / 이동 / 날씨 가중치
+            5,                   // 감정 / 대화 / 혼잡도 척도 (1~5)
+            40.0, 30.0,          // 감정 / 대화 수준 만점
+            10.0, 30.0,          // 만남 1회당 점수 / 만남 점수 상한
+            100.0, 85.0, 80.0,   // 도보 / 지하철 / 버스 기본 점수
+            5.0, 3,              // 혼잡도 1단계당 감점 / 혼잡도 미입력 시 기본값
+            33.0, 21.0, 0.03,    // 기온 점수 만점 / 이상 기온 / 기온 감쇠 계수
+            33.0, 25.0, 18.0, 15.0, 25.0, 25.0, // 맑음 / 구름 / 비 / 눈 / 기타 / 미상 날씨 조건 점수
+            33.0,                // 대기질 점수 만점
+            30.0, 70.0, 13.0,    // PM10 감점 시작값 / 감점 구간 / 구간만큼 초과할 때마다 감점
+            15.0, 35.0, 20.0,    // PM2.5 감점 시작값 / 감점 구간 / 구간만큼 초과할 때마다 감점
+            70.0,                // 날씨 정보가 없는 기록의 날씨 점수
+            33.0, 67.0);         // LOW/MEDIUM, MEDIUM/HIGH 경계
+
+    // 새 기록과 재계산 작업이 사용하는 버전
+    public static final EnergyScoreModel CURRENT = V1;
+
+    private final int version;
+    private final double socialWeight;
+    private final double movementWeight;
+    private final double weatherWeight;
+    private final int levelScale;
+    private final double emotionMaxScore;
+    private final double conversationMaxScore;
+    private final double meetingUnitScore;
+    private final double meetingMaxScore;
+    private final double walkBaseScore;
+    private final double subwayBaseScore;
+    private final double busBaseScore;
+    private final double congestionPenalty;
+    private final int defaultCongestionLevel;
+    private final double temperatureMaxScore;
+    private final double idealTemperature;
+    private final double temperatureDecay;
+    private final double clearScore;
+    private final double cloudsScore;
+    private final double rainScore;
+    private final double snowScore;
+    private final double otherConditionScore;
+    private final double unknownConditionScore;
+    private final double airQualityMaxScore;
+    private final double pm10Baseline;
+    private final double pm10Range;
+    private final double pm10Penalty;
+    private final double pm25Baseline;
+    private final double pm25Range;
+    private final double pm25Penalty;
+    private final double noWeatherScore;
+    private final double mediumThreshold;
+    private final double highThreshold;
+}
@@ -0,0 +1,236 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.EnergyScoreRecomputeStatusDto;
+import com.isfx.shim.repository.DailyRecordRepository;
+import com.isfx.shim.service.EnergyScoreRecomputeService.ChunkResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이전 모델 버전으로 계산된 기록의 에너지 점수 일괄 재계산
+ *
+ * 조정 스레드 하나가 ID 기준 keyset 페이지로 대상 ID만 읽어 chunk를 만들고,
+ * 작업 스레드들이 chunk별 트랜잭션으로 재계산/저장합니다. 작업 큐가 차면 조정 스레드가 직접 처리하여
+ * 읽기 속도가 쓰기 속도를 앞지르지 않습니다. (메모리에는 최대 threads × 3개 chunk만 존재)
+ * - 메트릭: energy_score.recompute.records (result=written/changed), energy_score.recompute.chunk (타이머),
+ *          energy_score.recompute.remaining (남은 대상 추정치)
+ * - 관리자 API 또는 cron(energy-score.recompute.cron, 기본 비활성)으로 시작
+ */
+@Slf4j
+@Component
+public class EnergyScoreRecomputeJob {
+
+    private static final int PROGRESS_LOG_INTERVAL_CHUNKS = 20;
+
+    private final DailyRecordRepository dailyRecordRepository;
+    private final EnergyScoreRecomputeService energyScoreRecomputeService;
+    private final int threads;
+    private final int chunkSize;
+
+    private final Counter writtenCounter;
+    private final Counter changedCounter;
+    private final Counter failedChunkCounter;
+    private final Timer chunkTimer;
+
+    private volatile Progress progress;
+    private volatile boolean stopRequested;
+
+    public EnergyScoreRecomputeJob(DailyRecordRepository dailyRecordRepository,
+                                   EnergyScoreRecomputeService energyScoreRecomputeService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${energy-score.recompute.threads:4}") int threads,
+                                   @Value("${energy-score.recompute.chunk-size:500}") int chunkSize) {
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.energyScoreRecomputeService = energyScoreRecomputeService;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+
+        this.writtenCounter = Counter.builder("energy_score.recompute.records").tag("result", "written").register(meterRegistry);
+        this.changedCounter = Counter.builder("energy_score.recompute.records").tag("result", "changed").register(meterRegistry);
+        this.failedChunkCounter = Counter.builder("energy_score.recompute.failed_chunks").register(meterRegistry);
+        this.chunkTimer = Timer.builder("energy_score.recompute.chunk").register(meterRegistry);
+        Gauge.builder("energy_score.recompute.remaining", this, job -> job.remaining()).register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${energy-score.recompute.cron:-}")
+    public void scheduledRecompute() {
+        start();
+    }
+
+    /**
+     * 재계산 시작 (이미 실행 중이면 false)
+     */
+    public synchronized boolean start() {
+        if (progress != null && progress.isRunning()) {
+            return false;
+        }
+        EnergyScoreModel model = EnergyScoreModel.CURRENT;
+        long total = dailyRecordRepository.countToRescore(model.getVersion());
+        Progress started = new Progress(model, total);
+        progress = started;
+        stopRequested = false;
+
+        Thread coordinator = new Thread(() -> run(started), "energy-score-recompute");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        log.info("[점수 재계산] 시작: targetVersion={}, total={}, threads={}, chunkSize={}",
+                model.getVersion(), total, threads, chunkSize);
+        return true;
+    }
+
+    public EnergyScoreRecomputeStatusDto status() {
+        Progress current = progress;
+        if (current == null) {
+            return EnergyScoreRecomputeStatusDto.builder()
+                    .running(false)
+                    .targetVersion(EnergyScoreModel.CURRENT.getVersion())
+                    .build();
+        }
+        return current.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중인 chunk는 끝까지 커밋되고, 남은 대상은 다음 실행에서 이어서 처리됨
+        stopRequested = true;
+    }
+
+    private void run(Progress run) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "energy-score-recompute-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try {
+            long afterId = 0L;
+            while (!stopRequested) {
+                List<Long> recordIds = dailyRecordRepository.findIdsToRescore(
+                        afterId, run.model.getVersion(), PageRequest.of(0, chunkSize));
+                if (recordIds.isEmpty()) {
+                    break;
+                }
+                afterId = recordIds.get(recordIds.size() - 1);
+                workers.execute(() -> processChunk(run, recordIds));
+            }
+        } catch (Exception e) {
+            log.error("[점수 재계산] 대상 조회 실패, 중단: error={}", e.getMessage(), e);
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(1, TimeUnit.HOURS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            run.finish();
+            log.info("[점수 재계산] 종료: targetVersion={}, processed={}, written={}, changed={}, failedChunks={}, "
+                            + "recordsPerSecond={}, stopped={}",
+                    run.model.getVersion(), run.processed.get(), run.written.get(), run.changed.get(),
+                    run.failedChunks.get(), String.format("%.1f", run.recordsPerSecond()), stopRequested);
+        }
+    }
+
+    private void processChunk(Progress run, List<Long> recordIds) {
+        try {
+            ChunkResult result = chunkTimer.recordCallable(
+                    () -> energyScoreRecomputeService.recomputeChunk(recordIds, run.model));
+            run.record(result);
+            writtenCounter.increment(result.written());
+            changedCounter.increment(result.changed());
+
+            if (run.chunks.incrementAndGet() % PROGRESS_LOG_INTERVAL_CHUNKS == 0) {
+                log.info("[점수 재계산] 진행: processed={}/{}, changed={}, recordsPerSecond={}",
+                        run.processed.get(), run.total, run.changed.get(), String.format("%.1f", run.recordsPerSecond()));
+            }
+        } catch (Exception e) {
+            // 실패한 chunk는 버전이 갱신되지 않으므로 다음 실행에서 다시 대상이 됨
+            run.failedChunks.incrementAndGet();
+            failedChunkCounter.increment();
+            log.error("[점수 재계산] chunk 처리 실패: firstId={}, size={}, error={}",
+                    recordIds.get(0), recordIds.size(), e.getMessage(), e);
+        }
+    }
+
+    private double remaining() {
+        Progress current = progress;
+        if (current == null || !current.isRunning()) {
+            return 0;
+        }
+        return Math.max(0, current.total - current.processed.get());
+    }
+
+    private static final class Progress {
+        private final EnergyScoreModel model;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong changed = new AtomicLong();
+        private final AtomicLong failedChunks = new AtomicLong();
+        private final AtomicLong chunks = new AtomicLong();
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        private Progress(EnergyScoreModel model, long total) {
+            this.model = model;
+            this.total = total;
+        }
+
+        boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        void record(ChunkResult result) {
+            processed.addAndGet(result.processed());
+            written.addAndGet(result.written());
+            changed.addAndGet(result.changed());
+        }
+
+        void finish() {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+        }
+
+        double recordsPerSecond() {
+            long endNanos = isRunning() ? System.nanoTime() : finishedNanos;
+            double seconds = Duration.ofNanos(endNanos - startedNanos).toMillis() / 1000.0;
+            return seconds > 0 ? processed.get() / seconds : 0;
+        }
+
+        EnergyScoreRecomputeStatusDto toDto() {
+            return EnergyScoreRecomputeStatusDto.builder()
+                    .running(isRunning())
+                    .targetVersion(model.getVersion())
+                    .total(total)
+                    .processed(processed.get())
+                    .written(written.get())
+                    .changed(changed.get())
+                    .failedChunks(failedChunks.get())
+                    .recordsPerSecond(Math.round(recordsPerSecond() * 10) / 10.0)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
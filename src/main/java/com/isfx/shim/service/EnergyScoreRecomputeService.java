@@ -0,0 +1,67 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.DailyRecord;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.repository.DailyRecordRepository;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 저장된 기록의 에너지 점수를 지정한 모델 버전으로 다시 계산 (chunk 단위, EnergyScoreRecomputeJob에서 호출)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EnergyScoreRecomputeService {
+
+    // 재계산 중 사용자가 기록을 수정했다면 이미 현재 버전으로 계산되었으므로 덮어쓰지 않음
+    // (수정 시각은 사용자 수정만 반영하도록 그대로 둠)
+    private static final String UPDATE_SCORE_SQL = "UPDATE daily_records "
+            + "SET energy_score = ?, energy_level = ?, score_version = ? "
+            + "WHERE record_id = ? AND (score_version IS NULL OR score_version <> ?)";
+
+    private final DailyRecordRepository dailyRecordRepository;
+    private final EnergyScoreCalculator energyScoreCalculator;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public ChunkResult recomputeChunk(List<Long> recordIds, EnergyScoreModel model) {
+        List<DailyRecord> records = dailyRecordRepository.findAllWithWeatherByIdIn(recordIds);
+
+        List<Object[]> updates = new ArrayList<>(records.size());
+        int changed = 0;
+        for (DailyRecord record : records) {
+            double energyScore = energyScoreCalculator.calculateEnergyScore(model,
+                    record.getEmotionLevel(), record.getConversationLevel(), record.getMeetingCount(),
+                    record.getTransportMode(), record.getCongestionLevel(), record.getWeatherLog());
+            EnergyLevel energyLevel = energyScoreCalculator.determineEnergyLevel(model, energyScore);
+
+            if (energyScore != record.getEnergyScore() || energyLevel != record.getEnergyLevel()) {
+                changed++;
+            }
+            updates.add(new Object[]{energyScore, energyLevel.name(), model.getVersion(),
+                    record.getId(), model.getVersion()});
+        }
+
+        // JDBC 배치로 한 번에 전송 (변경 감지 대신 조건부 UPDATE)
+        int written = 0;
+        for (int count : jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, updates)) {
+            if (count != 0) {
+                written++;
+            }
+        }
+        return new ChunkResult(records.size(), written, changed);
+    }
+
+    /**
+     * @param processed 조회한 기록 수
+     * @param written 버전을 갱신한 기록 수 (그 사이 사용자가 수정한 기록은 제외)
+     * @param changed 점수 또는 레벨이 달라진 기록 수
+     */
+    public record ChunkResult(int processed, int written, int changed) {
+    }
+}
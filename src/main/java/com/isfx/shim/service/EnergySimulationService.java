@@ -0,0 +1,114 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.EnergySimulationRequest;
+import com.isfx.shim.dto.EnergySimulationResponseDto;
+import com.isfx.shim.dto.RecordScoringInputDto;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.repository.DailyRecordRepository;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 에너지 점수 what-if 시뮬레이션
+ * "걸어서 갔다면 점수가 어땠을까?" 같은 질문에 대해, 사용자의 전체 기록을 입력값만 바꿔 다시 계산한 차이를 반환합니다.
+ * 기록은 한 번의 쿼리로 필요한 값만 읽고, 시나리오별 계산은 BulkEnergyScorer가 메모리에서 처리합니다. (저장하지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EnergySimulationService {
+
+    // 시나리오별로 돌려주는 기록 단위 차이 상한 (평균/레벨 변화 수는 전체 기록 기준)
+    static final int MAX_RECORD_DELTAS = 100;
+
+    private final DailyRecordRepository dailyRecordRepository;
+    private final EnergyScoreCalculator energyScoreCalculator;
+
+    public EnergySimulationResponseDto simulate(Long userId, EnergySimulationRequest request) {
+        EnergyScoreModel model = EnergyScoreModel.CURRENT;
+        List<RecordScoringInputDto> inputs = dailyRecordRepository.findScoringInputsByUserId(userId);
+
+        BulkEnergyScorer.Batch batch = new BulkEnergyScorer.Batch(model, inputs.size());
+        for (RecordScoringInputDto input : inputs) {
+            double weatherScore = input.weatherLogId() != null
+                    ? energyScoreCalculator.calculateWeatherScore(model, input.temperature(), input.condition(),
+                            input.pm10(), input.pm25())
+                    : energyScoreCalculator.calculateWeatherScore(model, null);
+            batch.add(input.emotionLevel(), input.conversationLevel(), input.meetingCount(),
+                    input.transportMode(), input.congestionLevel(), weatherScore);
+        }
+
+        // 저장된 점수는 이전 모델 버전일 수 있으므로, 차이는 현재 모델로 다시 계산한 실제 입력값 기준
+        double[] baseline = new double[batch.size()];
+        BulkEnergyScorer.score(batch, null, null, null, baseline);
+
+        boolean includeRecords = Boolean.TRUE.equals(request.getIncludeRecords());
+        double[] simulated = new double[batch.size()];
+        List<EnergySimulationResponseDto.ScenarioResult> results = new ArrayList<>();
+        for (EnergySimulationRequest.Scenario scenario : request.getScenarios()) {
+            TransportMode transportMode = scenario.getTransportMode() != null
+                    ? energyScoreCalculator.convertTransportMode(scenario.getTransportMode()) : null;
+            BulkEnergyScorer.score(batch, transportMode, scenario.getCongestionLevel(),
+                    scenario.getMeetingCount(), simulated);
+            results.add(toScenarioResult(model, scenario, transportMode, inputs, baseline, simulated, includeRecords));
+        }
+
+        return EnergySimulationResponseDto.builder()
+                .recordCount(inputs.size())
+                .baselineAverageScore(round(average(baseline)))
+                .scenarios(results)
+                .build();
+    }
+
+    private EnergySimulationResponseDto.ScenarioResult toScenarioResult(EnergyScoreModel model,
+                                                                        EnergySimulationRequest.Scenario scenario,
+                                                                        TransportMode transportMode,
+                                                                        List<RecordScoringInputDto> inputs,
+                                                                        double[] baseline, double[] simulated,
+                                                                        boolean includeRecords) {
+        List<EnergySimulationResponseDto.RecordDelta> records = null;
+        if (includeRecords) {
+            // 기록은 날짜 순이므로 뒤에서부터 최근 MAX_RECORD_DELTAS건
+            int from = Math.max(0, inputs.size() - MAX_RECORD_DELTAS);
+            records = new ArrayList<>(inputs.size() - from);
+            for (int i = from; i < inputs.size(); i++) {
+                records.add(EnergySimulationResponseDto.RecordDelta.builder()
+                        .recordId(inputs.get(i).recordId())
+                        .recordDate(inputs.get(i).recordDate())
+                        .baselineScore(baseline[i])
+                        .simulatedScore(simulated[i])
+                        .delta(round(simulated[i] - baseline[i]))
+                        .build());
+            }
+        }
+
+        double averageScore = average(simulated);
+        return EnergySimulationResponseDto.ScenarioResult.builder()
+                .transportMode(transportMode != null ? transportMode.name() : null)
+                .congestionLevel(scenario.getCongestionLevel())
+                .meetingCount(scenario.getMeetingCount())
+                .averageScore(round(averageScore))
+                .averageDelta(round(averageScore - average(baseline)))
+                .levelChangedCount(BulkEnergyScorer.countLevelChanges(model, baseline, simulated, inputs.size()))
+                .records(records)
+                .build();
+    }
+
+    private double average(double[] scores) {
+        if (scores.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (double score : scores) {
+            sum += score;
+        }
+        return sum / scores.length;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.isfx.shim.service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 외부 모델 없이 동작하는 로컬 임베딩 (문자 1~3-gram 해싱)
+ * 운영 환경에서도 사용하는 기본 구현이며, 짧은 한국어 일기("피곤했다", "시험 공부")의 표면적 유사도만 잡습니다.
+ * 의미가 비슷해도 표현이 다르면 유사도가 낮으므로 캐시 적중은 보수적으로 일어납니다.
+ */
+@Component
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    private static final int MAX_GRAM = 3;
+    // 문장부호/공백 차이는 무시 (문자, 숫자만 사용)
+    private static final Pattern PUNCTUATION = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int dimensions;
+
+    public HashingEmbeddingProvider(@Value("${ai.prescription.semantic-cache.dimensions:256}") int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = text == null ? "" : PUNCTUATION.matcher(text.toLowerCase(Locale.KOREAN)).replaceAll(" ").trim();
+        // 빈 일기끼리는 같은 벡터가 되도록 고정 토큰 사용
+        if (normalized.isEmpty()) {
+            normalized = "\u0000";
+        }
+
+        for (int gram = 1; gram <= MAX_GRAM; gram++) {
+            for (int i = 0; i + gram <= normalized.length(); i++) {
+                int hash = mix(normalized, i, gram);
+                int index = Math.floorMod(hash, dimensions);
+                // 부호 해싱으로 충돌 시 상쇄되도록 함
+                vector[index] += ((hash >>> 31) == 0 ? 1f : -1f) * gram;
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    private int mix(String text, int offset, int length) {
+        int hash = 0x9747b28c + length;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x5bd1e995;
+            hash ^= hash >>> 15;
+        }
+        return hash;
+    }
+
+    private void normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverse;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.isfx.shim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료된 멱등성 키 정리
+ * 만료된 키는 조회 시에도 무시되므로, 이 작업은 테이블 크기만 관리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPurgeJob {
+
+    private final IdempotencyService idempotencyService;
+
+    @Value("${idempotency.purge.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Scheduled(cron = "${idempotency.purge.cron:0 15 * * * *}")
+    public void purgeExpiredKeys() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyService.purgeExpired(deleteBatchSize);
+            total += deleted;
+        } while (deleted == deleteBatchSize);
+
+        if (total > 0) {
+            log.info("[멱등성] 만료된 키 정리 완료: deletedRows={}", total);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.IdempotencyKey;
+import com.isfx.shim.entity.enums.IdempotencyStatus;
+import com.isfx.shim.global.exception.CustomException;
+import com.isfx.shim.global.exception.ErrorCode;
+import com.isfx.shim.repository.IdempotencyKeyRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 멱등성 키(idempotency_keys)의 선점/응답 저장/해제
+ * 각 메서드는 짧은 트랜잭션으로 끝나며, 실제 요청 처리는 IdempotentExecutor가 이 트랜잭션 밖에서 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // 이 시간보다 오래 IN_PROGRESS인 키는 서버 종료 등으로 중단된 것으로 보고 회수
+    @Value("${idempotency.in-progress-timeout-seconds:60}")
+    private long inProgressTimeoutSeconds;
+
+    /**
+     * 키 선점
+     * - 처음 보는 키: 선점 후 keyId 반환 (요청 처리 진행)
+     * - 응답이 저장된 키: 저장된 응답 반환 (재처리하지 않음)
+     * - 같은 키로 처리 중인 요청이 있으면 409, 다른 요청에 재사용된 키면 422
+     */
+    @Transactional
+    public Reservation reserve(Long userId, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.deleteReclaimable(userId, key, now,
+                now.minus(Duration.ofSeconds(inProgressTimeoutSeconds)));
+
+        boolean acquired = idempotencyKeyRepository.insertIgnoringDuplicate(
+                userId, key, requestHash, now, now.plusHours(ttlHours)) == 1;
+
+        IdempotencyKey stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key)
+                .orElseThrow(() -> new CustomException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS));
+        if (acquired) {
+            return new Reservation(stored.getId(), null);
+        }
+
+        if (!stored.getRequestHash().equals(requestHash)) {
+            log.warn("[멱등성] 다른 요청에 재사용된 키: userId={}, key={}", userId, key);
+            throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (stored.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+            log.info("[멱등성] 같은 키의 요청이 처리 중: userId={}, key={}", userId, key);
+            throw new CustomException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+        log.info("[멱등성] 저장된 응답 재사용: userId={}, key={}", userId, key);
+        return new Reservation(stored.getId(), stored.getResponseBody());
+    }
+
+    /**
+     * 처리 완료: 응답 저장 (TTL 동안 같은 키의 재요청에 그대로 반환)
+     */
+    @Transactional
+    public void complete(Long keyId, String responseBody) {
+        if (idempotencyKeyRepository.markCompleted(keyId, responseBody) == 0) {
+            log.warn("[멱등성] 처리 시간이 길어 키가 회수됨, 응답 저장 생략: keyId={}", keyId);
+        }
+    }
+
+    /**
+     * 처리 실패: 키를 해제하여 같은 키로 다시 시도할 수 있게 함
+     */
+    @Transactional
+    public void release(Long keyId) {
+        idempotencyKeyRepository.deleteInProgress(keyId);
+    }
+
+    @Transactional
+    public int purgeExpired(int batchSize) {
+        return idempotencyKeyRepository.deleteExpired(LocalDateTime.now(), batchSize);
+    }
+
+    public record Reservation(Long keyId, String storedResponse) {
+        public boolean isReplay() {
+            return storedResponse != null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.isfx.shim.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isfx.shim.global.exception.CustomException;
+import com.isfx.shim.global.exception.ErrorCode;
+import com.isfx.shim.service.IdempotencyService.Reservation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청을 한 번만 처리
+ * 키 선점 → 요청 처리(호출자의 트랜잭션) → 응답 저장 순서로, 각 단계가 별도 트랜잭션에서 커밋됩니다.
+ * 헤더가 없으면 기존처럼 바로 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotentExecutor {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param scope 요청 구분 (예: "POST /api/records"), 같은 키를 다른 API에 재사용하는 것을 막기 위해 해시에 포함
+     * @param request 요청 본문 (같은 키로 다른 내용을 보냈는지 확인)
+     * @param responseType 저장된 응답을 복원할 타입
+     */
+    public <T> T execute(Long userId, String key, String scope, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        Reservation reservation = idempotencyService.reserve(userId, key, requestHash(scope, request));
+        if (reservation.isReplay()) {
+            return readResponse(reservation.storedResponse(), responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // 실패한 요청은 저장하지 않음 → 클라이언트가 같은 키로 다시 시도 가능
+            idempotencyService.release(reservation.keyId());
+            throw e;
+        }
+
+        try {
+            idempotencyService.complete(reservation.keyId(), objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            // 요청은 이미 커밋됨: 응답은 그대로 반환하고, 키는 바로 해제하여 재시도가 409로 막히지 않게 함
+            log.error("[멱등성] 응답 저장 실패, 키 해제: userId={}, key={}, error={}", userId, key, e.getMessage(), e);
+            releaseQuietly(reservation.keyId());
+        }
+        return response;
+    }
+
+    // 해제도 실패하면 처리 중 제한 시간이 지난 뒤 reserve()에서 회수됨
+    private void releaseQuietly(Long keyId) {
+        try {
+            idempotencyService.release(keyId);
+        } catch (Exception e) {
+            log.error("[멱등성] 키 해제 실패: keyId={}, error={}", keyId, e.getMessage());
+        }
+    }
+
+    private String requestHash(String scope, Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 해시 계산 실패", e);
+        }
+    }
+
+    private <T> T readResponse(String storedResponse, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(storedResponse, responseType);
+        } catch (JsonProcessingException e) {
+            log.error("[멱등성] 저장된 응답 복원 실패: type={}, error={}", responseType.getSimpleName(), e.getMessage());
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
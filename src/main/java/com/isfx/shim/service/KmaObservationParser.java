@@ -0,0 +1,145 @@
+package com.isfx.shim.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 기상청 초단기실황 응답 스트리밍 파서
+ *
+ * JsonNode 트리를 만들지 않고 토큰을 순서대로 읽으며 필요한 값(resultCode, totalCount,
+ * T1H/SKY/PTY)만 primitive로 추출합니다. item이 배열이든 단일 객체든 같은 방식으로 처리됩니다.
+ */
+final class KmaObservationParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final int CATEGORY_NONE = 0;
+    private static final int CATEGORY_T1H = 1;
+    private static final int CATEGORY_SKY = 2;
+    private static final int CATEGORY_PTY = 3;
+    private static final int CATEGORY_OTHER = 4;
+
+    private KmaObservationParser() {
+    }
+
+    static KmaObservation parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    static KmaObservation parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private static KmaObservation parse(JsonParser parser) throws IOException {
+        boolean hasResponse = false;
+        boolean hasBody = false;
+        boolean hasItems = false;
+        boolean hasItem = false;
+        String resultCode = "";
+        String resultMsg = "";
+        int totalCount = 0;
+
+        double temperature = Double.NaN;
+        int sky = 1;
+        int pty = 0;
+
+        // 현재 item의 category / obsrValue (필드 순서와 무관하게 객체가 끝날 때 반영)
+        int itemCategory = CATEGORY_NONE;
+        double itemValue = Double.NaN;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.END_OBJECT) {
+                if (itemCategory != CATEGORY_NONE && !Double.isNaN(itemValue)) {
+                    switch (itemCategory) {
+                        case CATEGORY_T1H -> temperature = itemValue;
+                        case CATEGORY_SKY -> sky = (int) itemValue;
+                        case CATEGORY_PTY -> pty = (int) itemValue;
+                        default -> {
+                            // ignore others
+                        }
+                    }
+                }
+                itemCategory = CATEGORY_NONE;
+                itemValue = Double.NaN;
+                continue;
+            }
+            if (token != JsonToken.FIELD_NAME) {
+                continue;
+            }
+
+            switch (parser.currentName()) {
+                case "response" -> hasResponse = true;
+                case "body" -> hasBody = true;
+                case "items" -> hasItems = true;
+                case "item" -> hasItem = true;
+                case "resultCode" -> {
+                    parser.nextToken();
+                    resultCode = parser.getValueAsString("");
+                }
+                case "resultMsg" -> {
+                    parser.nextToken();
+                    resultMsg = parser.getValueAsString("");
+                }
+                case "totalCount" -> {
+                    parser.nextToken();
+                    totalCount = parser.getValueAsInt(0);
+                }
+                case "category" -> {
+                    parser.nextToken();
+                    itemCategory = categoryOf(parser);
+                }
+                case "obsrValue" -> {
+                    parser.nextToken();
+                    itemValue = parser.getValueAsDouble(Double.NaN);
+                }
+                default -> {
+                    // 나머지 필드는 값 토큰을 그대로 지나침
+                }
+            }
+        }
+
+        return new KmaObservation(hasResponse, hasBody, hasItems, hasItem,
+                resultCode, resultMsg, totalCount, temperature, sky, pty);
+    }
+
+    /**
+     * category 문자열을 할당 없이 비교
+     */
+    private static int categoryOf(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING || parser.getTextLength() != 3) {
+            return CATEGORY_OTHER;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        char first = chars[offset];
+        char second = chars[offset + 1];
+        char third = chars[offset + 2];
+        if (first == 'T' && second == '1' && third == 'H') {
+            return CATEGORY_T1H;
+        }
+        if (first == 'S' && second == 'K' && third == 'Y') {
+            return CATEGORY_SKY;
+        }
+        if (first == 'P' && second == 'T' && third == 'Y') {
+            return CATEGORY_PTY;
+        }
+        return CATEGORY_OTHER;
+    }
+
+    /**
+     * 파싱 결과 (구조 검증용 플래그 + 추출한 값)
+     */
+    record KmaObservation(boolean hasResponse, boolean hasBody, boolean hasItems, boolean hasItem,
+                          String resultCode, String resultMsg, int totalCount,
+                          double temperature, int sky, int pty) {
+    }
+}
@@ -1,14 +1,19 @@
 package com.isfx.shim.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.isfx.shim.dto.KmaWeatherResponseDto;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import com.isfx.shim.global.util.CircuitBreaker;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -19,17 +24,82 @@ public class KmaWeatherClient {
 
     private final RestTemplate restTemplate;
     private final String apiKey;
+    private final CircuitBreaker circuitBreaker;
 
-    public KmaWeatherClient(RestTemplateBuilder restTemplateBuilder,
-                            @Value("${api.kma.key}") String apiKey) {
-        this.restTemplate = restTemplateBuilder.build();
+    // (격자, 발표 기준 시각) → 관측값. 같은 발표 시각의 관측값은 변하지 않으므로 그대로 재사용
+    // 호출 중인 요청도 Future로 등록하여, 같은 격자의 동시 요청은 하나의 API 호출 결과를 공유
+    private final Map<ObservationKey, CompletableFuture<KmaWeatherResponseDto>> observations = new ConcurrentHashMap<>();
+
+    public KmaWeatherClient(@Qualifier("kmaRestTemplate") RestTemplate restTemplate,
+                            @Value("${api.kma.key}") String apiKey,
+                            @Value("${api.kma.circuit.failure-threshold:3}") int failureThreshold,
+                            @Value("${api.kma.circuit.open-seconds:60}") long openSeconds) {
+        this.restTemplate = restTemplate;
         this.apiKey = apiKey;
+        this.circuitBreaker = new CircuitBreaker("kma", failureThreshold, Duration.ofSeconds(openSeconds));
     }
 
     public KmaWeatherResponseDto getWeather(int nx, int ny) {
-        String baseDate = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
         // 기상청 초단기실황은 매 정시에 발표되므로, 현재 시간에 가장 가까운 정시 데이터 요청
-        String baseTime = calculateBaseTime();
+        return getWeather(nx, ny, currentBaseDateTime());
+    }
+
+    /**
+     * 지정한 발표 기준 시각의 초단기실황 조회 (캐시에 있으면 외부 호출 없음)
+     * 같은 (nx, ny, base_date, base_time)에 대한 동시 요청은 먼저 들어온 요청의 API 호출 결과를 기다려 공유합니다.
+     */
+    public KmaWeatherResponseDto getWeather(int nx, int ny, LocalDateTime baseDateTime) {
+        ObservationKey key = new ObservationKey(nx, ny, baseDateTime);
+        CompletableFuture<KmaWeatherResponseDto> observation = observations.get(key);
+
+        if (observation == null) {
+            CompletableFuture<KmaWeatherResponseDto> created = new CompletableFuture<>();
+            observation = observations.putIfAbsent(key, created);
+            if (observation == null) {
+                // 이 요청이 대표로 외부 API 호출
+                evictPastObservations();
+                try {
+                    // 서킷이 열려 있으면 호출 없이 즉시 실패
+                    KmaWeatherResponseDto weather = circuitBreaker.call(() -> requestWeather(nx, ny, baseDateTime));
+                    created.complete(weather);
+                    return weather;
+                } catch (RuntimeException | Error e) {
+                    // 실패 결과는 캐시하지 않음 → 기다리던 요청에는 같은 예외 전달, 다음 요청은 재시도
+                    // (Error도 전달해야 기다리던 요청이 join()에서 영원히 멈추지 않음)
+                    observations.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        if (!observation.isDone()) {
+            log.debug("[날씨 API] 진행 중인 초단기실황 호출 결과 대기: nx={}, ny={}, baseDateTime={}", nx, ny, baseDateTime);
+        }
+        try {
+            return observation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 발표 시각보다 이전 항목은 더 이상 조회되지 않으므로 정리
+     */
+    private void evictPastObservations() {
+        LocalDateTime currentBase = currentBaseDateTime();
+        observations.keySet().removeIf(k -> k.baseDateTime().isBefore(currentBase));
+    }
+
+    private KmaWeatherResponseDto requestWeather(int nx, int ny, LocalDateTime baseDateTime) {
+        String baseDate = baseDateTime.format(DateTimeFormatter.BASIC_ISO_DATE);
+        String baseTime = calculateBaseTime(baseDateTime);
 
         String url = UriComponentsBuilder
                 .fromUriString("https://apis.data.go.kr/1360000/VilageFcstInfoService_2.0/getUltraSrtNcst")
@@ -45,91 +115,59 @@ public class KmaWeatherClient {
                 .toString();
 
         try {
-            ResponseEntity<JsonNode> response = restTemplate.getForEntity(url, JsonNode.class);
-            JsonNode responseBody = response.getBody();
-            
-            if (responseBody == null) {
+            // numOfRows가 커도 필요한 카테고리만 스트리밍으로 추출 (JsonNode 트리 생성 없음)
+            KmaObservationParser.KmaObservation observation = restTemplate.execute(url, HttpMethod.GET, null,
+                    response -> KmaObservationParser.parse(response.getBody()));
+
+            if (observation == null) {
                 log.error("[날씨 API] 기상청 초단기실황 API 응답 본문이 null: nx={}, ny={}, baseDate={}, baseTime={}", nx, ny, baseDate, baseTime);
                 throw new RuntimeException("KMA API response body is null");
             }
 
             // API 응답 구조 검증
-            JsonNode responseNode = responseBody.path("response");
-            if (responseNode.isMissingNode()) {
-                log.error("[날씨 API] 기상청 초단기실황 API 응답 구조 오류 (response 노드 없음): nx={}, ny={}, responseBody={}", nx, ny, responseBody.toString());
+            if (!observation.hasResponse()) {
+                log.error("[날씨 API] 기상청 초단기실황 API 응답 구조 오류 (response 노드 없음): nx={}, ny={}", nx, ny);
                 throw new RuntimeException("Invalid KMA API response structure: missing 'response' node");
             }
 
             // resultCode 확인
-            String resultCode = responseNode.path("header").path("resultCode").asText("");
-            String resultMsg = responseNode.path("header").path("resultMsg").asText("");
-            
+            String resultCode = observation.resultCode();
+            String resultMsg = observation.resultMsg();
+
             if (!"00".equals(resultCode)) {
                 log.error("[날씨 API] 기상청 초단기실황 API 오류 응답: nx={}, ny={}, resultCode={}, resultMsg={}", nx, ny, resultCode, resultMsg);
                 throw new RuntimeException(String.format("KMA API error: resultCode=%s, resultMsg=%s", resultCode, resultMsg));
             }
 
-            JsonNode bodyNode = responseNode.path("body");
-            if (bodyNode.isMissingNode()) {
+            if (!observation.hasBody()) {
                 log.error("[날씨 API] 기상청 초단기실황 API 응답 구조 오류 (body 노드 없음): nx={}, ny={}", nx, ny);
                 throw new RuntimeException("Invalid KMA API response structure: missing 'body' node");
             }
 
             // totalCount 확인
-            int totalCount = bodyNode.path("totalCount").asInt(0);
+            int totalCount = observation.totalCount();
             if (totalCount == 0) {
                 log.warn("[날씨 API] 기상청 초단기실황 API 데이터 없음: nx={}, ny={}, baseDate={}, baseTime={}, totalCount=0", nx, ny, baseDate, baseTime);
                 throw new RuntimeException("No weather data available from KMA API");
             }
 
-            JsonNode itemsNode = bodyNode.path("items");
-            if (itemsNode.isMissingNode()) {
+            if (!observation.hasItems()) {
                 log.error("[날씨 API] 기상청 초단기실황 API 응답 구조 오류 (items 노드 없음): nx={}, ny={}", nx, ny);
                 throw new RuntimeException("Invalid KMA API response structure: missing 'items' node");
             }
 
-            JsonNode itemNode = itemsNode.path("item");
-            if (itemNode.isMissingNode()) {
+            if (!observation.hasItem()) {
                 log.error("[날씨 API] 기상청 초단기실황 API 응답 구조 오류 (item 노드 없음): nx={}, ny={}", nx, ny);
                 throw new RuntimeException("Invalid KMA API response structure: missing 'item' node");
             }
 
-            // item이 배열인지 단일 객체인지 확인
-            JsonNode items = itemNode.isArray() ? itemNode : itemNode;
-            
-            double temperature = Double.NaN;
-            int sky = 1;
-            int pty = 0;
-
-            if (items.isArray()) {
-                // 배열인 경우
-                for (JsonNode item : items) {
-                    String category = item.path("category").asText("");
-                    switch (category) {
-                        case "T1H" -> temperature = item.path("obsrValue").asDouble(Double.NaN);
-                        case "SKY" -> sky = item.path("obsrValue").asInt(1);
-                        case "PTY" -> pty = item.path("obsrValue").asInt(0);
-                        default -> {
-                            // ignore others
-                        }
-                    }
-                }
-            } else {
-                // 단일 객체인 경우
-                String category = items.path("category").asText("");
-                switch (category) {
-                    case "T1H" -> temperature = items.path("obsrValue").asDouble(Double.NaN);
-                    case "SKY" -> sky = items.path("obsrValue").asInt(1);
-                    case "PTY" -> pty = items.path("obsrValue").asInt(0);
-                    default -> {
-                        // ignore others
-                    }
-                }
-            }
+            double temperature = observation.temperature();
+            int sky = observation.sky();
+            int pty = observation.pty();
 
             if (Double.isNaN(temperature)) {
-                log.warn("[날씨 API] 기상청 초단기실황 API 응답에 온도 데이터(T1H) 없음: nx={}, ny={}, baseDate={}, baseTime={}, totalCount={}, items={}", 
-                        nx, ny, baseDate, baseTime, totalCount, items.toString());
+                log.warn("[날씨 API] 기상청 초단기실황 API 응답에 온도 데이터(T1H) 없음: nx={}, ny={}, baseDate={}, baseTime={}, totalCount={}",
+                        nx, ny, baseDate, baseTime, totalCount);
                 throw new RuntimeException("Temperature data (T1H) missing in KMA response");
             }
 
@@ -143,16 +181,28 @@ public class KmaWeatherClient {
     }
 
     /**
-     * 현재 시간에 가장 가까운 정시를 계산
+     * 현재 요청에 사용할 발표 기준 시각 (1시간 전 정시)
+     * 0시인 경우 전날 23시가 되므로 base_date도 함께 넘어갑니다.
      */
-    private String calculateBaseTime() {
-        LocalTime now = LocalTime.now();
-        int currentHour = now.getHour();
-        
-        // 1시간 전 정시 데이터 요청 (0시인 경우 23시로)
-        int baseHour = (currentHour - 1 + 24) % 24;
-        
-        return String.format("%02d00", baseHour);
+    public static LocalDateTime currentBaseDateTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
     }
 
+    /**
+     * 다음 정시부터 사용할 발표 기준 시각 (현재 시각의 정시)
+     * 초단기실황은 매시 40분경 공개되므로, 그 이후에는 미리 받아둘 수 있습니다.
+     */
+    public static LocalDateTime nextBaseDateTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /**
+     * 발표 기준 시각을 base_time 형식(HH00)으로 변환
+     */
+    private String calculateBaseTime(LocalDateTime baseDateTime) {
+        return String.format("%02d00", baseDateTime.getHour());
+    }
+
+    private record ObservationKey(int nx, int ny, LocalDateTime baseDateTime) {
+    }
 }
@@ -0,0 +1,351 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.global.util.LatencyWindow;
+import com.isfx.shim.global.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upstage Chat API 호출 관문 (동시 호출 수 제한 + 대기열 + 속도 제한 + 부하 차단)
+ *
+ * 1. 대기 중인 요청이 max-queued를 넘으면 즉시 차단
+ * 2. 최근 평균 응답 시간으로 예상 대기 시간을 계산해 대기 기한(queue-deadline)을 넘길 것 같으면 즉시 차단
+ *    (스트리밍은 전체 응답을 받을 때까지 슬롯을 점유하므로 일반/스트리밍 평균을 따로 두고, 처리 중인 호출 비율로 섞어 사용)
+ * 3. 대기 기한 안에 동시 호출 슬롯(max-in-flight)을 얻지 못하면 차단
+ * 4. 남은 기한 안에 속도 제한 토큰(요청 할당량)을 얻지 못하면 차단
+ * 차단된 요청은 LoadShedException으로 끝나며, 호출자는 외부 호출 없이 기본 문구를 사용합니다.
+ * (할당량 초과 후 느리게 실패하는 대신 일정한 지연 시간을 유지)
+ *
+ * 비스트리밍 호출은 헤징: 첫 요청이 최근 비스트리밍 응답 시간의 hedge.percentile 안에 끝나지 않으면
+ * 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 사용합니다. (JSON 변환 실패도 실패로 보고 다른 쪽을 기다림)
+ * 헤지 요청은 일반 요청 수의 hedge.max-ratio 이내로 제한하고, 동시 호출 슬롯이 남아 있을 때만 보냅니다.
+ * 전체 요청은 request-deadline-ms 안에 끝나지 않으면 포기합니다. (스트리밍은 이미 전달한 조각이 섞이므로 헤징하지 않음)
+ * - 메트릭: ai.llm.gateway.requests (outcome=admitted/queue_full/predicted_timeout/queue_timeout/rate_limited/deadline_exceeded),
+ *          ai.llm.gateway.in_flight, ai.llm.gateway.queued, ai.llm.gateway.hedges (result=won/lost)
+ */
+@Slf4j
+@Component
+public class LlmGateway {
+
+    // 평균 응답 시간 지수 이동 평균 가중치
+    private static final double LATENCY_EWMA_ALPHA = 0.2;
+    // 헤지 지연 계산에 쓰는 최근 응답 시간 표본 수 / 최소 표본 수
+    private static final int LATENCY_WINDOW_SIZE = 256;
+    private static final int LATENCY_MIN_SAMPLES = 20;
+    // 헤지 예산 단위 (요청 1건당 max-ratio × 1000 적립, 헤지 1건당 1000 사용), 최대 적립 헤지 수
+    private static final long HEDGE_COST = 1000;
+    private static final long MAX_HEDGE_CREDITS = 10;
+
+    private final UpstageChatClient upstageChatClient;
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final Duration queueDeadline;
+    private final Duration requestDeadline;
+    private final boolean hedgeEnabled;
+    private final double hedgePercentile;
+    private final long hedgeDeposit;
+
+    private final Semaphore inFlight;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<CallKind, CallStats> callStats = new EnumMap<>(CallKind.class);
+    private final TokenBucket rateLimiter;
+    private final LatencyWindow latencyWindow = new LatencyWindow(LATENCY_WINDOW_SIZE, LATENCY_MIN_SAMPLES);
+    private final AtomicLong hedgeBudget = new AtomicLong();
+    private final Map<ShedReason, Counter> shedCounters = new EnumMap<>(ShedReason.class);
+    private final Counter admittedCounter;
+    private final Counter hedgeWonCounter;
+    private final Counter hedgeLostCounter;
+
+    // 헤징을 위해 호출을 비동기로 실행하는 가상 스레드 실행기 (블로킹 I/O 전용)
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LlmGateway(UpstageChatClient upstageChatClient,
+                      MeterRegistry meterRegistry,
+                      @Value("${ai.llm.gateway.max-in-flight:8}") int maxInFlight,
+                      @Value("${ai.llm.gateway.max-queued:32}") int maxQueued,
+                      @Value("${ai.llm.gateway.queue-deadline-ms:2000}") long queueDeadlineMs,
+                      @Value("${ai.llm.rate-limit.requests-per-minute:100}") int requestsPerMinute,
+                      @Value("${ai.llm.rate-limit.burst:10}") int burst,
+                      @Value("${ai.llm.request-deadline-ms:20000}") long requestDeadlineMs,
+                      @Value("${ai.llm.hedge.enabled:true}") boolean hedgeEnabled,
+                      @Value("${ai.llm.hedge.percentile:0.95}") double hedgePercentile,
+                      @Value("${ai.llm.hedge.max-ratio:0.1}") double hedgeMaxRatio) {
+        this.upstageChatClient = upstageChatClient;
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.queueDeadline = Duration.ofMillis(queueDeadlineMs);
+        this.requestDeadline = Duration.ofMillis(requestDeadlineMs);
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeDeposit = Math.round(hedgeMaxRatio * HEDGE_COST);
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.rateLimiter = new TokenBucket(burst, requestsPerMinute / 60.0);
+        for (CallKind kind : CallKind.values()) {
+            callStats.put(kind, new CallStats());
+        }
+
+        this.admittedCounter = Counter.builder("ai.llm.gateway.requests").tag("outcome", "admitted").register(meterRegistry);
+        for (ShedReason reason : ShedReason.values()) {
+            shedCounters.put(reason, Counter.builder("ai.llm.gateway.requests")
+                    .tag("outcome", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("ai.llm.gateway.in_flight", inFlight, semaphore -> maxInFlight - semaphore.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.gateway.queued", queued, AtomicInteger::get).register(meterRegistry);
+        this.hedgeWonCounter = Counter.builder("ai.llm.gateway.hedges").tag("result", "won").register(meterRegistry);
+        this.hedgeLostCounter = Counter.builder("ai.llm.gateway.hedges").tag("result", "lost").register(meterRegistry);
+    }
+
+    /**
+     * JSON 응답 모드로 호출하여 responseType으로 변환 (느린 응답은 헤징)
+     */
+    public <T> T generateJsonResponse(String systemPrompt, String userPrompt, Class<T> responseType) {
+        return hedged(() -> execute(CallKind.BLOCKING,
+                () -> upstageChatClient.generateJsonResponse(systemPrompt, userPrompt, responseType)));
+    }
+
+    /**
+     * JSON 응답 모드로 스트리밍 호출 (조각은 onDelta로 전달, 완료 후 responseType으로 변환)
+     */
+    public <T> T streamJsonResponse(String systemPrompt, String userPrompt, Consumer<String> onDelta,
+                                    Class<T> responseType) {
+        return execute(CallKind.STREAMING,
+                () -> upstageChatClient.streamJsonResponse(systemPrompt, userPrompt, onDelta, responseType));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    private <T> T hedged(Supplier<T> call) {
+        long deadlineNanos = System.nanoTime() + requestDeadline.toNanos();
+        depositHedgeBudget();
+
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(call, callExecutor);
+        long hedgeDelayNanos = hedgeEnabled ? latencyWindow.percentile(hedgePercentile) : -1;
+        if (hedgeDelayNanos < 0 || hedgeDelayNanos >= remaining(deadlineNanos)) {
+            return await(primary, deadlineNanos);
+        }
+
+        try {
+            return unwrap(() -> primary.get(hedgeDelayNanos, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // 첫 요청이 느림 → 아래에서 헤지 여부 결정
+        }
+
+        if (inFlight.availablePermits() == 0 || !withdrawHedgeBudget()) {
+            return await(primary, deadlineNanos);
+        }
+        log.info("[LLM 게이트웨이] 응답 지연으로 헤지 요청: hedgeDelayMs={}", TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos));
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(call, callExecutor);
+        return await(firstSuccessful(primary, hedge), deadlineNanos);
+    }
+
+    /**
+     * 두 호출 중 먼저 성공한 결과 (둘 다 실패하면 나중 실패로 완료)
+     */
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    hedgeLostCounter.increment();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    hedgeWonCounter.increment();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        return winner;
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadlineNanos) {
+        try {
+            return unwrap(() -> future.get(remaining(deadlineNanos), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // 진행 중인 호출은 HTTP 읽기 타임아웃으로 정리되고, 결과는 버려짐
+            throw shed(ShedReason.DEADLINE_EXCEEDED, 0);
+        }
+    }
+
+    private <T> T unwrap(TimedCall<T> call) throws TimeoutException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw shed(ShedReason.DEADLINE_EXCEEDED, 0);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void depositHedgeBudget() {
+        hedgeBudget.updateAndGet(budget -> Math.min(MAX_HEDGE_CREDITS * HEDGE_COST, budget + hedgeDeposit));
+    }
+
+    private boolean withdrawHedgeBudget() {
+        long budget;
+        do {
+            budget = hedgeBudget.get();
+            if (budget < HEDGE_COST) {
+                return false;
+            }
+        } while (!hedgeBudget.compareAndSet(budget, budget - HEDGE_COST));
+        return true;
+    }
+
+    private <T> T execute(CallKind kind, Supplier<T> call) {
+        long deadlineNanos = System.nanoTime() + queueDeadline.toNanos();
+
+        int position = queued.incrementAndGet();
+        try {
+            if (position > maxQueued) {
+                throw shed(ShedReason.QUEUE_FULL, position);
+            }
+            // 앞선 요청들이 슬롯을 비우는 데 걸릴 예상 시간 (슬롯이 남아 있으면 0)
+            long expectedWaitNanos = (long) Math.ceil((double) (position - 1) / maxInFlight) * expectedSlotLatencyNanos();
+            if (inFlight.availablePermits() == 0 && expectedWaitNanos > queueDeadline.toNanos()) {
+                throw shed(ShedReason.PREDICTED_TIMEOUT, position);
+            }
+            if (!inFlight.tryAcquire(remaining(deadlineNanos), TimeUnit.NANOSECONDS)) {
+                throw shed(ShedReason.QUEUE_TIMEOUT, position);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw shed(ShedReason.QUEUE_TIMEOUT, position);
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        CallStats stats = callStats.get(kind);
+        try {
+            if (!rateLimiter.tryAcquire(Duration.ofNanos(remaining(deadlineNanos)))) {
+                throw shed(ShedReason.RATE_LIMITED, 0);
+            }
+            admittedCounter.increment();
+
+            stats.inFlight.incrementAndGet();
+            try {
+                long startedNanos = System.nanoTime();
+                T result = call.get();
+                recordLatency(kind, System.nanoTime() - startedNanos);
+                return result;
+            } finally {
+                stats.inFlight.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw shed(ShedReason.RATE_LIMITED, 0);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private long remaining(long deadlineNanos) {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    private void recordLatency(CallKind kind, long latencyNanos) {
+        // 헤지 지연은 비스트리밍 호출에만 쓰므로 스트리밍 응답 시간은 표본에서 제외
+        if (kind == CallKind.BLOCKING) {
+            latencyWindow.record(latencyNanos);
+        }
+        callStats.get(kind).averageLatencyNanos.updateAndGet(average -> average == 0
+                ? latencyNanos
+                : (long) (LATENCY_EWMA_ALPHA * latencyNanos + (1 - LATENCY_EWMA_ALPHA) * average));
+    }
+
+    /**
+     * 슬롯 하나가 비기까지 걸리는 평균 시간: 처리 중인 호출의 종류별 평균 응답 시간을 호출 수로 가중 평균
+     * (처리 중인 호출이 없으면 더 느린 쪽 평균)
+     */
+    private long expectedSlotLatencyNanos() {
+        long weighted = 0;
+        long calls = 0;
+        long slowest = 0;
+        for (CallStats stats : callStats.values()) {
+            long average = stats.averageLatencyNanos.get();
+            int running = stats.inFlight.get();
+            weighted += average * running;
+            calls += running;
+            slowest = Math.max(slowest, average);
+        }
+        return calls > 0 ? weighted / calls : slowest;
+    }
+
+    private LoadShedException shed(ShedReason reason, int position) {
+        shedCounters.get(reason).increment();
+        log.warn("[LLM 게이트웨이] 요청 차단: reason={}, queuePosition={}, inFlight={}, averageLatencyMs={}",
+                reason, position, maxInFlight - inFlight.availablePermits(),
+                TimeUnit.NANOSECONDS.toMillis(expectedSlotLatencyNanos()));
+        return new LoadShedException(reason);
+    }
+
+    public enum ShedReason {
+        QUEUE_FULL, PREDICTED_TIMEOUT, QUEUE_TIMEOUT, RATE_LIMITED, DEADLINE_EXCEEDED
+    }
+
+    private enum CallKind {
+        BLOCKING, STREAMING
+    }
+
+    // 호출 종류별 평균 응답 시간(지수 이동 평균)과 처리 중인 호출 수
+    private static final class CallStats {
+        private final AtomicLong averageLatencyNanos = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+
+    @FunctionalInterface
+    private interface TimedCall<T> {
+        T get() throws InterruptedException, ExecutionException, TimeoutException;
+    }
+
+    /**
+     * 게이트웨이가 호출하지 않고 차단한 경우 (호출자는 기본 문구로 대체)
+     */
+    public static class LoadShedException extends RuntimeException {
+        private final ShedReason reason;
+
+        public LoadShedException(ShedReason reason) {
+            super("LLM request shed: " + reason);
+            this.reason = reason;
+        }
+
+        public ShedReason getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.enums.AiPrescriptionCategory;
+
+/**
+ * 생성된 AI 처방 내용
+ */
+public record PrescriptionContent(
+        AiPrescriptionCategory category,
+        String journalExplain,
+        String recommendationText,
+        PrescriptionSource source) {
+
+    public PrescriptionContent withSource(PrescriptionSource source) {
+        return new PrescriptionContent(category, journalExplain, recommendationText, source);
+    }
+
+    /**
+     * 저장할 generation_version
+     * LLM 응답만 현재 버전으로 기록하고, 기본 문구는 FALLBACK_VERSION으로 남겨 PrescriptionRefreshJob이 다시 생성하도록 합니다.
+     */
+    public String generationVersion() {
+        return switch (source) {
+            case LLM, CACHE -> PrescriptionGenerator.GENERATION_VERSION;
+            case TEMPLATE -> PrescriptionGenerator.TEMPLATE_VERSION;
+            case FALLBACK -> PrescriptionGenerator.FALLBACK_VERSION;
+        };
+    }
+}
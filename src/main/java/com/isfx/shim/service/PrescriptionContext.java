@@ -0,0 +1,71 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.DailyRecord;
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * AI 처방 생성에 필요한 기록 값 (트랜잭션 밖에서 사용할 수 있도록 엔티티에서 복사)
+ */
+public record PrescriptionContext(
+        Long recordId,
+        Long userId,
+        String journal,
+        double energyScore,
+        EnergyLevel energyLevel,
+        WeatherCondition weatherCondition,
+        Double temperature,
+        Integer congestionLevel,
+        TransportMode transportMode,
+        Integer emotionLevel,
+        Integer conversationLevel,
+        Integer meetingCount) {
+
+    public static PrescriptionContext from(DailyRecord dailyRecord) {
+        WeatherLog weatherLog = dailyRecord.getWeatherLog();
+        return new PrescriptionContext(
+                dailyRecord.getId(),
+                dailyRecord.getUser().getId(),
+                dailyRecord.getJournal(),
+                dailyRecord.getEnergyScore(),
+                dailyRecord.getEnergyLevel(),
+                weatherLog != null ? weatherLog.getCondition() : null,
+                weatherLog != null ? weatherLog.getTemperature() : null,
+                dailyRecord.getCongestionLevel(),
+                dailyRecord.getTransportMode(),
+                dailyRecord.getEmotionLevel(),
+                dailyRecord.getConversationLevel(),
+                dailyRecord.getMeetingCount());
+    }
+
+    /**
+     * 프롬프트에 들어가는 값의 해시 (기록/사용자 ID 제외)
+     * 값이 같으면 같은 처방이 생성되므로, 기록 수정 시 이 값이 바뀌었을 때만 LLM을 다시 호출합니다.
+     * 점수/기온은 프롬프트에 표시되는 자릿수로 맞춥니다.
+     */
+    public String inputHash() {
+        String inputs = String.join("\u001f",
+                journal != null ? journal : "",
+                String.format("%.2f", energyScore),
+                String.valueOf(energyLevel),
+                String.valueOf(weatherCondition),
+                temperature != null ? String.format("%.1f", temperature) : "",
+                String.valueOf(congestionLevel),
+                String.valueOf(transportMode),
+                String.valueOf(emotionLevel),
+                String.valueOf(conversationLevel),
+                String.valueOf(meetingCount));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(inputs.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
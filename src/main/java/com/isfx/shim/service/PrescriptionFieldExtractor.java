@@ -0,0 +1,142 @@
+package com.isfx.shim.service;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍으로 도착하는 AI 응답 조각에서 지정한 JSON 문자열 필드 값만 디코딩하여 전달
+ * 예: {"journal_explain": "오늘은..." → ("journal_explain", "오늘은...")
+ * 응답 전체가 도착하기 전에도 필드 값을 글자 단위로 흘려보낼 수 있도록 상태 기계로 처리합니다. (평평한 객체 기준)
+ */
+final class PrescriptionFieldExtractor implements Consumer<String> {
+
+    private enum State { SEEK, KEY, AFTER_KEY, BEFORE_VALUE, VALUE }
+
+    private final Set<String> fields;
+    private final BiConsumer<String, String> onFieldDelta;
+
+    private State state = State.SEEK;
+    private final StringBuilder key = new StringBuilder();
+    private String currentField;
+    private boolean escaping;
+    private StringBuilder unicode;
+    private final StringBuilder pending = new StringBuilder();
+
+    PrescriptionFieldExtractor(Set<String> fields, BiConsumer<String, String> onFieldDelta) {
+        this.fields = fields;
+        this.onFieldDelta = onFieldDelta;
+    }
+
+    @Override
+    public void accept(String chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            switch (state) {
+                case SEEK -> {
+                    if (c == '"') {
+                        startKey();
+                    }
+                }
+                case KEY -> {
+                    if (escaping) {
+                        key.append(c);
+                        escaping = false;
+                    } else if (c == '\\') {
+                        escaping = true;
+                    } else if (c == '"') {
+                        state = State.AFTER_KEY;
+                    } else {
+                        key.append(c);
+                    }
+                }
+                case AFTER_KEY -> {
+                    if (c == ':') {
+                        state = State.BEFORE_VALUE;
+                    } else if (c == '"') {
+                        // 앞의 문자열은 키가 아니었음 → 새 문자열을 키로 다시 읽음
+                        startKey();
+                    } else if (!Character.isWhitespace(c)) {
+                        state = State.SEEK;
+                    }
+                }
+                case BEFORE_VALUE -> {
+                    if (c == '"') {
+                        String name = key.toString();
+                        currentField = fields.contains(name) ? name : null;
+                        state = State.VALUE;
+                    } else if (!Character.isWhitespace(c)) {
+                        state = State.SEEK;
+                    }
+                }
+                case VALUE -> readValueChar(c);
+            }
+        }
+        flush(false);
+    }
+
+    private void startKey() {
+        key.setLength(0);
+        escaping = false;
+        state = State.KEY;
+    }
+
+    private void readValueChar(char c) {
+        if (unicode != null) {
+            unicode.append(c);
+            if (unicode.length() == 4) {
+                try {
+                    emit((char) Integer.parseInt(unicode.toString(), 16));
+                } catch (NumberFormatException e) {
+                    // 잘못된 \\u 이스케이프는 무시
+                }
+                unicode = null;
+            }
+            return;
+        }
+        if (escaping) {
+            escaping = false;
+            switch (c) {
+                case 'n' -> emit('\n');
+                case 't' -> emit('\t');
+                case 'r' -> emit('\r');
+                case 'b' -> emit('\b');
+                case 'f' -> emit('\f');
+                case 'u' -> unicode = new StringBuilder(4);
+                default -> emit(c);
+            }
+            return;
+        }
+        if (c == '\\') {
+            escaping = true;
+        } else if (c == '"') {
+            flush(true);
+            currentField = null;
+            state = State.SEEK;
+        } else {
+            emit(c);
+        }
+    }
+
+    private void emit(char c) {
+        if (currentField != null) {
+            pending.append(c);
+        }
+    }
+
+    private void flush(boolean valueEnded) {
+        if (currentField == null || pending.isEmpty()) {
+            return;
+        }
+        // 서로게이트 쌍이 조각 경계에서 나뉘지 않도록 상위 서로게이트는 다음 조각까지 보류
+        int end = pending.length();
+        if (!valueEnded && Character.isHighSurrogate(pending.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            return;
+        }
+        onFieldDelta.accept(currentField, pending.substring(0, end));
+        pending.delete(0, end);
+    }
+}
@@ -0,0 +1,364 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.PrescriptionCompletionDto;
+import com.isfx.shim.dto.PrescriptionVariantsDto;
+import com.isfx.shim.entity.enums.AiPrescriptionCategory;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import com.isfx.shim.global.monitoring.LlmUsageMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기록 값으로 프롬프트를 구성하고 Upstage API로 AI 처방을 생성합니다.
+ * DB에 접근하지 않으므로 트랜잭션 밖에서 호출해야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrescriptionGenerator {
+
+    // SYSTEM_PROMPT/VARIANTS_SYSTEM_PROMPT를 바꾸면 올림 → 기존 처방은 PrescriptionRefreshJob으로 다시 생성
+    private static final int PROMPT_REVISION = 1;
+    public static final String GENERATION_VERSION = UpstageChatClient.MODEL + "/prompt-" + PROMPT_REVISION;
+    // 일기 없는 기록에 템플릿을 저장한 처방 (재생성해도 템플릿이므로 PrescriptionRefreshJob 대상에서 제외)
+    public static final String TEMPLATE_VERSION = "template";
+    // LLM 대신 기본 문구/템플릿을 저장한 처방 (버전과 관계없이 PrescriptionRefreshJob 재생성 대상)
+    public static final String FALLBACK_VERSION = "fallback";
+
+    // 시스템 프롬프트
+    private static final String SYSTEM_PROMPT = "당신은 사용자의 하루를 분석하고 공감하며 조언을 제공하는 친근한 AI 어시스턴트입니다. " +
+            "사용자의 일기 내용과 에너지 점수 계산에 사용된 데이터(날씨, 혼잡도 등)를 분석하여 " +
+            "공감과 이해를 담은 설명과 추천을 제공해야 합니다. " +
+            "응답은 반드시 JSON 형식으로 제공해야 하며, 다음과 같은 구조를 따라야 합니다: " +
+            "{\"journal_explain\": \"일기 내용과 에너지 점수 데이터를 분석한 설명 (예: 곧 시험이시군요! 오늘 날씨가 흐려서 괜시리 울적했겠어요.😢)\", " +
+            "\"recommendation_text\": \"추천 활동 설명 (예: 오늘 운동은 건너뛰고 따뜻한 안대 하고 자기)\"} " +
+            "journal_explain은 일기 내용과 날씨, 혼잡도 등 에너지 점수에 영향을 준 요소들을 자연스럽게 분석하여 공감하는 문장으로 작성하세요. " +
+            "recommendation_text는 에너지 레벨에 맞는 활동을 구체적이고 실용적으로 추천하는 문장으로 작성하세요. " +
+            "응답은 반드시 유효한 JSON 형식이어야 하며, 다른 설명 없이 JSON만 반환해야 합니다.";
+
+    // 처방 템플릿 생성용 시스템 프롬프트 (일기 없이 조합 값만으로 여러 변형 생성)
+    private static final String VARIANTS_SYSTEM_PROMPT = "당신은 사용자의 하루를 분석하고 공감하며 조언을 제공하는 친근한 AI 어시스턴트입니다. " +
+            "일기 없이 에너지 점수 계산에 사용된 데이터(날씨, 이동 수단, 감정/대화 수준, 만남 횟수)만 주어집니다. " +
+            "같은 상황에 대해 서로 다른 표현과 서로 다른 활동을 담은 처방을 요청한 개수만큼 작성하세요. " +
+            "응답은 반드시 다음 구조의 JSON이어야 합니다: " +
+            "{\"variants\": [{\"journal_explain\": \"주어진 데이터를 분석하여 공감하는 설명\", " +
+            "\"recommendation_text\": \"에너지 레벨에 맞는 구체적이고 실용적인 활동 추천\"}] " +
+            "일기 내용을 언급하거나 지어내지 말고, 다른 설명 없이 JSON만 반환해야 합니다.";
+
+    // 사용자 프롬프트의 일기 항목 (일기는 토큰 예산에 맞춰 압축 후 이 뒤에 붙임)
+    private static final String JOURNAL_LABEL = "일기 내용: ";
+
+    // 스트리밍 시 클라이언트로 전달할 응답 필드
+    private static final Set<String> STREAMED_FIELDS = Set.of("journal_explain", "recommendation_text");
+
+    private final LlmGateway llmGateway;
+    private final PrescriptionSemanticCache semanticCache;
+    private final MeterRegistry meterRegistry;
+    private final PromptCompactor promptCompactor;
+    private final PrescriptionTemplateLibrary templateLibrary;
+    private final LlmUsageMonitor usageMonitor;
+
+    /**
+     * AI 처방 생성 (Upstage API 호출 실패 또는 JSON 응답 변환 실패 시 기본 문구 사용)
+     */
+    public PrescriptionContent generate(PrescriptionContext context) {
+        Optional<PrescriptionContent> pregenerated = findPregenerated(context);
+        if (pregenerated.isPresent()) {
+            return pregenerated.get();
+        }
+
+        Optional<PrescriptionContent> cached = semanticCache.find(context);
+        if (cached.isPresent()) {
+            recordResult("cache");
+            return cached.get().withSource(PrescriptionSource.CACHE);
+        }
+
+        try {
+            // Upstage API 호출 (게이트웨이에서 동시 호출 수/요청 할당량 제한, 느린 응답은 헤징)
+            PrescriptionCompletionDto completion = llmGateway.generateJsonResponse(
+                    SYSTEM_PROMPT, buildUserPrompt(context), PrescriptionCompletionDto.class);
+            return toContent(context, completion);
+
+        } catch (LlmGateway.LoadShedException e) {
+            log.warn("[AI 처방 생성] 호출량 초과로 기본값 사용: recordId={}, reason={}", context.recordId(), e.getReason());
+            recordResult("fallback_shed");
+            return defaultContent(context);
+        } catch (Exception e) {
+            log.error("[AI 처방 생성] Upstage API 호출 실패, 기본값 사용: recordId={}, error={}",
+                    context.recordId(), e.getMessage(), e);
+            recordResult("fallback_error");
+            return defaultContent(context);
+        }
+    }
+
+    /**
+     * 스트리밍 모드로 AI 처방 생성
+     * journal_explain/recommendation_text 값이 생성되는 대로 (필드명, 조각)으로 전달하고,
+     * 완료되면 전체 응답을 파싱한 최종 처방을 반환합니다. (실패 시 기본 문구)
+     */
+    public PrescriptionContent generateStreaming(PrescriptionContext context, BiConsumer<String, String> onFieldDelta) {
+        Optional<PrescriptionContent> pregenerated = findPregenerated(context);
+        if (pregenerated.isPresent()) {
+            onFieldDelta.accept("journal_explain", pregenerated.get().journalExplain());
+            onFieldDelta.accept("recommendation_text", pregenerated.get().recommendationText());
+            return pregenerated.get();
+        }
+
+        // 비슷한 일기/조건의 이전 처방이 있으면 LLM 호출 없이 한 번에 전달
+        Optional<PrescriptionContent> cached = semanticCache.find(context);
+        if (cached.isPresent()) {
+            onFieldDelta.accept("journal_explain", cached.get().journalExplain());
+            onFieldDelta.accept("recommendation_text", cached.get().recommendationText());
+            recordResult("cache");
+            return cached.get().withSource(PrescriptionSource.CACHE);
+        }
+
+        try {
+            PrescriptionFieldExtractor extractor = new PrescriptionFieldExtractor(STREAMED_FIELDS, onFieldDelta);
+            PrescriptionCompletionDto completion = llmGateway.streamJsonResponse(
+                    SYSTEM_PROMPT, buildUserPrompt(context), extractor, PrescriptionCompletionDto.class);
+            return toContent(context, completion);
+
+        } catch (LlmGateway.LoadShedException e) {
+            log.warn("[AI 처방 생성] 호출량 초과로 기본값 사용: recordId={}, reason={}", context.recordId(), e.getReason());
+            recordResult("fallback_shed");
+            return defaultContent(context);
+        } catch (Exception e) {
+            log.error("[AI 처방 생성] Upstage API 스트리밍 실패, 기본값 사용: recordId={}, error={}",
+                    context.recordId(), e.getMessage(), e);
+            recordResult("fallback_error");
+            return defaultContent(context);
+        }
+    }
+
+    /**
+     * 기존 처방 재생성 (PrescriptionRefreshJob 전용)
+     * 이전 프롬프트로 만든 결과가 남아 있을 수 있는 의미 기반 캐시는 건너뛰고,
+     * 실패하거나 필드가 비어 있으면 기존 처방을 기본 문구로 덮어쓰지 않도록 예외를 던집니다.
+     */
+    public PrescriptionContent regenerate(PrescriptionContext context) {
+        if (isBlank(context.journal())) {
+            Optional<PrescriptionContent> template = templateLibrary.find(context);
+            if (template.isPresent()) {
+                return template.get();
+            }
+        }
+
+        PrescriptionCompletionDto completion = llmGateway.generateJsonResponse(
+                SYSTEM_PROMPT, buildUserPrompt(context), PrescriptionCompletionDto.class);
+        if (isBlank(completion.getJournalExplain()) || isBlank(completion.getRecommendationText())) {
+            throw new IllegalStateException("Prescription completion is missing fields");
+        }
+        return new PrescriptionContent(categoryOf(context.energyLevel()),
+                completion.getJournalExplain(), completion.getRecommendationText(), PrescriptionSource.LLM);
+    }
+
+    /**
+     * 조합의 대표값으로 처방 변형을 count개 생성 (PrescriptionTemplateJob 전용, 실패 시 예외)
+     */
+    public List<PrescriptionContent> generateVariants(PrescriptionContext context, int count) {
+        String userPrompt = buildUserPrompt(context) + String.format("\n서로 다른 처방 %d개를 variants 배열로 생성해주세요.", count);
+        PrescriptionVariantsDto response = llmGateway.generateJsonResponse(
+                VARIANTS_SYSTEM_PROMPT, userPrompt, PrescriptionVariantsDto.class);
+
+        AiPrescriptionCategory category = categoryOf(context.energyLevel());
+        List<PrescriptionContent> variants = new ArrayList<>();
+        if (response.getVariants() != null) {
+            for (PrescriptionCompletionDto variant : response.getVariants()) {
+                if (isBlank(variant.getJournalExplain()) || isBlank(variant.getRecommendationText())) {
+                    continue;
+                }
+                variants.add(new PrescriptionContent(category, variant.getJournalExplain().trim(),
+                        variant.getRecommendationText().trim(), PrescriptionSource.LLM));
+                if (variants.size() == count) {
+                    break;
+                }
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * 일기가 없거나 오늘 LLM 토큰 예산이 소진되었으면 미리 생성한 처방 사용 (해당 조합 템플릿이 없으면 empty)
+     * 일기가 있는데 예산 소진으로 템플릿을 쓴 경우는 일기를 반영하지 못했으므로 FALLBACK으로 표시 → 이후 재생성 대상
+     */
+    private Optional<PrescriptionContent> findPregenerated(PrescriptionContext context) {
+        boolean noJournal = isBlank(context.journal());
+        if (!noJournal && !usageMonitor.isDailyBudgetExhausted()) {
+            return Optional.empty();
+        }
+        Optional<PrescriptionContent> template = templateLibrary.find(context);
+        if (template.isEmpty()) {
+            return template;
+        }
+        if (noJournal) {
+            log.debug("[AI 처방 생성] 미리 생성한 처방 사용: recordId={}", context.recordId());
+            recordResult("template");
+            return template;
+        }
+        log.info("[AI 처방 생성] 일일 토큰 예산 소진으로 템플릿 대체: recordId={}", context.recordId());
+        recordResult("fallback_budget");
+        return template.map(content -> content.withSource(PrescriptionSource.FALLBACK));
+    }
+
+    private boolean isBlank(String text) {
+        return text == null || text.trim().isEmpty();
+    }
+
+    // 사용자 프롬프트
+    private String buildUserPrompt(PrescriptionContext context) {
+        // 프롬프트 구성 데이터 준비
+        String weatherCondition = context.weatherCondition() != null
+                ? context.weatherCondition().name() : "unknown";
+        String temperature = context.temperature() != null
+                ? String.format("%.1f", context.temperature()) : "unknown";
+        String congestionLevel = context.congestionLevel() != null
+                ? String.valueOf(context.congestionLevel()) : "unknown";
+        String transportMode = context.transportMode() != null
+                ? context.transportMode().name() : "unknown";
+
+        String details = String.format(
+                "에너지 점수: %.2f\n" +
+                "에너지 레벨: %s\n" +
+                "날씨 조건: %s\n" +
+                "온도: %s°C\n" +
+                "혼잡도: %s\n" +
+                "교통수단: %s\n" +
+                "감정 수준: %d\n" +
+                "대화 수준: %d\n" +
+                "만남 횟수: %d\n\n" +
+                "위 정보를 바탕으로 journal_explain과 recommendation_text를 생성해주세요.",
+                context.energyScore(),
+                context.energyLevel().name(),
+                weatherCondition,
+                temperature,
+                congestionLevel,
+                transportMode,
+                context.emotionLevel() != null ? context.emotionLevel() : 0,
+                context.conversationLevel() != null ? context.conversationLevel() : 0,
+                context.meetingCount() != null ? context.meetingCount() : 0
+        );
+
+        // 일기 외 프롬프트가 차지하는 만큼을 뺀 예산 안으로 일기 압축 (긴 일기도 요청 크기 일정)
+        int otherPromptTokens = promptCompactor.estimateTokens(SYSTEM_PROMPT)
+                + promptCompactor.estimateTokens(JOURNAL_LABEL) + promptCompactor.estimateTokens(details);
+        String journal = promptCompactor.compactJournal(context.journal(), otherPromptTokens);
+        return JOURNAL_LABEL + journal + "\n" + details;
+    }
+
+    private PrescriptionContent toContent(PrescriptionContext context, PrescriptionCompletionDto completion) {
+        AiPrescriptionCategory category = categoryOf(context.energyLevel());
+
+        String journalExplain = completion.getJournalExplain();
+        String recommendationText = completion.getRecommendationText();
+
+        // 두 필드 모두 채워진 응답만 의미 기반 캐시에 등록
+        boolean parsed = true;
+
+        // 필드 누락 시 기본값 사용
+        if (journalExplain == null || journalExplain.trim().isEmpty()) {
+            journalExplain = generateDefaultJournalExplain(context);
+            parsed = false;
+        }
+        if (recommendationText == null || recommendationText.trim().isEmpty()) {
+            recommendationText = generateDefaultRecommendationText(context.energyLevel(), category);
+            parsed = false;
+        }
+
+        PrescriptionContent content = new PrescriptionContent(category, journalExplain, recommendationText,
+                parsed ? PrescriptionSource.LLM : PrescriptionSource.FALLBACK);
+        if (parsed) {
+            semanticCache.put(context, content);
+        }
+        recordResult(parsed ? "llm" : "fallback_partial");
+        return content;
+    }
+
+    // ai.prescription.results (source=template/cache/llm/fallback_partial/fallback_shed/fallback_error/fallback_budget): 기본 문구 대체 빈도 확인용
+    // 저장되는 출처는 PrescriptionContent.source (fallback_* → FALLBACK)
+    private void recordResult(String source) {
+        meterRegistry.counter("ai.prescription.results", "source", source).increment();
+    }
+
+    /**
+     * 기본 처방 (미리 생성한 처방이 있으면 사용, 없으면 고정 문구)
+     * LLM 응답을 대신하는 내용이므로 출처는 FALLBACK (이후 PrescriptionRefreshJob이 다시 생성)
+     */
+    public PrescriptionContent defaultContent(PrescriptionContext context) {
+        Optional<PrescriptionContent> template = templateLibrary.find(context);
+        if (template.isPresent()) {
+            return template.get().withSource(PrescriptionSource.FALLBACK);
+        }
+        AiPrescriptionCategory category = categoryOf(context.energyLevel());
+        return new PrescriptionContent(
+                category,
+                generateDefaultJournalExplain(context),
+                generateDefaultRecommendationText(context.energyLevel(), category),
+                PrescriptionSource.FALLBACK);
+    }
+
+    // 카테고리 결정: LOW/MEDIUM → recovery, HIGH → social
+    private AiPrescriptionCategory categoryOf(EnergyLevel energyLevel) {
+        return (energyLevel == EnergyLevel.HIGH)
+                ? AiPrescriptionCategory.social
+                : AiPrescriptionCategory.recovery;
+    }
+
+    /**
+     * 기본 journal_explain 생성
+     */
+    private String generateDefaultJournalExplain(PrescriptionContext context) {
+        StringBuilder explain = new StringBuilder();
+
+        String journal = context.journal();
+        if (journal != null && !journal.trim().isEmpty()) {
+            explain.append("일기를 작성해주셨네요. ");
+        }
+
+        WeatherCondition weatherCondition = context.weatherCondition();
+        if (weatherCondition != null) {
+            String condition = switch (weatherCondition) {
+                case clear -> "맑은";
+                case clouds -> "흐린";
+                case rain -> "비 오는";
+                case snow -> "눈 오는";
+                case other -> "변화무쌍한";
+            };
+            explain.append(String.format("오늘 날씨가 %s 날씨였네요. ", condition));
+        }
+
+        EnergyLevel energyLevel = context.energyLevel();
+        if (energyLevel == EnergyLevel.LOW) {
+            explain.append("에너지가 많이 소모된 하루였을 것 같아요.");
+        } else if (energyLevel == EnergyLevel.MEDIUM) {
+            explain.append("보통의 하루를 보내셨네요.");
+        } else {
+            explain.append("활기찬 하루를 보내셨네요!");
+        }
+
+        return explain.toString();
+    }
+
+    /**
+     * 기본 recommendationText 생성
+     */
+    private String generateDefaultRecommendationText(EnergyLevel energyLevel, AiPrescriptionCategory category) {
+        if (category == AiPrescriptionCategory.recovery) {
+            return switch (energyLevel) {
+                case LOW -> "오늘은 충분한 휴식을 취하시고, 따뜻한 차 한 잔과 함께 편안한 시간을 보내세요.";
+                case MEDIUM -> "가벼운 스트레칭이나 산책을 통해 몸과 마음을 이완시켜보세요.";
+                default -> "적당한 휴식과 함께 내일을 위한 준비를 해보세요.";
+            };
+        } else {
+            return "에너지가 충만하시네요! 친구들과 만나거나 새로운 활동을 시도해보세요.";
+        }
+    }
+}
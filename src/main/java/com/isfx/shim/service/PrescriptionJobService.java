@@ -0,0 +1,178 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.AiPrescriptions;
+import com.isfx.shim.entity.DailyRecord;
+import com.isfx.shim.entity.PrescriptionJob;
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import com.isfx.shim.repository.AiPrescriptionsRepository;
+import com.isfx.shim.repository.DailyRecordRepository;
+import com.isfx.shim.repository.PrescriptionJobRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * AI 처방 생성 작업(prescription_jobs)의 등록/선점/완료 처리
+ * 각 메서드는 짧은 트랜잭션으로 끝나며, 외부 API 호출은 PrescriptionWorker가 트랜잭션 밖에서 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PrescriptionJobService {
+
+    private final PrescriptionJobRepository prescriptionJobRepository;
+    private final DailyRecordRepository dailyRecordRepository;
+    private final AiPrescriptionsRepository aiPrescriptionsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ai.prescription.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ai.prescription.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    /**
+     * 기록의 처방 생성 작업 등록 (호출한 트랜잭션에 참여)
+     * 커밋 이후 PrescriptionRequestedEvent로 작업자에게 바로 전달됩니다.
+     * 프롬프트 입력값이 마지막 요청과 같으면 다시 생성하지 않고 기존 작업을 그대로 반환합니다.
+     */
+    @Transactional
+    public PrescriptionJob enqueue(Long recordId, String inputHash) {
+        Optional<PrescriptionJob> existingJob = prescriptionJobRepository.findByRecordId(recordId);
+        if (existingJob.isPresent() && existingJob.get().isRequestedWith(inputHash)) {
+            log.debug("[AI 처방 작업] 입력값 변경 없음, 재생성 생략: recordId={}, status={}",
+                    recordId, existingJob.get().getStatus());
+            return existingJob.get();
+        }
+
+        PrescriptionJob job = existingJob
+                .map(existing -> {
+                    existing.requeue(inputHash);
+                    return existing;
+                })
+                .orElseGet(() -> prescriptionJobRepository.save(new PrescriptionJob(recordId, inputHash)));
+
+        eventPublisher.publishEvent(new PrescriptionRequestedEvent(job.getId()));
+        log.debug("[AI 처방 작업] 작업 등록: recordId={}, jobId={}, revision={}", recordId, job.getId(), job.getRevision());
+        return job;
+    }
+
+    /**
+     * 작업 선점 (다른 작업자가 이미 가져갔거나 대기 상태가 아니면 empty)
+     */
+    @Transactional
+    public Optional<ClaimedJob> claim(Long jobId) {
+        if (prescriptionJobRepository.claim(jobId, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return prescriptionJobRepository.findById(jobId)
+                .map(job -> new ClaimedJob(job.getId(), job.getRecordId(), job.getRevision(), job.getAttempts(),
+                        job.getInputHash()));
+    }
+
+    /**
+     * 처방 생성에 필요한 기록 값 조회 (기록이 삭제되었으면 empty)
+     */
+    public Optional<PrescriptionContext> loadContext(Long recordId) {
+        return dailyRecordRepository.findById(recordId).map(PrescriptionContext::from);
+    }
+
+    /**
+     * 생성 결과 저장 및 작업 완료
+     * 처리 중 기록이 수정되어 revision이 바뀐 경우 결과를 버리고 새 요청이 처리되도록 둡니다.
+     */
+    @Transactional
+    public boolean complete(ClaimedJob claimed, PrescriptionContent content) {
+        if (prescriptionJobRepository.markDone(claimed.jobId(), claimed.revision()) == 0) {
+            log.info("[AI 처방 작업] 처리 중 기록이 변경되어 결과 폐기: jobId={}, recordId={}, revision={}",
+                    claimed.jobId(), claimed.recordId(), claimed.revision());
+            return false;
+        }
+
+        Optional<DailyRecord> dailyRecord = dailyRecordRepository.findById(claimed.recordId());
+        if (dailyRecord.isEmpty()) {
+            log.info("[AI 처방 작업] 기록이 삭제되어 결과 폐기: jobId={}, recordId={}", claimed.jobId(), claimed.recordId());
+            return false;
+        }
+
+        AiPrescriptions prescription = aiPrescriptionsRepository.findByRecord(dailyRecord.get())
+                .map(existing -> {
+                    existing.update(content.category(), content.recommendationText(), content.journalExplain(),
+                            claimed.inputHash(), content.generationVersion());
+                    return existing;
+                })
+                .orElseGet(() -> AiPrescriptions.builder()
+                        .record(dailyRecord.get())
+                        .category(content.category())
+                        .recommendationText(content.recommendationText())
+                        .journalExplain(content.journalExplain())
+                        .inputHash(claimed.inputHash())
+                        .generationVersion(content.generationVersion())
+                        .build());
+        aiPrescriptionsRepository.save(prescription);
+        return true;
+    }
+
+    /**
+     * 처리 실패: 재시도 횟수가 남았으면 지연 후 다시 대기, 아니면 FAILED
+     */
+    @Transactional
+    public void fail(ClaimedJob claimed, String error) {
+        boolean exhausted = claimed.attempts() >= maxAttempts;
+        PrescriptionStatus nextStatus = exhausted ? PrescriptionStatus.FAILED : PrescriptionStatus.PENDING;
+        LocalDateTime availableAt = LocalDateTime.now()
+                .plus(Duration.ofSeconds(retryBackoffSeconds * claimed.attempts()));
+        String lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+
+        prescriptionJobRepository.release(claimed.jobId(), claimed.revision(), nextStatus, availableAt, lastError);
+        log.warn("[AI 처방 작업] 처리 실패: jobId={}, recordId={}, attempts={}, nextStatus={}, error={}",
+                claimed.jobId(), claimed.recordId(), claimed.attempts(), nextStatus, error);
+    }
+
+    /**
+     * 기록이 삭제된 작업 정리
+     */
+    @Transactional
+    public void discard(ClaimedJob claimed) {
+        prescriptionJobRepository.deleteById(claimed.jobId());
+    }
+
+    public List<Long> findDispatchableJobIds(int limit) {
+        return prescriptionJobRepository.findDispatchableIds(
+                PrescriptionStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    /**
+     * 작업자 종료 등으로 오래 IN_PROGRESS에 머문 작업을 다시 대기 상태로
+     * 재시도 횟수를 모두 쓴 작업은 FAILED로 처리합니다.
+     */
+    @Transactional
+    public int recoverStaleJobs(Duration staleAfter) {
+        LocalDateTime lockedBefore = LocalDateTime.now().minus(staleAfter);
+        int failed = prescriptionJobRepository.failStale(lockedBefore, maxAttempts,
+                "Worker stopped while processing (attempts exhausted)");
+        if (failed > 0) {
+            log.error("[AI 처방 작업] 중단된 작업의 재시도 횟수 초과, FAILED 처리: count={}, maxAttempts={}", failed, maxAttempts);
+        }
+        int recovered = prescriptionJobRepository.recoverStale(lockedBefore, maxAttempts);
+        if (recovered > 0) {
+            log.warn("[AI 처방 작업] 중단된 작업 복구: count={}", recovered);
+        }
+        return recovered;
+    }
+
+    public record ClaimedJob(Long jobId, Long recordId, Integer revision, Integer attempts, String inputHash) {
+    }
+
+    public record PrescriptionRequestedEvent(Long jobId) {
+    }
+}
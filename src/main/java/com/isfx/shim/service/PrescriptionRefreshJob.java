@@ -0,0 +1,335 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.PrescriptionRefreshStatusDto;
+import com.isfx.shim.entity.BatchJobCheckpoint;
+import com.isfx.shim.entity.enums.BatchJobStatus;
+import com.isfx.shim.global.monitoring.LlmUsageMonitor;
+import com.isfx.shim.global.util.TokenBucket;
+import com.isfx.shim.service.PrescriptionRefreshService.RefreshTarget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모델/프롬프트 변경 후 기존 AI 처방 일괄 재생성
+ *
+ * 조정 스레드가 처방 ID 기준 keyset 페이지로 대상을 읽고, 작업 스레드(threads)들이 페이지 안의 처방을 나눠 생성합니다.
+ * 모든 작업 스레드가 분당 requests-per-minute건의 토큰 버킷을 함께 사용하므로 API 할당량을 넘지 않습니다.
+ * 페이지가 끝날 때마다 진행 위치(batch_job_checkpoints)를 저장하며, 서버가 재시작되면 그 다음 페이지부터 이어서 처리합니다.
+ * 일일 토큰 예산이 소진되면 STOPPED로 멈추고, 다시 시작하면 같은 위치부터 이어갑니다.
+ * - 메트릭: ai.prescription.refresh.records (result=regenerated/skipped/failed), ai.prescription.refresh.remaining
+ */
+@Slf4j
+@Component
+public class PrescriptionRefreshJob {
+
+    private static final String JOB_NAME = "prescription-refresh";
+
+    private final PrescriptionRefreshService prescriptionRefreshService;
+    private final PrescriptionGenerator prescriptionGenerator;
+    private final LlmUsageMonitor usageMonitor;
+    private final int threads;
+    private final int pageSize;
+    private final TokenBucket throttle;
+
+    private final Counter regeneratedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+
+    private volatile Progress progress;
+    private volatile boolean stopRequested;
+
+    public PrescriptionRefreshJob(PrescriptionRefreshService prescriptionRefreshService,
+                                  PrescriptionGenerator prescriptionGenerator,
+                                  LlmUsageMonitor usageMonitor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ai.prescription.refresh.threads:4}") int threads,
+                                  @Value("${ai.prescription.refresh.page-size:100}") int pageSize,
+                                  @Value("${ai.prescription.refresh.requests-per-minute:60}") int requestsPerMinute) {
+        this.prescriptionRefreshService = prescriptionRefreshService;
+        this.prescriptionGenerator = prescriptionGenerator;
+        this.usageMonitor = usageMonitor;
+        this.threads = threads;
+        this.pageSize = pageSize;
+        this.throttle = new TokenBucket(threads, requestsPerMinute / 60.0);
+
+        this.regeneratedCounter = Counter.builder("ai.prescription.refresh.records").tag("result", "regenerated").register(meterRegistry);
+        this.skippedCounter = Counter.builder("ai.prescription.refresh.records").tag("result", "skipped").register(meterRegistry);
+        this.failedCounter = Counter.builder("ai.prescription.refresh.records").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("ai.prescription.refresh.remaining", this, job -> job.remaining()).register(meterRegistry);
+    }
+
+    /**
+     * 재시작 전에 진행 중이던 재생성이 있으면 이어서 실행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        try {
+            Optional<BatchJobCheckpoint> checkpoint = prescriptionRefreshService.findCheckpoint(JOB_NAME);
+            if (checkpoint.isPresent() && checkpoint.get().getStatus() == BatchJobStatus.RUNNING
+                    && checkpoint.get().isResumable(PrescriptionGenerator.GENERATION_VERSION)) {
+                log.info("[처방 재생성] 중단된 재생성 이어서 실행: lastId={}", checkpoint.get().getLastId());
+                start();
+            }
+        } catch (Exception e) {
+            log.error("[처방 재생성] 시작 시 진행 위치 확인 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 재생성 시작 (이미 실행 중이면 false)
+     */
+    public synchronized boolean start() {
+        if (progress != null && progress.isRunning()) {
+            return false;
+        }
+        String version = PrescriptionGenerator.GENERATION_VERSION;
+        BatchJobCheckpoint checkpoint = prescriptionRefreshService.openCheckpoint(JOB_NAME, version);
+        long remaining = prescriptionRefreshService.countToRegenerate(checkpoint.getLastId(), version);
+        Progress started = new Progress(checkpoint, remaining);
+        progress = started;
+        stopRequested = false;
+
+        Thread coordinator = new Thread(() -> run(started), "prescription-refresh");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        log.info("[처방 재생성] 시작: targetVersion={}, afterId={}, remaining={}, threads={}, pageSize={}",
+                version, checkpoint.getLastId(), remaining, threads, pageSize);
+        return true;
+    }
+
+    public PrescriptionRefreshStatusDto status() {
+        Progress current = progress;
+        if (current != null) {
+            return current.toDto();
+        }
+        // 이 인스턴스에서 실행한 적이 없으면 저장된 진행 위치로 응답
+        String version = PrescriptionGenerator.GENERATION_VERSION;
+        Optional<BatchJobCheckpoint> checkpoint = prescriptionRefreshService.findCheckpoint(JOB_NAME);
+        if (checkpoint.isEmpty()) {
+            return PrescriptionRefreshStatusDto.builder()
+                    .running(false)
+                    .targetVersion(version)
+                    .remaining(prescriptionRefreshService.countToRegenerate(0L, version))
+                    .build();
+        }
+        BatchJobCheckpoint saved = checkpoint.get();
+        return PrescriptionRefreshStatusDto.builder()
+                .running(false)
+                .status(saved.getStatus().name())
+                .targetVersion(saved.getTargetVersion())
+                .lastId(saved.getLastId())
+                .processed(saved.getProcessed())
+                .regenerated(saved.getSucceeded())
+                .skipped(saved.getSkipped())
+                .failed(saved.getFailed())
+                .remaining(prescriptionRefreshService.countToRegenerate(saved.getLastId(), saved.getTargetVersion()))
+                .startedAt(saved.getStartedAt())
+                .finishedAt(saved.getFinishedAt())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중인 페이지까지만 끝내고 진행 위치는 RUNNING으로 남겨 재시작 시 이어서 처리
+        stopRequested = true;
+    }
+
+    private void run(Progress run) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "prescription-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        BatchJobStatus finalStatus = null;
+        try {
+            long afterId = run.lastId.get();
+            while (!stopRequested) {
+                if (usageMonitor.isDailyBudgetExhausted()) {
+                    log.warn("[처방 재생성] 일일 토큰 예산 소진으로 중단: lastId={}", afterId);
+                    finalStatus = BatchJobStatus.STOPPED;
+                    break;
+                }
+                List<Long> prescriptionIds = prescriptionRefreshService.findIdsToRegenerate(
+                        afterId, run.targetVersion, pageSize);
+                if (prescriptionIds.isEmpty()) {
+                    finalStatus = BatchJobStatus.COMPLETED;
+                    break;
+                }
+                afterId = prescriptionIds.get(prescriptionIds.size() - 1);
+                processPage(run, workers, prescriptionRefreshService.loadTargets(prescriptionIds), afterId);
+            }
+        } catch (Exception e) {
+            log.error("[처방 재생성] 대상 조회 실패, 중단: error={}", e.getMessage(), e);
+            finalStatus = BatchJobStatus.STOPPED;
+        } finally {
+            workers.shutdownNow();
+            if (finalStatus != null) {
+                prescriptionRefreshService.finishCheckpoint(JOB_NAME, finalStatus);
+            }
+            run.finish(finalStatus);
+            log.info("[처방 재생성] 종료: status={}, lastId={}, processed={}, regenerated={}, skipped={}, failed={}, "
+                            + "recordsPerMinute={}",
+                    finalStatus, run.lastId.get(), run.processed.get(), run.regenerated.get(), run.skipped.get(),
+                    run.failed.get(), String.format("%.1f", run.recordsPerMinute()));
+        }
+    }
+
+    /**
+     * 페이지 안의 처방을 작업 스레드들이 나눠 처리하고, 모두 끝나면 진행 위치 저장
+     */
+    private void processPage(Progress run, ExecutorService workers, List<RefreshTarget> targets, Long lastId)
+            throws InterruptedException {
+        List<Future<Result>> futures = new ArrayList<>();
+        for (RefreshTarget target : targets) {
+            futures.add(workers.submit(() -> regenerate(target)));
+        }
+
+        long regenerated = 0;
+        long skipped = 0;
+        long failed = 0;
+        for (Future<Result> future : futures) {
+            Result result;
+            try {
+                result = future.get();
+            } catch (ExecutionException e) {
+                result = Result.FAILED;
+            }
+            switch (result) {
+                case REGENERATED -> regenerated++;
+                case SKIPPED -> skipped++;
+                case FAILED -> failed++;
+            }
+        }
+
+        prescriptionRefreshService.advanceCheckpoint(JOB_NAME, lastId, targets.size(), regenerated, skipped, failed);
+        run.advance(lastId, targets.size(), regenerated, skipped, failed);
+    }
+
+    private Result regenerate(RefreshTarget target) throws InterruptedException {
+        if (!throttle.tryAcquire(Duration.ofMinutes(1))) {
+            failedCounter.increment();
+            return Result.FAILED;
+        }
+        try {
+            PrescriptionContent content = prescriptionGenerator.regenerate(target.context());
+            if (prescriptionRefreshService.saveRegenerated(target, content)) {
+                regeneratedCounter.increment();
+                return Result.REGENERATED;
+            }
+            skippedCounter.increment();
+            return Result.SKIPPED;
+        } catch (Exception e) {
+            // 실패한 처방은 이전 버전으로 남아 다음 실행(처음부터)에서 다시 대상이 됨
+            failedCounter.increment();
+            log.warn("[처방 재생성] 처방 재생성 실패: prescriptionId={}, error={}", target.prescriptionId(), e.getMessage());
+            return Result.FAILED;
+        }
+    }
+
+    private double remaining() {
+        Progress current = progress;
+        if (current == null || !current.isRunning()) {
+            return 0;
+        }
+        return Math.max(0, current.remainingAtStart - current.runProcessed.get());
+    }
+
+    private enum Result {
+        REGENERATED, SKIPPED, FAILED
+    }
+
+    private static final class Progress {
+        private final String targetVersion;
+        private final long remainingAtStart;
+        private final LocalDateTime startedAt;
+        private final long startedNanos = System.nanoTime();
+        // 진행 위치에 저장된 누적값에서 시작
+        private final AtomicLong lastId;
+        private final AtomicLong processed;
+        private final AtomicLong regenerated;
+        private final AtomicLong skipped;
+        private final AtomicLong failed;
+        // 이번 실행에서 처리한 수 (처리 속도 계산용)
+        private final AtomicLong runProcessed = new AtomicLong();
+        private volatile BatchJobStatus finalStatus;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        private Progress(BatchJobCheckpoint checkpoint, long remainingAtStart) {
+            this.targetVersion = checkpoint.getTargetVersion();
+            this.remainingAtStart = remainingAtStart;
+            this.startedAt = checkpoint.getStartedAt();
+            this.lastId = new AtomicLong(checkpoint.getLastId());
+            this.processed = new AtomicLong(checkpoint.getProcessed());
+            this.regenerated = new AtomicLong(checkpoint.getSucceeded());
+            this.skipped = new AtomicLong(checkpoint.getSkipped());
+            this.failed = new AtomicLong(checkpoint.getFailed());
+        }
+
+        boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        void advance(Long pageLastId, long pageProcessed, long pageRegenerated, long pageSkipped, long pageFailed) {
+            lastId.set(pageLastId);
+            processed.addAndGet(pageProcessed);
+            regenerated.addAndGet(pageRegenerated);
+            skipped.addAndGet(pageSkipped);
+            failed.addAndGet(pageFailed);
+            runProcessed.addAndGet(pageProcessed);
+        }
+
+        void finish(BatchJobStatus status) {
+            finalStatus = status;
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+        }
+
+        double recordsPerMinute() {
+            long endNanos = isRunning() ? System.nanoTime() : finishedNanos;
+            double minutes = Duration.ofNanos(endNanos - startedNanos).toMillis() / 60000.0;
+            return minutes > 0 ? runProcessed.get() / minutes : 0;
+        }
+
+        PrescriptionRefreshStatusDto toDto() {
+            long remaining = Math.max(0, remainingAtStart - runProcessed.get());
+            double rate = recordsPerMinute();
+            BatchJobStatus status = isRunning() ? BatchJobStatus.RUNNING : finalStatus;
+            return PrescriptionRefreshStatusDto.builder()
+                    .running(isRunning())
+                    .status(status != null ? status.name() : BatchJobStatus.RUNNING.name())
+                    .targetVersion(targetVersion)
+                    .lastId(lastId.get())
+                    .processed(processed.get())
+                    .regenerated(regenerated.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .remaining(remaining)
+                    .recordsPerMinute(Math.round(rate * 10) / 10.0)
+                    .estimatedRemainingMinutes(rate > 0 ? (long) Math.ceil(remaining / rate) : null)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
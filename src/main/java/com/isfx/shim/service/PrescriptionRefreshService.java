@@ -0,0 +1,110 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.AiPrescriptions;
+import com.isfx.shim.entity.BatchJobCheckpoint;
+import com.isfx.shim.entity.enums.BatchJobStatus;
+import com.isfx.shim.repository.AiPrescriptionsRepository;
+import com.isfx.shim.repository.BatchJobCheckpointRepository;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * AI 처방 일괄 재생성의 조회/저장/진행 위치 관리
+ * 각 메서드는 짧은 트랜잭션으로 끝나며, LLM 호출은 PrescriptionRefreshJob이 트랜잭션 밖에서 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PrescriptionRefreshService {
+
+    private final AiPrescriptionsRepository aiPrescriptionsRepository;
+    private final BatchJobCheckpointRepository batchJobCheckpointRepository;
+
+    public Optional<BatchJobCheckpoint> findCheckpoint(String jobName) {
+        return batchJobCheckpointRepository.findById(jobName);
+    }
+
+    /**
+     * 같은 버전의 중단된 진행 위치가 있으면 이어서, 아니면 처음부터 시작
+     */
+    @Transactional
+    public BatchJobCheckpoint openCheckpoint(String jobName, String targetVersion) {
+        BatchJobCheckpoint checkpoint = batchJobCheckpointRepository.findById(jobName)
+                .map(existing -> {
+                    if (existing.isResumable(targetVersion)) {
+                        existing.resume();
+                    } else {
+                        existing.restart(targetVersion);
+                    }
+                    return existing;
+                })
+                .orElseGet(() -> new BatchJobCheckpoint(jobName, targetVersion));
+        return batchJobCheckpointRepository.save(checkpoint);
+    }
+
+    /**
+     * 페이지 처리가 모두 끝난 뒤 진행 위치 저장
+     */
+    @Transactional
+    public void advanceCheckpoint(String jobName, Long lastId, long processed, long succeeded, long skipped, long failed) {
+        batchJobCheckpointRepository.findById(jobName)
+                .ifPresent(checkpoint -> checkpoint.advance(lastId, processed, succeeded, skipped, failed));
+    }
+
+    @Transactional
+    public void finishCheckpoint(String jobName, BatchJobStatus status) {
+        batchJobCheckpointRepository.findById(jobName).ifPresent(checkpoint -> checkpoint.finish(status));
+    }
+
+    public List<Long> findIdsToRegenerate(Long afterId, String version, int pageSize) {
+        return aiPrescriptionsRepository.findIdsToRegenerate(afterId, version, PrescriptionGenerator.TEMPLATE_VERSION,
+                PageRequest.of(0, pageSize));
+    }
+
+    public long countToRegenerate(Long afterId, String version) {
+        return aiPrescriptionsRepository.countToRegenerate(afterId, version, PrescriptionGenerator.TEMPLATE_VERSION);
+    }
+
+    /**
+     * 재생성 대상 처방의 기록 값 (ID 순)
+     */
+    public List<RefreshTarget> loadTargets(List<Long> prescriptionIds) {
+        return aiPrescriptionsRepository.findAllWithRecordByIdIn(prescriptionIds).stream()
+                .sorted(Comparator.comparing(AiPrescriptions::getPrescription_id))
+                .map(prescription -> {
+                    PrescriptionContext context = PrescriptionContext.from(prescription.getRecord());
+                    return new RefreshTarget(prescription.getPrescription_id(), context, context.inputHash());
+                })
+                .toList();
+    }
+
+    /**
+     * 재생성 결과 저장
+     * 생성 중 기록이 수정되었으면(입력값 해시가 다르면) 기록 수정으로 등록된 처방 작업에 맡기고 저장하지 않습니다.
+     */
+    @Transactional
+    public boolean saveRegenerated(RefreshTarget target, PrescriptionContent content) {
+        Optional<AiPrescriptions> prescription = aiPrescriptionsRepository.findById(target.prescriptionId());
+        if (prescription.isEmpty()) {
+            return false;
+        }
+        String currentHash = PrescriptionContext.from(prescription.get().getRecord()).inputHash();
+        if (!currentHash.equals(target.inputHash())) {
+            log.debug("[처방 재생성] 생성 중 기록이 수정되어 결과 폐기: prescriptionId={}", target.prescriptionId());
+            return false;
+        }
+        prescription.get().update(content.category(), content.recommendationText(), content.journalExplain(),
+                target.inputHash(), content.generationVersion());
+        return true;
+    }
+
+    public record RefreshTarget(Long prescriptionId, PrescriptionContext context, String inputHash) {
+    }
+}
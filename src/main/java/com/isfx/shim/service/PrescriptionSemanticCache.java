@@ -0,0 +1,274 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 처방 의미 기반 캐시 (프로세스 내 벡터 인덱스)
+ *
+ * 같은 사용자의 기록 중 프롬프트 입력값(에너지 레벨, 날씨, 기온 구간, 이동 수단, 혼잡도, 감정/대화 수준, 만남 횟수)이
+ * 같은 버킷 안에서 일기 임베딩이 충분히 비슷하면 이전 처방을 재사용합니다.
+ * journal_explain은 일기 내용을 인용하므로 다른 사용자에게는 절대 재사용하지 않습니다. (사용자 ID가 없는 입력은 캐시하지 않음)
+ * 버킷 단위로 후보가 수백 개 이하로 제한되므로, 근사 인덱스(HNSW) 대신 버킷 내 전수 코사인 비교를 사용합니다.
+ * - 버킷별 최대 항목 수 초과 시 가장 오래 조회되지 않은 항목부터 제거 (LRU), TTL 경과 항목은 조회 시 제거
+ * - 전체 항목 수가 max-entries를 넘으면 가장 오래 사용되지 않은 버킷부터 통째로 제거 (사용자 × 입력 조합만큼 버킷이 늘어나므로)
+ * - 주기적으로(sweep-interval-ms) TTL 경과 항목과 빈 버킷을 정리 (다시 조회되지 않는 버킷도 남지 않도록)
+ * - 메트릭: ai.prescription.semantic_cache.requests (result=hit/miss), ai.prescription.semantic_cache.size,
+ *   ai.prescription.semantic_cache.buckets
+ */
+@Slf4j
+@Component
+public class PrescriptionSemanticCache {
+
+    private static final int TEMPERATURE_BUCKET_SIZE = 5;
+    // 전체 상한 초과 시 이 비율까지 줄임 (상한 근처에서 매 등록마다 정리하지 않도록)
+    private static final double EVICTION_LOW_WATER_MARK = 0.9;
+
+    private final EmbeddingProvider embeddingProvider;
+    private final boolean enabled;
+    private final double threshold;
+    private final int maxEntriesPerBucket;
+    private final int maxEntries;
+    private final Duration ttl;
+
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong size = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrescriptionSemanticCache(EmbeddingProvider embeddingProvider,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${ai.prescription.semantic-cache.enabled:true}") boolean enabled,
+                                     @Value("${ai.prescription.semantic-cache.threshold:0.9}") double threshold,
+                                     @Value("${ai.prescription.semantic-cache.max-entries-per-bucket:200}") int maxEntriesPerBucket,
+                                     @Value("${ai.prescription.semantic-cache.max-entries:50000}") int maxEntries,
+                                     @Value("${ai.prescription.semantic-cache.ttl-hours:168}") long ttlHours) {
+        this.embeddingProvider = embeddingProvider;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxEntriesPerBucket = maxEntriesPerBucket;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofHours(ttlHours);
+
+        this.hits = Counter.builder("ai.prescription.semantic_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("ai.prescription.semantic_cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("ai.prescription.semantic_cache.size", size, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("ai.prescription.semantic_cache.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 유사도가 임계값 이상인 가장 가까운 이전 처방 조회
+     */
+    public Optional<PrescriptionContent> find(PrescriptionContext context) {
+        if (!enabled || context.userId() == null) {
+            return Optional.empty();
+        }
+        Bucket bucket = buckets.get(BucketKey.of(context));
+        if (bucket == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        float[] query = embeddingProvider.embed(context.journal());
+        Optional<Match> match = bucket.nearest(query, LocalDateTime.now().minus(ttl));
+        if (match.isPresent() && match.get().similarity() >= threshold) {
+            hits.increment();
+            log.debug("[AI 처방 캐시] 유사 처방 재사용: recordId={}, similarity={}", context.recordId(), match.get().similarity());
+            return Optional.of(match.get().content());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 새로 생성된 처방 등록 (LLM 응답을 정상 파싱한 경우에만 호출)
+     */
+    public void put(PrescriptionContext context, PrescriptionContent content) {
+        if (!enabled || context.userId() == null) {
+            return;
+        }
+        float[] vector = embeddingProvider.embed(context.journal());
+        Entry entry = new Entry(vector, content, LocalDateTime.now());
+        // 버킷 생성과 등록을 한 번에 처리 → 정리 작업이 빈 버킷을 지우는 것과 겹쳐도 항목이 유실되지 않음
+        buckets.compute(BucketKey.of(context), (key, bucket) -> {
+            Bucket target = bucket != null ? bucket : new Bucket();
+            target.add(sequence.incrementAndGet(), entry);
+            return target;
+        });
+        if (size.get() > maxEntries) {
+            evictLeastRecentlyUsedBuckets();
+        }
+    }
+
+    /**
+     * TTL 경과 항목과 빈 버킷 정리
+     */
+    @Scheduled(fixedDelayString = "${ai.prescription.semantic-cache.sweep-interval-ms:600000}")
+    public void evictExpired() {
+        evictExpired(LocalDateTime.now());
+    }
+
+    void evictExpired(LocalDateTime now) {
+        LocalDateTime expiredBefore = now.minus(ttl);
+        int removedBuckets = 0;
+        for (BucketKey key : buckets.keySet()) {
+            Bucket removed = buckets.computeIfPresent(key, (k, bucket) ->
+                    bucket.removeExpired(expiredBefore) ? null : bucket);
+            if (removed == null) {
+                removedBuckets++;
+            }
+        }
+        if (removedBuckets > 0) {
+            log.debug("[AI 처방 캐시] 만료 정리: removedBuckets={}, buckets={}, size={}",
+                    removedBuckets, buckets.size(), size.get());
+        }
+    }
+
+    /**
+     * 전체 항목 수가 상한을 넘으면 가장 오래 사용되지 않은 버킷부터 제거
+     */
+    private synchronized void evictLeastRecentlyUsedBuckets() {
+        long target = (long) (maxEntries * EVICTION_LOW_WATER_MARK);
+        if (size.get() <= target) {
+            return;
+        }
+        List<Map.Entry<BucketKey, Bucket>> candidates = new ArrayList<>(buckets.entrySet());
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastUsed));
+        int removedBuckets = 0;
+        for (Map.Entry<BucketKey, Bucket> candidate : candidates) {
+            if (size.get() <= target) {
+                break;
+            }
+            buckets.computeIfPresent(candidate.getKey(), (key, bucket) -> {
+                bucket.clear();
+                return null;
+            });
+            removedBuckets++;
+        }
+        log.info("[AI 처방 캐시] 전체 상한 초과로 버킷 제거: removedBuckets={}, size={}, maxEntries={}",
+                removedBuckets, size.get(), maxEntries);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    private final class Bucket {
+        // 접근 순서 유지 → 가장 오래 조회되지 않은 항목이 맨 앞
+        private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        // 마지막 조회/등록 순번 (전체 상한 초과 시 오래된 버킷부터 제거)
+        private volatile long lastUsed;
+
+        synchronized Optional<Match> nearest(float[] query, LocalDateTime expiredBefore) {
+            lastUsed = sequence.incrementAndGet();
+            Long bestId = null;
+            Entry best = null;
+            double bestSimilarity = -1;
+
+            Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Entry> candidate = iterator.next();
+                if (candidate.getValue().createdAt().isBefore(expiredBefore)) {
+                    iterator.remove();
+                    size.decrementAndGet();
+                    continue;
+                }
+                double similarity = dot(query, candidate.getValue().vector());
+                if (similarity > bestSimilarity) {
+                    bestSimilarity = similarity;
+                    bestId = candidate.getKey();
+                    best = candidate.getValue();
+                }
+            }
+            if (best == null) {
+                return Optional.empty();
+            }
+            // 조회된 항목을 최근 사용으로 갱신
+            entries.get(bestId);
+            return Optional.of(new Match(best.content(), bestSimilarity));
+        }
+
+        synchronized void add(Long id, Entry entry) {
+            lastUsed = id;
+            entries.put(id, entry);
+            size.incrementAndGet();
+            while (entries.size() > maxEntriesPerBucket) {
+                Iterator<Long> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                size.decrementAndGet();
+            }
+        }
+
+        /**
+         * TTL 경과 항목 제거 후 비었으면 true
+         */
+        synchronized boolean removeExpired(LocalDateTime expiredBefore) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().createdAt().isBefore(expiredBefore)) {
+                    iterator.remove();
+                    size.decrementAndGet();
+                }
+            }
+            return entries.isEmpty();
+        }
+
+        synchronized void clear() {
+            size.addAndGet(-entries.size());
+            entries.clear();
+        }
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    // 프롬프트에 들어가는 값 중 일기 외의 값은 모두 같아야 같은 버킷 (기온만 구간 단위)
+    private record BucketKey(Long userId, EnergyLevel energyLevel, WeatherCondition weatherCondition,
+                             int temperatureBucket, TransportMode transportMode, Integer congestionLevel,
+                             Integer emotionLevel, Integer conversationLevel, Integer meetingCount) {
+        static BucketKey of(PrescriptionContext context) {
+            int temperatureBucket = context.temperature() != null
+                    ? (int) Math.floor(context.temperature() / TEMPERATURE_BUCKET_SIZE)
+                    : Integer.MIN_VALUE;
+            return new BucketKey(context.userId(), context.energyLevel(), context.weatherCondition(), temperatureBucket,
+                    context.transportMode(), context.congestionLevel(), context.emotionLevel(),
+                    context.conversationLevel(), context.meetingCount());
+        }
+    }
+
+    private record Entry(float[] vector, PrescriptionContent content, LocalDateTime createdAt) {
+    }
+
+    private record Match(PrescriptionContent content, double similarity) {
+    }
+}
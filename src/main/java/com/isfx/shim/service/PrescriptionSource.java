@@ -0,0 +1,15 @@
+package com.isfx.shim.service;
+
+/**
+ * 처방 내용의 출처 (저장할 generation_version 결정용)
+ */
+public enum PrescriptionSource {
+    // 이번 요청에서 LLM이 생성
+    LLM,
+    // 의미 기반 캐시에 저장된 같은 사용자의 LLM 응답
+    CACHE,
+    // 일기 없는 기록에 쓰는 미리 생성한 처방
+    TEMPLATE,
+    // LLM 호출 실패/필드 누락/호출량 초과로 대신 사용한 기본 문구 또는 템플릿
+    FALLBACK
+}
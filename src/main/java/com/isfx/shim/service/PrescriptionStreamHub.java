@@ -0,0 +1,179 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.CreateRecordResponseDto;
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 작업자가 생성 중인 AI 처방 조각을 SSE 구독자에게 전달하는 중계소 (기록 ID 단위)
+ *
+ * 이벤트:
+ * - journal_explain / recommendation_text: 생성된 텍스트 조각
+ * - reset: 생성이 다시 시작됨 (받은 조각을 버려야 함)
+ * - done: 최종 처방 (스트리밍 중 실패하여 기본 문구로 대체된 경우 포함, 클라이언트는 이 값으로 교체)
+ * - status: 이 연결에서는 결과를 전달할 수 없음 (클라이언트는 상태 조회 API로 폴링)
+ *
+ * 생성이 시작되기 전에 구독하면 대기하다가, 시작되면 이미 생성된 조각부터 다시 보내줍니다.
+ * 같은 인스턴스의 작업자가 처리하는 경우에만 중계되며, 그 외에는 SSE 타임아웃 후 폴링으로 대체됩니다.
+ */
+@Slf4j
+@Component
+public class PrescriptionStreamHub {
+
+    private final Map<Long, LiveStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * 구독 등록 (생성 중이면 지금까지의 조각을 즉시 재전송)
+     */
+    public void subscribe(Long recordId, SseEmitter emitter) {
+        LiveStream stream = streams.computeIfAbsent(recordId, id -> new LiveStream());
+        synchronized (stream) {
+            if (stream.closed) {
+                // 구독 직전에 완료된 경우: 결과는 상태 조회로 확인
+                sendStatus(emitter, PrescriptionStatus.DONE);
+                return;
+            }
+            for (StreamEvent event : stream.events) {
+                if (!send(emitter, event)) {
+                    return;
+                }
+            }
+            stream.subscribers.add(emitter);
+        }
+
+        Runnable unsubscribe = () -> unsubscribe(recordId, stream, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+    }
+
+    /**
+     * 작업자가 생성을 시작할 때 호출 (재시도로 다시 시작하면 이전 조각을 버림)
+     */
+    public void open(Long recordId) {
+        LiveStream stream = streams.computeIfAbsent(recordId, id -> new LiveStream());
+        synchronized (stream) {
+            if (!stream.events.isEmpty()) {
+                stream.events.clear();
+                broadcast(stream, new StreamEvent("reset", ""));
+            }
+        }
+    }
+
+    public void publish(Long recordId, String field, String delta) {
+        LiveStream stream = streams.get(recordId);
+        if (stream == null) {
+            return;
+        }
+        synchronized (stream) {
+            StreamEvent event = new StreamEvent(field, delta);
+            stream.events.add(event);
+            broadcast(stream, event);
+        }
+    }
+
+    /**
+     * 생성 완료: 최종 처방을 전달하고 연결 종료
+     */
+    public void complete(Long recordId, PrescriptionContent content) {
+        CreateRecordResponseDto.AiPrescriptionDto result = CreateRecordResponseDto.AiPrescriptionDto.builder()
+                .status(PrescriptionStatus.DONE.name())
+                .category(content.category().name())
+                .journalExplain(content.journalExplain())
+                .recommendationText(content.recommendationText())
+                .build();
+        close(recordId, new StreamEvent("done", result));
+    }
+
+    /**
+     * 이 실행의 결과를 전달할 수 없는 경우 (실패 후 재시도 대기, 기록 삭제 등)
+     */
+    public void abort(Long recordId, PrescriptionStatus status) {
+        close(recordId, new StreamEvent("status", statusOf(status)));
+    }
+
+    /**
+     * 처리 중 기록이 수정되어 결과가 버려진 경우: 구독은 유지한 채 새 생성을 기다림
+     */
+    public void reset(Long recordId) {
+        LiveStream stream = streams.get(recordId);
+        if (stream == null) {
+            return;
+        }
+        synchronized (stream) {
+            stream.events.clear();
+            broadcast(stream, new StreamEvent("reset", ""));
+        }
+    }
+
+    private void close(Long recordId, StreamEvent lastEvent) {
+        LiveStream stream = streams.remove(recordId);
+        if (stream == null) {
+            return;
+        }
+        synchronized (stream) {
+            stream.closed = true;
+            broadcast(stream, lastEvent);
+            stream.subscribers.forEach(SseEmitter::complete);
+            stream.subscribers.clear();
+        }
+    }
+
+    private void unsubscribe(Long recordId, LiveStream stream, SseEmitter emitter) {
+        synchronized (stream) {
+            stream.subscribers.remove(emitter);
+            // 구독자도 없고 생성도 시작되지 않은 대기 항목은 정리
+            if (stream.subscribers.isEmpty() && stream.events.isEmpty()) {
+                streams.remove(recordId, stream);
+            }
+        }
+    }
+
+    private void broadcast(LiveStream stream, StreamEvent event) {
+        Iterator<SseEmitter> iterator = stream.subscribers.iterator();
+        while (iterator.hasNext()) {
+            if (!send(iterator.next(), event)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void sendStatus(SseEmitter emitter, PrescriptionStatus status) {
+        send(emitter, new StreamEvent("status", statusOf(status)));
+        emitter.complete();
+    }
+
+    private boolean send(SseEmitter emitter, StreamEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료
+            log.debug("[AI 처방 스트림] 구독자 전송 실패, 구독 해제: event={}, error={}", event.name(), e.getMessage());
+            return false;
+        }
+    }
+
+    private CreateRecordResponseDto.AiPrescriptionDto statusOf(PrescriptionStatus status) {
+        return CreateRecordResponseDto.AiPrescriptionDto.builder()
+                .status(status.name())
+                .build();
+    }
+
+    private static final class LiveStream {
+        private final List<StreamEvent> events = new ArrayList<>();
+        private final List<SseEmitter> subscribers = new ArrayList<>();
+        private boolean closed;
+    }
+
+    private record StreamEvent(String name, Object data) {
+    }
+}
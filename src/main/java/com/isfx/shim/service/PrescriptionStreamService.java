@@ -0,0 +1,65 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.CreateRecordResponseDto;
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * AI 처방 SSE 스트림 연결
+ * 이미 생성이 끝났으면 결과를 바로 보내고, 생성 중이거나 대기 중이면 작업자의 생성 조각을 구독합니다.
+ */
+@Slf4j
+@Service
+public class PrescriptionStreamService {
+
+    private final RecordService recordService;
+    private final PrescriptionStreamHub prescriptionStreamHub;
+    private final long timeoutMs;
+
+    public PrescriptionStreamService(RecordService recordService,
+                                     PrescriptionStreamHub prescriptionStreamHub,
+                                     @Value("${ai.prescription.stream-timeout-ms:60000}") long timeoutMs) {
+        this.recordService = recordService;
+        this.prescriptionStreamHub = prescriptionStreamHub;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter stream(Long userId, Long recordId) {
+        // 권한 확인 및 현재 상태 조회 (짧은 읽기 트랜잭션, 이후 커넥션을 잡지 않음)
+        CreateRecordResponseDto.AiPrescriptionDto current = recordService.getPrescription(userId, recordId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        if (!isGenerating(current)) {
+            sendAndComplete(emitter, current);
+            return emitter;
+        }
+
+        prescriptionStreamHub.subscribe(recordId, emitter);
+
+        // 상태 조회와 구독 사이에 생성이 끝난 경우 완료 이벤트를 놓치지 않도록 다시 확인
+        CreateRecordResponseDto.AiPrescriptionDto latest = recordService.getPrescription(userId, recordId);
+        if (!isGenerating(latest)) {
+            sendAndComplete(emitter, latest);
+        }
+        return emitter;
+    }
+
+    private boolean isGenerating(CreateRecordResponseDto.AiPrescriptionDto prescription) {
+        return PrescriptionStatus.PENDING.name().equals(prescription.getStatus())
+                || PrescriptionStatus.IN_PROGRESS.name().equals(prescription.getStatus());
+    }
+
+    private void sendAndComplete(SseEmitter emitter, CreateRecordResponseDto.AiPrescriptionDto prescription) {
+        try {
+            String eventName = PrescriptionStatus.DONE.name().equals(prescription.getStatus()) ? "done" : "status";
+            emitter.send(SseEmitter.event().name(eventName).data(prescription));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("[AI 처방 스트림] 결과 전송 실패: error={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.global.monitoring.LlmUsageMonitor;
+import com.isfx.shim.global.util.TokenBucket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 조합별 처방 템플릿 야간 생성
+ *
+ * 템플릿이 없거나 refresh-days보다 오래된 조합만 골라 LLM으로 variants개씩 다시 생성합니다.
+ * 일부 변형만 생성된 경우에도 그대로 저장하고, 생성 시각 기준으로 refresh-days가 지나면 다시 생성합니다. (매일 재시도하지 않음)
+ * 사용자 요청이 우선이므로 분당 requests-per-minute건으로 천천히 호출하고, 한 번에 max-combinations-per-run개까지만 처리합니다.
+ * 실행 시간이 max-run-minutes를 넘으면 남은 조합은 다음 실행으로 미룹니다.
+ * 게이트웨이가 요청을 차단하거나 일일 토큰 예산이 소진되면 중단하고 남은 조합은 다음 실행에서 처리합니다.
+ * 실행이 끝나면 메모리 사본(PrescriptionTemplateLibrary)을 다시 읽습니다.
+ * (여러 인스턴스에서 실행하면 같은 조합을 중복 생성하므로 생성은 한 인스턴스에서만 켜고, 나머지는 cron으로 다시 읽기만 하도록 설정)
+ */
+@Slf4j
+@Component
+public class PrescriptionTemplateJob {
+
+    private final PrescriptionGenerator prescriptionGenerator;
+    private final PrescriptionTemplateService prescriptionTemplateService;
+    private final PrescriptionTemplateLibrary prescriptionTemplateLibrary;
+    private final LlmUsageMonitor usageMonitor;
+    private final boolean generationEnabled;
+    private final int variants;
+    private final int refreshDays;
+    private final int maxCombinationsPerRun;
+    private final Duration maxRunDuration;
+    private final TokenBucket throttle;
+
+    public PrescriptionTemplateJob(PrescriptionGenerator prescriptionGenerator,
+                                   PrescriptionTemplateService prescriptionTemplateService,
+                                   PrescriptionTemplateLibrary prescriptionTemplateLibrary,
+                                   LlmUsageMonitor usageMonitor,
+                                   @Value("${ai.prescription.templates.generation-enabled:true}") boolean generationEnabled,
+                                   @Value("${ai.prescription.templates.variants:3}") int variants,
+                                   @Value("${ai.prescription.templates.refresh-days:7}") int refreshDays,
+                                   @Value("${ai.prescription.templates.max-combinations-per-run:200}") int maxCombinationsPerRun,
+                                   @Value("${ai.prescription.templates.requests-per-minute:20}") int requestsPerMinute,
+                                   @Value("${ai.prescription.templates.max-run-minutes:60}") long maxRunMinutes) {
+        this.prescriptionGenerator = prescriptionGenerator;
+        this.prescriptionTemplateService = prescriptionTemplateService;
+        this.prescriptionTemplateLibrary = prescriptionTemplateLibrary;
+        this.usageMonitor = usageMonitor;
+        this.generationEnabled = generationEnabled;
+        this.variants = variants;
+        this.refreshDays = refreshDays;
+        this.maxCombinationsPerRun = maxCombinationsPerRun;
+        this.maxRunDuration = Duration.ofMinutes(maxRunMinutes);
+        this.throttle = new TokenBucket(1, requestsPerMinute / 60.0);
+    }
+
+    @Scheduled(cron = "${ai.prescription.templates.cron:0 0 4 * * *}")
+    public void refreshTemplates() {
+        if (generationEnabled) {
+            generateStaleCombinations();
+        }
+        prescriptionTemplateLibrary.reload();
+    }
+
+    private void generateStaleCombinations() {
+        Set<PrescriptionTemplateKey> fresh = prescriptionTemplateService.findFreshCombinations(
+                LocalDateTime.now().minusDays(refreshDays));
+        List<PrescriptionTemplateKey> targets = PrescriptionTemplateKey.all().stream()
+                .filter(key -> !fresh.contains(key))
+                .limit(maxCombinationsPerRun)
+                .toList();
+        if (targets.isEmpty()) {
+            log.debug("[처방 템플릿] 갱신할 조합 없음");
+            return;
+        }
+
+        log.info("[처방 템플릿] 생성 시작: targets={}, variants={}, maxRunMinutes={}",
+                targets.size(), variants, maxRunDuration.toMinutes());
+        long deadlineNanos = System.nanoTime() + maxRunDuration.toNanos();
+        int generated = 0;
+        int partial = 0;
+        int failed = 0;
+        // 실행 시간 안에 처리하지 못한 조합 (갱신되지 않았으므로 다음 실행에서 다시 대상)
+        int deferred = 0;
+        for (int i = 0; i < targets.size(); i++) {
+            PrescriptionTemplateKey key = targets.get(i);
+            if (usageMonitor.isDailyBudgetExhausted()) {
+                log.warn("[처방 템플릿] 일일 토큰 예산 소진으로 중단: generated={}", generated);
+                break;
+            }
+            try {
+                // 다음 호출 차례가 실행 기한 이후면 남은 조합 전체를 미룸
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0 || !throttle.tryAcquire(Duration.ofNanos(remainingNanos))) {
+                    deferred = targets.size() - i;
+                    break;
+                }
+                List<PrescriptionContent> contents = prescriptionGenerator.generateVariants(
+                        key.representativeContext(), variants);
+                if (contents.isEmpty()) {
+                    failed++;
+                    continue;
+                }
+                prescriptionTemplateService.replace(key, contents);
+                generated++;
+                if (contents.size() < variants) {
+                    partial++;
+                    log.debug("[처방 템플릿] 일부 변형만 생성: key={}, variants={}/{}", key, contents.size(), variants);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (LlmGateway.LoadShedException e) {
+                log.warn("[처방 템플릿] LLM 호출량 초과로 중단: generated={}, reason={}", generated, e.getReason());
+                break;
+            } catch (Exception e) {
+                failed++;
+                log.error("[처방 템플릿] 조합 생성 실패: key={}, error={}", key, e.getMessage());
+            }
+        }
+        if (deferred > 0) {
+            log.warn("[처방 템플릿] 실행 시간 초과로 미룬 조합: deferred={}, maxRunMinutes={}",
+                    deferred, maxRunDuration.toMinutes());
+        }
+        log.info("[처방 템플릿] 생성 종료: generated={}, partial={}, failed={}, deferred={}",
+                generated, partial, failed, deferred);
+    }
+}
@@ -0,0 +1,100 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.PrescriptionTemplate;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 미리 생성한 처방(PrescriptionTemplate)의 입력 조합
+ * 감정/대화 수준(1~5)과 만남 횟수는 3개 구간으로 묶어 조합 수를 1,215개로 제한합니다.
+ */
+public record PrescriptionTemplateKey(
+        EnergyLevel energyLevel,
+        WeatherCondition weatherCondition,
+        TransportMode transportMode,
+        int emotionBucket,
+        int conversationBucket,
+        int meetingBucket) {
+
+    private static final int BUCKET_COUNT = 3;
+    // 구간별 대표값 (조합별 생성 프롬프트에 사용)
+    private static final int[] LEVEL_REPRESENTATIVES = {2, 3, 4};
+    private static final int[] MEETING_REPRESENTATIVES = {0, 1, 3};
+
+    /**
+     * 기록 값의 조합 (에너지 레벨/이동 수단이 없으면 empty, 날씨가 없으면 other로 취급)
+     */
+    public static Optional<PrescriptionTemplateKey> of(PrescriptionContext context) {
+        if (context.energyLevel() == null || context.transportMode() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new PrescriptionTemplateKey(
+                context.energyLevel(),
+                context.weatherCondition() != null ? context.weatherCondition() : WeatherCondition.other,
+                context.transportMode(),
+                levelBucket(context.emotionLevel()),
+                levelBucket(context.conversationLevel()),
+                meetingBucket(context.meetingCount())));
+    }
+
+    public static PrescriptionTemplateKey of(PrescriptionTemplate template) {
+        return new PrescriptionTemplateKey(template.getEnergyLevel(), template.getWeatherCondition(),
+                template.getTransportMode(), template.getEmotionBucket(), template.getConversationBucket(),
+                template.getMeetingBucket());
+    }
+
+    /**
+     * 전체 조합
+     */
+    public static List<PrescriptionTemplateKey> all() {
+        List<PrescriptionTemplateKey> keys = new ArrayList<>();
+        for (EnergyLevel energyLevel : EnergyLevel.values()) {
+            for (WeatherCondition weatherCondition : WeatherCondition.values()) {
+                for (TransportMode transportMode : TransportMode.values()) {
+                    for (int emotion = 0; emotion < BUCKET_COUNT; emotion++) {
+                        for (int conversation = 0; conversation < BUCKET_COUNT; conversation++) {
+                            for (int meeting = 0; meeting < BUCKET_COUNT; meeting++) {
+                                keys.add(new PrescriptionTemplateKey(energyLevel, weatherCondition, transportMode,
+                                        emotion, conversation, meeting));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 조합의 대표값으로 구성한 처방 입력 (일기 없음, 점수는 레벨 구간의 중앙값)
+     */
+    public PrescriptionContext representativeContext() {
+        EnergyScoreModel model = EnergyScoreModel.CURRENT;
+        double energyScore = switch (energyLevel) {
+            case LOW -> model.getMediumThreshold() / 2;
+            case MEDIUM -> (model.getMediumThreshold() + model.getHighThreshold()) / 2;
+            case HIGH -> (model.getHighThreshold() + 100) / 2;
+        };
+        return new PrescriptionContext(null, null, null, energyScore, energyLevel, weatherCondition, null, null,
+                transportMode, LEVEL_REPRESENTATIVES[emotionBucket], LEVEL_REPRESENTATIVES[conversationBucket],
+                MEETING_REPRESENTATIVES[meetingBucket]);
+    }
+
+    private static int levelBucket(Integer level) {
+        if (level == null || level <= 2) {
+            return 0;
+        }
+        return level == 3 ? 1 : 2;
+    }
+
+    private static int meetingBucket(Integer meetingCount) {
+        if (meetingCount == null || meetingCount == 0) {
+            return 0;
+        }
+        return meetingCount <= 2 ? 1 : 2;
+    }
+}
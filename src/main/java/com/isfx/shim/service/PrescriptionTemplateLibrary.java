@@ -0,0 +1,79 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.PrescriptionTemplate;
+import com.isfx.shim.repository.PrescriptionTemplateRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 미리 생성한 처방(prescription_templates)의 메모리 사본
+ *
+ * 조합당 몇 개의 변형만 있으므로 전체(최대 수천 행)를 메모리에 올려 두고 DB 조회 없이 응답합니다.
+ * 시작 시와 PrescriptionTemplateJob 실행 후 다시 읽습니다.
+ * - 메트릭: ai.prescription.templates.combinations (템플릿이 있는 조합 수)
+ */
+@Slf4j
+@Component
+public class PrescriptionTemplateLibrary {
+
+    private final PrescriptionTemplateRepository prescriptionTemplateRepository;
+
+    private volatile Map<PrescriptionTemplateKey, List<PrescriptionContent>> templates = Map.of();
+
+    public PrescriptionTemplateLibrary(PrescriptionTemplateRepository prescriptionTemplateRepository,
+                                       MeterRegistry meterRegistry) {
+        this.prescriptionTemplateRepository = prescriptionTemplateRepository;
+        Gauge.builder("ai.prescription.templates.combinations", this, library -> library.templates.size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 템플릿이 없으면 기존처럼 LLM/기본 문구로 처리
+            log.error("[처방 템플릿] 시작 시 로딩 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    public void reload() {
+        Map<PrescriptionTemplateKey, List<PrescriptionContent>> loaded = new HashMap<>();
+        List<PrescriptionTemplate> rows = new ArrayList<>(prescriptionTemplateRepository.findAll());
+        rows.sort(Comparator.comparing(PrescriptionTemplate::getVariant));
+        for (PrescriptionTemplate row : rows) {
+            loaded.computeIfAbsent(PrescriptionTemplateKey.of(row), key -> new ArrayList<>())
+                    .add(new PrescriptionContent(row.getCategory(), row.getJournalExplain(), row.getRecommendationText(),
+                            PrescriptionSource.TEMPLATE));
+        }
+        templates = loaded;
+        log.info("[처방 템플릿] 로딩 완료: combinations={}, templates={}", loaded.size(), rows.size());
+    }
+
+    /**
+     * 기록 값의 조합에 해당하는 템플릿 (같은 기록에는 항상 같은 변형)
+     */
+    public Optional<PrescriptionContent> find(PrescriptionContext context) {
+        Optional<PrescriptionTemplateKey> key = PrescriptionTemplateKey.of(context);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        List<PrescriptionContent> variants = templates.get(key.get());
+        if (variants == null || variants.isEmpty()) {
+            return Optional.empty();
+        }
+        int index = Math.floorMod(Objects.hashCode(context.recordId()), variants.size());
+        return Optional.of(variants.get(index));
+    }
+}
@@ -0,0 +1,58 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.PrescriptionTemplate;
+import com.isfx.shim.repository.PrescriptionTemplateRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 처방 템플릿 저장/조회 (각 메서드는 짧은 트랜잭션, LLM 호출은 PrescriptionTemplateJob이 트랜잭션 밖에서 수행)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PrescriptionTemplateService {
+
+    private final PrescriptionTemplateRepository prescriptionTemplateRepository;
+
+    /**
+     * 기준 시각 이후 생성된 조합 (변형 수와 무관: 일부만 생성된 조합도 생성 시각 기준으로 갱신 주기를 따름)
+     */
+    public Set<PrescriptionTemplateKey> findFreshCombinations(LocalDateTime generatedAfter) {
+        return prescriptionTemplateRepository.findAllByGeneratedAtAfter(generatedAfter).stream()
+                .map(PrescriptionTemplateKey::of)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 조합의 변형을 새로 생성한 목록으로 교체
+     */
+    @Transactional
+    public void replace(PrescriptionTemplateKey key, List<PrescriptionContent> variants) {
+        prescriptionTemplateRepository.deleteCombination(key.energyLevel(), key.weatherCondition(),
+                key.transportMode(), key.emotionBucket(), key.conversationBucket(), key.meetingBucket());
+
+        LocalDateTime generatedAt = LocalDateTime.now();
+        for (int i = 0; i < variants.size(); i++) {
+            PrescriptionContent content = variants.get(i);
+            prescriptionTemplateRepository.save(PrescriptionTemplate.builder()
+                    .energyLevel(key.energyLevel())
+                    .weatherCondition(key.weatherCondition())
+                    .transportMode(key.transportMode())
+                    .emotionBucket(key.emotionBucket())
+                    .conversationBucket(key.conversationBucket())
+                    .meetingBucket(key.meetingBucket())
+                    .variant(i)
+                    .category(content.category())
+                    .journalExplain(content.journalExplain())
+                    .recommendationText(content.recommendationText())
+                    .generatedAt(generatedAt)
+                    .build());
+        }
+    }
+}
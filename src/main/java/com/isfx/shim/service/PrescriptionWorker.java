@@ -0,0 +1,135 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import com.isfx.shim.service.PrescriptionJobService.ClaimedJob;
+import com.isfx.shim.service.PrescriptionJobService.PrescriptionRequestedEvent;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * AI 처방 생성 작업자
+ * 고정 크기 스레드 풀과 유한 큐로 동시 LLM 호출 수를 제한합니다.
+ * 큐가 가득 차면 작업은 DB에 PENDING으로 남고, 주기적인 폴링이 다시 가져갑니다.
+ */
+@Slf4j
+@Component
+public class PrescriptionWorker {
+
+    private final PrescriptionJobService prescriptionJobService;
+    private final PrescriptionGenerator prescriptionGenerator;
+    private final PrescriptionStreamHub prescriptionStreamHub;
+    private final ThreadPoolExecutor executor;
+    private final Duration staleAfter;
+
+    public PrescriptionWorker(PrescriptionJobService prescriptionJobService,
+                              PrescriptionGenerator prescriptionGenerator,
+                              PrescriptionStreamHub prescriptionStreamHub,
+                              @Value("${ai.prescription.worker.threads:4}") int threads,
+                              @Value("${ai.prescription.worker.queue-capacity:100}") int queueCapacity,
+                              @Value("${ai.prescription.stale-after-seconds:120}") long staleAfterSeconds) {
+        this.prescriptionJobService = prescriptionJobService;
+        this.prescriptionGenerator = prescriptionGenerator;
+        this.prescriptionStreamHub = prescriptionStreamHub;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "prescription-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 기록 트랜잭션 커밋 직후 작업을 바로 실행 (폴링 주기를 기다리지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPrescriptionRequested(PrescriptionRequestedEvent event) {
+        dispatch(event.jobId());
+    }
+
+    /**
+     * 즉시 실행되지 못한 작업(큐 포화, 재시도 대기, 다른 인스턴스 종료)을 주기적으로 가져와 실행
+     */
+    @Scheduled(fixedDelayString = "${ai.prescription.poll-interval-ms:5000}")
+    public void pollPendingJobs() {
+        prescriptionJobService.recoverStaleJobs(staleAfter);
+
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> jobIds = prescriptionJobService.findDispatchableJobIds(capacity);
+        for (Long jobId : jobIds) {
+            if (!dispatch(jobId)) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중이던 작업은 IN_PROGRESS로 남고, 다음 실행에서 stale 작업으로 복구됨
+        executor.shutdownNow();
+    }
+
+    private boolean dispatch(Long jobId) {
+        try {
+            executor.execute(() -> process(jobId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("[AI 처방 작업] 작업 큐 포화, 다음 폴링에서 처리: jobId={}, queued={}", jobId, executor.getQueue().size());
+            return false;
+        }
+    }
+
+    private void process(Long jobId) {
+        Optional<ClaimedJob> claimed = prescriptionJobService.claim(jobId);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        ClaimedJob job = claimed.get();
+
+        try {
+            Optional<PrescriptionContext> context = prescriptionJobService.loadContext(job.recordId());
+            if (context.isEmpty()) {
+                prescriptionJobService.discard(job);
+                prescriptionStreamHub.abort(job.recordId(), PrescriptionStatus.FAILED);
+                return;
+            }
+
+            // Upstage API 스트리밍 호출 (트랜잭션/DB 커넥션 없이 실행), 생성되는 조각은 SSE 구독자에게 중계
+            prescriptionStreamHub.open(job.recordId());
+            PrescriptionContent content = prescriptionGenerator.generateStreaming(context.get(),
+                    (field, delta) -> prescriptionStreamHub.publish(job.recordId(), field, delta));
+
+            if (prescriptionJobService.complete(job, content)) {
+                prescriptionStreamHub.complete(job.recordId(), content);
+                log.info("[AI 처방 작업] 처방 생성 완료: jobId={}, recordId={}, attempts={}",
+                        job.jobId(), job.recordId(), job.attempts());
+            } else {
+                // 처리 중 기록이 수정됨 → 새 revision 작업의 스트림을 기다리도록 구독 유지
+                prescriptionStreamHub.reset(job.recordId());
+            }
+        } catch (Exception e) {
+            prescriptionJobService.fail(job, e.getMessage());
+            prescriptionStreamHub.abort(job.recordId(), PrescriptionStatus.PENDING);
+        }
+    }
+}
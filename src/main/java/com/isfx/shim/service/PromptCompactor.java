@@ -0,0 +1,208 @@
+package com.isfx.shim.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 요청 전 프롬프트 압축 (외부 호출 없이 CPU로만 처리)
+ *
+ * 1. 토큰 수 추정: 한글 음절 1토큰, 영문/숫자 연속 4글자당 1토큰, 그 외 기호 1토큰 (공백 제외)
+ * 2. 요청 전체 예산(max-input-tokens)에서 일기 외 부분을 뺀 만큼을 일기 예산으로 사용 (journal-token-budget 이하)
+ * 3. 일기가 예산을 넘으면 문장 단위로 점수를 매겨(자주 나온 단어를 많이 담은 문장 + 첫/마지막 문장 가산)
+ *    높은 순으로 예산만큼 고른 뒤 원래 순서대로 이어 붙임
+ * 아주 긴 일기는 앞/뒤 max-scan-chars만 읽으므로 일기 길이와 관계없이 처리 시간과 요청 크기가 일정합니다.
+ */
+@Slf4j
+@Component
+public class PromptCompactor {
+
+    // 문장 경계: 마침표/물음표/느낌표/말줄임표 뒤, 또는 줄바꿈
+    private static final Pattern SENTENCE = Pattern.compile("[^.!?…\\n]+[.!?…]*");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]{2,}");
+    private static final double EDGE_SENTENCE_BONUS = 1.5;
+    private static final String OMISSION = " … ";
+
+    private final int maxInputTokens;
+    private final int journalTokenBudget;
+    private final int maxScanChars;
+
+    public PromptCompactor(@Value("${ai.prompt.max-input-tokens:1200}") int maxInputTokens,
+                           @Value("${ai.prompt.journal-token-budget:400}") int journalTokenBudget,
+                           @Value("${ai.prompt.max-scan-chars:20000}") int maxScanChars) {
+        this.maxInputTokens = maxInputTokens;
+        this.journalTokenBudget = journalTokenBudget;
+        this.maxScanChars = maxScanChars;
+    }
+
+    /**
+     * 대략적인 토큰 수 (요청 크기 제한용, 실제 토크나이저와 ±20% 차이)
+     */
+    public int estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int asciiRun = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                asciiRun++;
+                continue;
+            }
+            tokens += (asciiRun + 3) / 4;
+            asciiRun = 0;
+            if (!Character.isWhitespace(c) && !Character.isLowSurrogate(c)) {
+                tokens++;
+            }
+        }
+        return tokens + (asciiRun + 3) / 4;
+    }
+
+    /**
+     * 일기 외 프롬프트(시스템 프롬프트 + 나머지 사용자 프롬프트)가 차지하는 토큰을 뺀 예산 안으로 일기를 줄임
+     */
+    public String compactJournal(String journal, int otherPromptTokens) {
+        if (journal == null || journal.isBlank()) {
+            return "";
+        }
+        int budget = Math.max(0, Math.min(journalTokenBudget, maxInputTokens - otherPromptTokens));
+        // 추정도 앞/뒤 구간만 대상으로 해야 일기 길이와 관계없이 처리 시간이 일정함
+        String window = scanWindow(journal);
+        int estimated = estimateTokens(window);
+        if (estimated <= budget) {
+            return window.trim();
+        }
+
+        String compacted = extract(window, budget);
+        log.debug("[프롬프트 압축] 일기 축약: originalChars={}, estimatedTokens={}, budget={}, compactedTokens={}",
+                journal.length(), estimated, budget, estimateTokens(compacted));
+        return compacted;
+    }
+
+    // 너무 긴 일기는 앞부분과 뒷부분만 사용
+    private String scanWindow(String journal) {
+        if (journal.length() <= maxScanChars) {
+            return journal;
+        }
+        int half = maxScanChars / 2;
+        return journal.substring(0, half) + "\n" + journal.substring(journal.length() - half);
+    }
+
+    private String extract(String journal, int budget) {
+        List<Sentence> sentences = splitSentences(journal);
+        if (sentences.isEmpty() || budget == 0) {
+            return "";
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (Sentence sentence : sentences) {
+            for (String word : sentence.words) {
+                frequencies.merge(word, 1, Integer::sum);
+            }
+        }
+        for (Sentence sentence : sentences) {
+            sentence.score = score(sentence, frequencies, sentences.size());
+        }
+
+        // 점수 높은 순으로 예산 안에 들어가는 문장 선택
+        // 두 번째 문장부터는 앞에 붙을 수 있는 말줄임표(OMISSION) 토큰까지 예산에서 차감
+        int separatorTokens = estimateTokens(OMISSION);
+        List<Sentence> ranked = new ArrayList<>(sentences);
+        ranked.sort(Comparator.comparingDouble((Sentence sentence) -> sentence.score).reversed());
+        int used = 0;
+        for (Sentence sentence : ranked) {
+            int cost = sentence.tokens + (used == 0 ? 0 : separatorTokens);
+            if (used + cost <= budget) {
+                sentence.selected = true;
+                used += cost;
+            }
+        }
+        if (used == 0) {
+            // 한 문장도 예산에 들어가지 않으면 가장 점수 높은 문장을 잘라서 사용
+            return truncate(ranked.get(0).text, budget);
+        }
+
+        // 원래 순서대로 이어 붙이고, 빠진 구간은 말줄임표로 표시
+        StringBuilder compacted = new StringBuilder();
+        boolean skipped = false;
+        for (Sentence sentence : sentences) {
+            if (!sentence.selected) {
+                skipped = true;
+                continue;
+            }
+            if (compacted.length() > 0) {
+                compacted.append(skipped ? OMISSION : " ");
+            }
+            compacted.append(sentence.text);
+            skipped = false;
+        }
+        return compacted.toString();
+    }
+
+    private List<Sentence> splitSentences(String journal) {
+        List<Sentence> sentences = new ArrayList<>();
+        Matcher matcher = SENTENCE.matcher(journal);
+        while (matcher.find()) {
+            String text = matcher.group().trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+            List<String> words = new ArrayList<>();
+            Matcher wordMatcher = WORD.matcher(text);
+            while (wordMatcher.find()) {
+                words.add(wordMatcher.group().toLowerCase());
+            }
+            sentences.add(new Sentence(sentences.size(), text, words, estimateTokens(text)));
+        }
+        return sentences;
+    }
+
+    // 자주 나온 단어를 담은 문장일수록 높음 (길이로 정규화), 첫/마지막 문장은 가산
+    private double score(Sentence sentence, Map<String, Integer> frequencies, int sentenceCount) {
+        if (sentence.words.isEmpty()) {
+            return 0;
+        }
+        double sum = 0;
+        for (String word : sentence.words) {
+            sum += frequencies.get(word);
+        }
+        double score = sum / Math.sqrt(sentence.words.size());
+        if (sentence.index == 0 || sentence.index == sentenceCount - 1) {
+            score *= EDGE_SENTENCE_BONUS;
+        }
+        return score;
+    }
+
+    // 글자당 최대 1토큰이므로 말줄임표 몫을 뺀 budget - 1 글자까지 자르면 예산 이내 (서로게이트 쌍은 나누지 않음)
+    private String truncate(String text, int budget) {
+        int end = Math.min(text.length(), budget - 1);
+        if (end > 0 && end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end).trim() + "…";
+    }
+
+    private static final class Sentence {
+        private final int index;
+        private final String text;
+        private final List<String> words;
+        private final int tokens;
+        private double score;
+        private boolean selected;
+
+        private Sentence(int index, String text, List<String> words, int tokens) {
+            this.index = index;
+            this.text = text;
+            this.words = words;
+            this.tokens = tokens;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.CreateRecordRequest;
+import com.isfx.shim.dto.CreateRecordResponseDto;
+import com.isfx.shim.dto.UpdateRecordRequest;
+import com.isfx.shim.entity.WeatherLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 기록 생성/수정 흐름
+ * 날씨 조회(기상청/서울시 API 대기)는 트랜잭션 밖에서 먼저 끝내고, 저장은 RecordService의 짧은 트랜잭션에서 수행합니다.
+ * 외부 API가 느려져도 DB 커넥션을 잡은 채 기다리지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecordCommandService {
+
+    private final RecordService recordService;
+    private final WeatherService weatherService;
+
+    public CreateRecordResponseDto createRecord(Long userId, CreateRecordRequest request) {
+        WeatherLog weatherLog = weatherService.fetchWeatherData(
+                request.getLocation(), request.getLatitude(), request.getLongitude());
+        return recordService.createRecord(userId, request, weatherLog);
+    }
+
+    public CreateRecordResponseDto updateRecord(Long userId, Long recordId, UpdateRecordRequest request) {
+        WeatherLog weatherLog = recordService.findReusableWeather(userId, recordId, request)
+                .orElseGet(() -> weatherService.fetchWeatherData(
+                        request.getLocation(), request.getLatitude(), request.getLongitude()));
+        return recordService.updateRecord(userId, recordId, request, weatherLog);
+    }
+}
@@ -0,0 +1,265 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.dto.ImportRecordsRequest;
+import com.isfx.shim.dto.ImportRecordsRequest.ImportRecordItem;
+import com.isfx.shim.dto.ImportRecordsResponseDto;
+import com.isfx.shim.entity.DailyRecord;
+import com.isfx.shim.entity.User;
+import com.isfx.shim.entity.WeatherDailySummary;
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TimePeriod;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import com.isfx.shim.entity.enums.WeatherDataSource;
+import com.isfx.shim.global.exception.CustomException;
+import com.isfx.shim.global.exception.ErrorCode;
+import com.isfx.shim.repository.DailyRecordRepository;
+import com.isfx.shim.repository.UserRepository;
+import com.isfx.shim.repository.WeatherDailySummaryRepository;
+import com.isfx.shim.repository.WeatherLogRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 기록 일괄 가져오기 (다른 앱 이력 이전, 오프라인에서 쌓인 기록 전송)
+ *
+ * 1. 이미 같은 내용으로 저장된 기록은 건너뜀 (재전송 대비)
+ * 2. 날씨는 (지역, 날짜) 단위로 한 번씩만 조회: 오늘은 날씨 API, 과거는 저장된 관측값/일별 요약
+ *    기록에는 점수 계산에 사용한 관측 행을 연결 → 점수 재계산(EnergyScoreRecomputeService)도 같은 날씨를 사용
+ * 3. 기록은 chunk 단위 saveAll로 저장 → chunk마다 한 트랜잭션, 테이블 ID 생성기 + JDBC 배치로 INSERT 묶음 전송
+ * 전체를 하나의 트랜잭션으로 묶지 않으므로 중간에 실패하면 앞 chunk는 저장된 채로 남고, 같은 요청을 다시 보내면 이어서 저장됩니다.
+ * 과거 기록에는 AI 처방을 생성하지 않습니다. (수백 건의 LLM 호출 방지)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecordImportService {
+
+    // 날짜별 대표 관측값: 하루 중 정오에 가장 가까운 시각
+    private static final LocalTime REPRESENTATIVE_TIME = LocalTime.NOON;
+
+    private final UserRepository userRepository;
+    private final DailyRecordRepository dailyRecordRepository;
+    private final WeatherLogRepository weatherLogRepository;
+    private final WeatherDailySummaryRepository weatherDailySummaryRepository;
+    private final WeatherService weatherService;
+    private final EnergyScoreCalculator energyScoreCalculator;
+
+    @Value("${record.import.chunk-size:200}")
+    private int chunkSize;
+
+    public ImportRecordsResponseDto importRecords(Long userId, ImportRecordsRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+
+        List<ImportRecordItem> items = request.getRecords();
+        LocalDate from = items.stream().map(ImportRecordItem::getRecordDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = items.stream().map(ImportRecordItem::getRecordDate).max(Comparator.naturalOrder()).orElseThrow();
+
+        // 1. 기존 기록/요청 내 중복 제외
+        Set<RecordFingerprint> seen = dailyRecordRepository.findAllByUserAndRecordDateBetween(user, from, to).stream()
+                .map(RecordFingerprint::of)
+                .collect(Collectors.toCollection(HashSet::new));
+        List<ImportRecordItem> pending = new ArrayList<>();
+        for (ImportRecordItem item : items) {
+            if (seen.add(fingerprintOf(item))) {
+                pending.add(item);
+            }
+        }
+        int skipped = items.size() - pending.size();
+
+        // 2. (지역, 날짜)별 날씨 일괄 조회
+        Map<WeatherKey, WeatherLog> weatherByDay = resolveWeather(pending);
+
+        // 3. 점수 계산 및 엔티티 생성
+        List<DailyRecord> records = new ArrayList<>(pending.size());
+        for (ImportRecordItem item : pending) {
+            WeatherLog weatherLog = weatherByDay.get(WeatherKey.of(item));
+            TransportMode transportMode = energyScoreCalculator.convertTransportMode(item.getTransportMode());
+            double energyScore = energyScoreCalculator.calculateEnergyScore(item, transportMode, weatherLog);
+            EnergyLevel energyLevel = energyScoreCalculator.determineEnergyLevel(energyScore);
+
+            records.add(DailyRecord.builder()
+                    .user(user)
+                    .recordDate(item.getRecordDate())
+                    .timePeriod(timePeriodOf(item))
+                    .emotionLevel(item.getEmotionLevel())
+                    .conversationLevel(item.getConversationLevel())
+                    .meetingCount(item.getMeetingCount() != null ? item.getMeetingCount() : 0)
+                    .transportMode(transportMode)
+                    .congestionLevel(item.getCongestionLevel())
+                    .location(item.getLocation())
+                    .journal(item.getJournal())
+                    .energyScore(energyScore)
+                    .energyLevel(energyLevel)
+                    .scoreVersion(EnergyScoreModel.CURRENT.getVersion())
+                    .weatherLog(weatherLog)
+                    .build());
+        }
+
+        // 4. chunk 단위 저장 (chunk마다 커밋)
+        List<Long> recordIds = new ArrayList<>(records.size());
+        for (int start = 0; start < records.size(); start += chunkSize) {
+            List<DailyRecord> chunk = records.subList(start, Math.min(start + chunkSize, records.size()));
+            dailyRecordRepository.saveAll(chunk).forEach(saved -> recordIds.add(saved.getId()));
+        }
+
+        log.info("[기록 가져오기] 완료: userId={}, requested={}, imported={}, skipped={}, weatherDays={}",
+                userId, items.size(), recordIds.size(), skipped, weatherByDay.size());
+
+        return ImportRecordsResponseDto.builder()
+                .importedCount(recordIds.size())
+                .skippedCount(skipped)
+                .recordIds(recordIds)
+                .build();
+    }
+
+    /**
+     * (지역, 날짜)별 날씨 결정
+     * - 오늘: 날씨 API (지역당 한 번, 시간대 캐시 공유)
+     * - 과거: 저장된 시간별 관측값 중 정오에 가장 가까운 값 → 없으면 일별 요약을 관측 행으로 저장 → 없으면 기본 점수
+     */
+    private Map<WeatherKey, WeatherLog> resolveWeather(List<ImportRecordItem> items) {
+        Map<WeatherKey, WeatherLog> result = new HashMap<>();
+        if (items.isEmpty()) {
+            return result;
+        }
+        LocalDate today = LocalDate.now();
+
+        Map<WeatherKey, ImportRecordItem> todayKeys = new HashMap<>();
+        Set<WeatherKey> pastKeys = new HashSet<>();
+        for (ImportRecordItem item : items) {
+            WeatherKey key = WeatherKey.of(item);
+            if (key.date().equals(today)) {
+                todayKeys.putIfAbsent(key, item);
+            } else {
+                pastKeys.add(key);
+            }
+        }
+
+        todayKeys.forEach((key, item) -> {
+            WeatherLog weatherLog = weatherService.fetchWeatherData(key.location(), item.getLatitude(), item.getLongitude());
+            result.put(key, weatherLog);
+        });
+
+        if (pastKeys.isEmpty()) {
+            return result;
+        }
+        Set<String> locations = pastKeys.stream().map(WeatherKey::location).collect(Collectors.toSet());
+        LocalDate from = pastKeys.stream().map(WeatherKey::date).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = pastKeys.stream().map(WeatherKey::date).max(Comparator.naturalOrder()).orElseThrow();
+
+        // 시간별 관측값: 한 번의 범위 조회 후 (지역, 날짜)별 대표값 선택
+        Map<WeatherKey, WeatherLog> hourly = new HashMap<>();
+        for (WeatherLog observation : weatherLogRepository.findObservationsBetween(
+                locations, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            WeatherKey key = new WeatherKey(observation.getLocation(), observation.getObserved_at().toLocalDate());
+            if (pastKeys.contains(key)) {
+                hourly.merge(key, observation, this::closerToRepresentativeTime);
+            }
+        }
+        result.putAll(hourly);
+
+        // 보존 기간이 지나 시간별 값이 없는 날짜는 일별 요약을 정오 관측 행으로 저장하여 기록에 연결
+        // (연결하지 않으면 재계산 시 날씨 없음 점수로 바뀜, 저장한 행은 다음 가져오기에서 시간별 값으로 재사용됨)
+        if (hourly.size() < pastKeys.size()) {
+            List<WeatherLog> summaryLogs = new ArrayList<>();
+            for (WeatherDailySummary summary : weatherDailySummaryRepository
+                    .findAllByLocationInAndSummaryDateBetween(locations, from, to)) {
+                WeatherKey key = new WeatherKey(summary.getLocation(), summary.getSummaryDate());
+                if (pastKeys.contains(key) && !result.containsKey(key)) {
+                    summaryLogs.add(toObservation(summary));
+                }
+            }
+            for (WeatherLog saved : weatherLogRepository.saveAll(summaryLogs)) {
+                result.put(new WeatherKey(saved.getLocation(), saved.getObserved_at().toLocalDate()), saved);
+            }
+        }
+        return result;
+    }
+
+    private WeatherLog closerToRepresentativeTime(WeatherLog a, WeatherLog b) {
+        return distanceFromRepresentativeTime(a) <= distanceFromRepresentativeTime(b) ? a : b;
+    }
+
+    private long distanceFromRepresentativeTime(WeatherLog weatherLog) {
+        LocalDateTime observedAt = weatherLog.getObserved_at();
+        LocalDateTime representative = observedAt.toLocalDate().atTime(REPRESENTATIVE_TIME);
+        return Math.abs(Duration.between(observedAt, representative).toMinutes());
+    }
+
+    // 일별 요약으로 만든 대표 관측값 (하늘 상태는 요약에 없고 컬럼이 NOT NULL이므로 other)
+    private WeatherLog toObservation(WeatherDailySummary summary) {
+        return WeatherLog.builder()
+                .location(summary.getLocation())
+                .observed_at(summary.getSummaryDate().atTime(REPRESENTATIVE_TIME))
+                .temperature(summary.getAvgTemperature())
+                .condition(WeatherCondition.other)
+                .pm10((short) Math.round(summary.getAvgPm10()))
+                .pm25((short) Math.round(summary.getAvgPm25()))
+                .air_quality_index((short) Math.round(summary.getAvgAirQualityIndex()))
+                .dataSource(WeatherDataSource.LAST_KNOWN_GOOD)
+                .build();
+    }
+
+    // 기록 시각을 알 수 없으면 OTHER로 저장
+    private TimePeriod timePeriodOf(ImportRecordItem item) {
+        return item.getTimePeriod() != null ? TimePeriod.valueOf(item.getTimePeriod()) : TimePeriod.OTHER;
+    }
+
+    private RecordFingerprint fingerprintOf(ImportRecordItem item) {
+        return new RecordFingerprint(
+                item.getRecordDate(),
+                timePeriodOf(item),
+                item.getEmotionLevel(),
+                item.getConversationLevel(),
+                item.getMeetingCount() != null ? item.getMeetingCount() : 0,
+                energyScoreCalculator.convertTransportMode(item.getTransportMode()),
+                item.getCongestionLevel(),
+                item.getLocation(),
+                item.getJournal());
+    }
+
+    private static String normalizeLocation(String location) {
+        return location != null ? location.trim() : "서울특별시";
+    }
+
+    // 같은 기록인지 판단하는 입력값 묶음
+    private record RecordFingerprint(LocalDate recordDate, TimePeriod timePeriod, Integer emotionLevel,
+                                     Integer conversationLevel, Integer meetingCount, TransportMode transportMode,
+                                     Integer congestionLevel, String location, String journal) {
+        static RecordFingerprint of(DailyRecord record) {
+            return new RecordFingerprint(
+                    record.getRecordDate(),
+                    record.getTimePeriod(),
+                    record.getEmotionLevel(),
+                    record.getConversationLevel(),
+                    record.getMeetingCount(),
+                    record.getTransportMode(),
+                    record.getCongestionLevel(),
+                    record.getLocation(),
+                    record.getJournal());
+        }
+    }
+
+    private record WeatherKey(String location, LocalDate date) {
+        static WeatherKey of(ImportRecordItem item) {
+            return new WeatherKey(normalizeLocation(item.getLocation()), item.getRecordDate());
+        }
+    }
+}
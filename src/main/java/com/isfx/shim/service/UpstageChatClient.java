@@ -1,10 +1,13 @@
 package com.isfx.shim.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.isfx.shim.dto.UpstageChatRequestDto;
 import com.isfx.shim.dto.UpstageChatResponseDto;
+import com.isfx.shim.global.monitoring.LlmUsageMonitor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -13,7 +16,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
@@ -22,12 +33,20 @@ public class UpstageChatClient {
     private final RestTemplate restTemplate;
     private final String apiKey;
     private static final String API_URL = "https://api.upstage.ai/v1/chat/completions";
-    private static final String MODEL = "solar-1-mini-chat";
+    // 바꾸면 기존 처방이 이전 모델 기준이 됨 (PrescriptionGenerator.GENERATION_VERSION)
+    static final String MODEL = "solar-1-mini-chat";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmUsageMonitor usageMonitor;
+    private final PromptCompactor promptCompactor;
 
-    public UpstageChatClient(RestTemplateBuilder restTemplateBuilder,
-                            @Value("${api.upstage.key}") String apiKey) {
-        this.restTemplate = restTemplateBuilder.build();
+    public UpstageChatClient(@Qualifier("upstageRestTemplate") RestTemplate restTemplate,
+                            @Value("${api.upstage.key}") String apiKey,
+                            LlmUsageMonitor usageMonitor,
+                            PromptCompactor promptCompactor) {
+        this.restTemplate = restTemplate;
         this.apiKey = apiKey;
+        this.usageMonitor = usageMonitor;
+        this.promptCompactor = promptCompactor;
     }
 
     /**
@@ -38,6 +57,50 @@ public class UpstageChatClient {
      * @return AI가 생성한 응답 텍스트
      */
     public String generateChatResponse(String systemPrompt, String userPrompt) {
+        return observe(LlmUsageMonitor.MODE_SYNC,
+                () -> requestCompletion(buildRequest(systemPrompt, userPrompt, null, null)),
+                Function.identity());
+    }
+
+    /**
+     * JSON 응답 모드(response_format: json_object)로 호출하고 응답을 responseType으로 변환합니다.
+     *
+     * @param systemPrompt 시스템 프롬프트
+     * @param userPrompt 사용자 프롬프트
+     * @param responseType 응답 JSON을 변환할 타입
+     * @return 변환된 응답 (JSON이 아니면 예외)
+     */
+    public <T> T generateJsonResponse(String systemPrompt, String userPrompt, Class<T> responseType) {
+        return observe(LlmUsageMonitor.MODE_SYNC,
+                () -> requestCompletion(buildRequest(systemPrompt, userPrompt, null,
+                        UpstageChatRequestDto.ResponseFormat.JSON_OBJECT)),
+                content -> decodeJson(content, responseType));
+    }
+
+    /**
+     * 호출과 응답 변환을 나눠 소요 시간을 결과별(success/parse_failure/error)로 기록
+     */
+    private <T> T observe(String mode, Supplier<String> call, Function<String, T> decoder) {
+        long startedNanos = System.nanoTime();
+        String content;
+        try {
+            content = call.get();
+        } catch (RuntimeException e) {
+            usageMonitor.recordCall(mode, LlmUsageMonitor.OUTCOME_ERROR, System.nanoTime() - startedNanos);
+            throw e;
+        }
+
+        try {
+            T result = decoder.apply(content);
+            usageMonitor.recordCall(mode, LlmUsageMonitor.OUTCOME_SUCCESS, System.nanoTime() - startedNanos);
+            return result;
+        } catch (RuntimeException e) {
+            usageMonitor.recordCall(mode, LlmUsageMonitor.OUTCOME_PARSE_FAILURE, System.nanoTime() - startedNanos);
+            throw e;
+        }
+    }
+
+    private String requestCompletion(UpstageChatRequestDto request) {
         log.info("[Upstage API] Chat API 호출 시작");
         
         try {
@@ -46,23 +109,6 @@ public class UpstageChatClient {
             headers.setContentType(MediaType.APPLICATION_JSON);
             headers.setBearerAuth(apiKey);
             
-            // 메시지 구성
-            UpstageChatRequestDto.Message systemMessage = UpstageChatRequestDto.Message.builder()
-                    .role("system")
-                    .content(systemPrompt)
-                    .build();
-            
-            UpstageChatRequestDto.Message userMessage = UpstageChatRequestDto.Message.builder()
-                    .role("user")
-                    .content(userPrompt)
-                    .build();
-            
-            // 요청 본문 구성
-            UpstageChatRequestDto request = UpstageChatRequestDto.builder()
-                    .model(MODEL)
-                    .messages(List.of(systemMessage, userMessage))
-                    .build();
-            
             HttpEntity<UpstageChatRequestDto> entity = new HttpEntity<>(request, headers);
             
             // API 호출
@@ -79,6 +125,13 @@ public class UpstageChatClient {
             }
             
             String content = response.getBody().getContent();
+            UpstageChatResponseDto.Usage usage = response.getBody().getUsage();
+            if (usage != null) {
+                usageMonitor.recordUsage(usage.getPromptTokens(), usage.getCompletionTokens());
+            } else {
+                recordEstimatedUsage(request, content);
+            }
+
             if (content == null || content.trim().isEmpty()) {
                 log.error("[Upstage API] 응답 내용이 비어있습니다");
                 throw new RuntimeException("Upstage API response content is empty");
@@ -92,5 +145,173 @@ public class UpstageChatClient {
             throw new RuntimeException("Failed to call Upstage Chat API: " + e.getMessage(), e);
         }
     }
-}
 
+    /**
+     * Upstage Chat API를 스트리밍 모드(stream: true)로 호출합니다.
+     * 토큰이 도착할 때마다 onDelta로 전달하고, 완료되면 전체 응답 텍스트를 반환합니다.
+     *
+     * @param systemPrompt 시스템 프롬프트
+     * @param userPrompt 사용자 프롬프트
+     * @param onDelta 도착한 응답 조각을 받는 콜백
+     * @return AI가 생성한 전체 응답 텍스트
+     */
+    public String streamChatResponse(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        return observe(LlmUsageMonitor.MODE_STREAM,
+                () -> requestStreamingCompletion(buildRequest(systemPrompt, userPrompt, true, null), onDelta),
+                Function.identity());
+    }
+
+    /**
+     * JSON 응답 모드로 스트리밍 호출하고, 완료된 전체 응답을 responseType으로 변환합니다.
+     *
+     * @param systemPrompt 시스템 프롬프트
+     * @param userPrompt 사용자 프롬프트
+     * @param onDelta 도착한 응답 조각을 받는 콜백
+     * @param responseType 응답 JSON을 변환할 타입
+     * @return 변환된 응답 (JSON이 아니면 예외)
+     */
+    public <T> T streamJsonResponse(String systemPrompt, String userPrompt, Consumer<String> onDelta,
+                                    Class<T> responseType) {
+        return observe(LlmUsageMonitor.MODE_STREAM,
+                () -> requestStreamingCompletion(buildRequest(systemPrompt, userPrompt, true,
+                        UpstageChatRequestDto.ResponseFormat.JSON_OBJECT), onDelta),
+                content -> decodeJson(content, responseType));
+    }
+
+    private String requestStreamingCompletion(UpstageChatRequestDto request, Consumer<String> onDelta) {
+        log.info("[Upstage API] Chat API 스트리밍 호출 시작");
+        long startedNanos = System.nanoTime();
+
+        try {
+
+            String content = restTemplate.execute(
+                    API_URL,
+                    HttpMethod.POST,
+                    clientRequest -> {
+                        clientRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        clientRequest.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        clientRequest.getHeaders().setBearerAuth(apiKey);
+                        objectMapper.writeValue(clientRequest.getBody(), request);
+                    },
+                    response -> readEventStream(request, response.getBody(), onDelta, startedNanos)
+            );
+
+            if (content == null || content.trim().isEmpty()) {
+                log.error("[Upstage API] 스트리밍 응답 내용이 비어있습니다");
+                throw new RuntimeException("Upstage API streamed content is empty");
+            }
+
+            log.info("[Upstage API] Chat API 스트리밍 호출 성공");
+            return content.trim();
+
+        } catch (Exception e) {
+            log.error("[Upstage API] Chat API 스트리밍 호출 실패: error={}", e.getMessage(), e);
+            throw new RuntimeException("Failed to stream Upstage Chat API: " + e.getMessage(), e);
+        }
+    }
+
+    private UpstageChatRequestDto buildRequest(String systemPrompt, String userPrompt, Boolean stream,
+                                               UpstageChatRequestDto.ResponseFormat responseFormat) {
+        // 메시지 구성
+        UpstageChatRequestDto.Message systemMessage = UpstageChatRequestDto.Message.builder()
+                .role("system")
+                .content(systemPrompt)
+                .build();
+
+        UpstageChatRequestDto.Message userMessage = UpstageChatRequestDto.Message.builder()
+                .role("user")
+                .content(userPrompt)
+                .build();
+
+        return UpstageChatRequestDto.builder()
+                .model(MODEL)
+                .messages(List.of(systemMessage, userMessage))
+                .stream(stream)
+                .responseFormat(responseFormat)
+                .streamOptions(Boolean.TRUE.equals(stream) ? UpstageChatRequestDto.StreamOptions.INCLUDE_USAGE : null)
+                .build();
+    }
+
+    /**
+     * 응답에 usage가 없을 때 프롬프트/응답 길이로 추정한 토큰 수를 기록
+     * (일일 토큰 예산이 누락된 호출만큼 덜 집계되지 않도록)
+     */
+    private void recordEstimatedUsage(UpstageChatRequestDto request, String content) {
+        int promptTokens = request.getMessages().stream()
+                .mapToInt(message -> promptCompactor.estimateTokens(message.getContent()))
+                .sum();
+        int completionTokens = promptCompactor.estimateTokens(content);
+        log.warn("[Upstage API] 응답에 usage가 없어 추정치로 기록: prompt={}, completion={}",
+                promptTokens, completionTokens);
+        usageMonitor.recordUsage(promptTokens, completionTokens);
+    }
+
+    /**
+     * 응답 본문을 JSON으로 변환 (JSON 모드를 지원하지 않는 모델 대비 ```json 코드 블록은 벗겨냄)
+     */
+    private <T> T decodeJson(String content, Class<T> responseType) {
+        String json = content;
+        if (json.startsWith("```")) {
+            int startIdx = json.indexOf("{");
+            int endIdx = json.lastIndexOf("}");
+            if (startIdx != -1 && endIdx > startIdx) {
+                json = json.substring(startIdx, endIdx + 1);
+            }
+        }
+
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (IOException e) {
+            log.warn("[Upstage API] JSON 응답 변환 실패: type={}, error={}, response={}",
+                    responseType.getSimpleName(), e.getMessage(), content.substring(0, Math.min(200, content.length())));
+            throw new RuntimeException("Upstage API returned malformed JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * SSE 응답(data: {...} 줄)에서 choices[0].delta.content를 이어 붙임 ("data: [DONE]"에서 종료)
+     * 첫 조각 도착 시간과 마지막 chunk의 usage(stream_options.include_usage)를 기록하고,
+     * usage 없이 끝나면 추정치로 대신 기록
+     */
+    private String readEventStream(UpstageChatRequestDto request, InputStream body, Consumer<String> onDelta,
+                                   long startedNanos) throws IOException {
+        StringBuilder content = new StringBuilder();
+        boolean usageRecorded = false;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String data = line.substring(5).trim();
+            if (data.equals("[DONE]")) {
+                break;
+            }
+            if (data.isEmpty()) {
+                continue;
+            }
+
+            JsonNode chunk = objectMapper.readTree(data);
+            JsonNode usage = chunk.path("usage");
+            if (usage.isObject()) {
+                usageMonitor.recordUsage(usage.path("prompt_tokens").asInt(), usage.path("completion_tokens").asInt());
+                usageRecorded = true;
+            }
+
+            JsonNode delta = chunk.path("choices").path(0).path("delta").path("content");
+            if (delta.isTextual() && !delta.asText().isEmpty()) {
+                if (content.isEmpty()) {
+                    usageMonitor.recordFirstToken(System.nanoTime() - startedNanos);
+                }
+                content.append(delta.asText());
+                onDelta.accept(delta.asText());
+            }
+        }
+
+        if (!usageRecorded) {
+            recordEstimatedUsage(request, content.toString());
+        }
+        return content.toString();
+    }
+}
@@ -12,6 +12,8 @@ import com.isfx.shim.global.exception.ErrorCode;
 import com.isfx.shim.global.util.S3Util;
 import com.isfx.shim.repository.AiPrescriptionsRepository; //[fix3]
 import com.isfx.shim.repository.DailyRecordRepository;
+import com.isfx.shim.repository.IdempotencyKeyRepository;
+import com.isfx.shim.repository.PrescriptionJobRepository;
 import com.isfx.shim.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +40,8 @@ public class UserService {
 
     // [수정] 팀원이 만든 Repository 주입 (AiPrescriptionsRepository) [fix3]
     private final AiPrescriptionsRepository aiPrescriptionsRepository;
+    private final PrescriptionJobRepository prescriptionJobRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
 
     /**
      * 프로필 사진 수정
@@ -140,12 +144,17 @@ public class UserService {
         if (!userRecords.isEmpty()) {
             // 팀원이 만든 엔티티/레포지토리 사용 (deleteAllByRecordIn)
             aiPrescriptionsRepository.deleteAllByRecordIn(userRecords);
+            prescriptionJobRepository.deleteAllByRecordIdIn(
+                    userRecords.stream().map(DailyRecord::getId).collect(Collectors.toList()));
         }
 
         // 사용자가 작성한 DailyRecord(일기/기록) 모두 삭제
         // -> (외래키 제약 조건 방지: 자식 데이터를 먼저 삭제해야 함)
         dailyRecordRepository.deleteAllByUser(user);
 
+        // 저장된 요청 응답(멱등성 키)에도 기록 내용이 포함되어 있으므로 함께 삭제
+        idempotencyKeyRepository.deleteAllByUserId(userId);
+
         // 사용자 Entity 물리 삭제 (DB에서 행 삭제)
         userRepository.delete(user);
 
@@ -0,0 +1,62 @@
+package com.isfx.shim.service;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기상청/서울시 API 발표 주기에 맞춰 날씨 데이터를 미리 받아두는 스케줄러
+ * 기록 생성 시점에는 캐시만 조회하도록 하여 외부 API 왕복 지연을 제거합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WeatherPrefetcher {
+
+    private final KmaWeatherClient kmaWeatherClient;
+    private final AirQualityClient airQualityClient;
+
+    /**
+     * 초단기실황은 매시 40분경 공개됨 → 45분에 다음 정시부터 사용할 발표분을 미리 조회
+     * (calculateBaseTime 기준: HH시에는 (HH-1)00 발표분을 사용)
+     */
+    @Scheduled(cron = "${api.kma.prefetch-cron:0 45 * * * *}")
+    public void prefetchNextObservations() {
+        prefetchObservations(KmaWeatherClient.nextBaseDateTime());
+    }
+
+    /**
+     * 정시 직후, 45분 선조회가 실패한 격자를 현재 발표분으로 보충
+     */
+    @Scheduled(cron = "${api.kma.prefetch-fallback-cron:0 1 * * * *}")
+    public void prefetchCurrentObservations() {
+        prefetchObservations(KmaWeatherClient.currentBaseDateTime());
+    }
+
+    /**
+     * 서울시 대기질 정보는 매시간 갱신 → 발표 지연을 고려해 30분 뒤 한 번 더 갱신
+     */
+    @Scheduled(cron = "${api.seoul.air.refresh-cron:0 10,40 * * * *}")
+    public void refreshAirQuality() {
+        airQualityClient.refreshSnapshot();
+    }
+
+    private void prefetchObservations(LocalDateTime baseDateTime) {
+        int success = 0;
+        int failure = 0;
+        for (Coordinate coordinate : CoordinateMapper.distinctCoordinates()) {
+            try {
+                kmaWeatherClient.getWeather(coordinate.nx(), coordinate.ny(), baseDateTime);
+                success++;
+            } catch (Exception e) {
+                failure++;
+                log.warn("[날씨 선조회] 초단기실황 선조회 실패: nx={}, ny={}, baseDateTime={}, error={}",
+                        coordinate.nx(), coordinate.ny(), baseDateTime, e.getMessage());
+            }
+        }
+        log.info("[날씨 선조회] 초단기실황 선조회 완료: baseDateTime={}, success={}, failure={}",
+                baseDateTime, success, failure);
+    }
+}
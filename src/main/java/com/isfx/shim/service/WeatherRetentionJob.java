@@ -0,0 +1,66 @@
+package com.isfx.shim.service;
+
+import com.isfx.shim.repository.WeatherLogRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시간별 관측값(weather_logs) 보존 기간 관리
+ * 보존 기간이 지난 날짜는 일별 요약(weather_daily_summaries)으로 집계한 뒤,
+ * 기록이 참조하지 않는 시간별 행을 삭제합니다. (기록이 참조하는 행은 유지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WeatherRetentionJob {
+
+    private final WeatherLogRepository weatherLogRepository;
+
+    @Value("${weather.retention.hourly-days:30}")
+    private int hourlyRetentionDays;
+
+    @Value("${weather.retention.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Scheduled(cron = "${weather.retention.cron:0 30 3 * * *}")
+    public void compactOldObservations() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(hourlyRetentionDays).atStartOfDay();
+        Optional<LocalDateTime> oldest = weatherLogRepository.findOldestUnreferencedObservedAtBefore(cutoff);
+        if (oldest.isEmpty()) {
+            log.debug("[날씨 보존] 압축할 관측값 없음: cutoff={}", cutoff);
+            return;
+        }
+
+        int summarized = 0;
+        int deleted = 0;
+        // 하루 단위로 처리하여 한 번의 집계/삭제가 다루는 범위를 제한
+        for (LocalDate day = oldest.get().toLocalDate(); day.atStartOfDay().isBefore(cutoff); day = day.plusDays(1)) {
+            LocalDateTime from = day.atStartOfDay();
+            LocalDateTime to = from.plusDays(1);
+            try {
+                summarized += weatherLogRepository.rollUpDailySummaries(from, to);
+                deleted += deleteUnreferenced(from, to);
+            } catch (Exception e) {
+                // 요약이 끝나지 않은 날짜의 행은 삭제하지 않음 → 다음 실행에서 다시 처리
+                log.error("[날씨 보존] 관측값 압축 실패: date={}, error={}", day, e.getMessage(), e);
+            }
+        }
+        log.info("[날씨 보존] 관측값 압축 완료: cutoff={}, summaryRows={}, deletedRows={}", cutoff, summarized, deleted);
+    }
+
+    private int deleteUnreferenced(LocalDateTime from, LocalDateTime to) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = weatherLogRepository.deleteUnreferencedBetween(from, to, deleteBatchSize);
+            total += deleted;
+        } while (deleted == deleteBatchSize);
+        return total;
+    }
+}
@@ -5,12 +5,24 @@ import com.isfx.shim.dto.KmaWeatherResponseDto;
 import com.isfx.shim.dto.WeatherDataDto;
 import com.isfx.shim.entity.WeatherLog;
 import com.isfx.shim.entity.enums.WeatherCondition;
+import com.isfx.shim.entity.enums.WeatherDataSource;
+import com.isfx.shim.global.monitoring.TransactionIoMonitor;
 import com.isfx.shim.repository.WeatherLogRepository;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @Service
@@ -20,84 +32,148 @@ public class WeatherService {
     private final AirQualityClient airQualityClient;
     private final KmaWeatherClient kmaWeatherClient;
     private final WeatherLogRepository weatherLogRepository;
+    private final TransactionIoMonitor transactionIoMonitor;
+
+    // (지역, 격자, 기상청 발표 기준 시각) → 이미 저장된 WeatherLog ID
+    // 같은 시간대에 같은 지역의 기록은 외부 API 호출 없이 저장된 관측값을 재사용
+    private final Map<WeatherBucketKey, Long> snapshotCache = new ConcurrentHashMap<>();
+
+    // 격자별 마지막 정상 기상청 관측값 (장애 시 기본값 대신 사용)
+    private final Map<Coordinate, ObservedWeather> lastKnownWeather = new ConcurrentHashMap<>();
+
+    // 대기질/기상청 조회를 동시에 실행하기 위한 가상 스레드 실행기 (블로킹 I/O 전용)
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 각 외부 조회의 최대 대기 시간 (초과 시 기본값으로 대체)
+    @Value("${api.seoul.air.deadline-ms:2000}")
+    private long airQualityDeadlineMs;
+    @Value("${api.kma.deadline-ms:3000}")
+    private long kmaDeadlineMs;
 
-    @Transactional
     public WeatherLog fetchWeatherData(String location) {
+        return fetchWeatherData(location, null, null);
+    }
+
+    /**
+     * 기기 위경도가 있으면 해당 위치의 격자로, 없으면 지역명으로 기상청 격자를 결정합니다.
+     * 외부 조회를 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행합니다. (조회/저장은 각각 짧은 트랜잭션)
+     * 호출자가 트랜잭션 안에서 부르면 TransactionIoMonitor가 감지합니다.
+     */
+    public WeatherLog fetchWeatherData(String location, Double latitude, Double longitude) {
         String normalizedLocation = location != null ? location.trim() : "서울특별시";
-        boolean isMockData = false;
+        Coordinate coordinate = resolveCoordinate(normalizedLocation, latitude, longitude);
+        WeatherBucketKey bucketKey = new WeatherBucketKey(normalizedLocation, coordinate, KmaWeatherClient.currentBaseDateTime());
 
-        // 대기오염 API 호출 (서울시 대기질 정보 API)
+        // 캐시 확인: 같은 시간대의 관측값이 이미 저장되어 있으면 재사용
+        Optional<WeatherLog> cached = findCachedSnapshot(bucketKey);
+        if (cached.isPresent()) {
+            log.debug("[날씨 캐시] 저장된 관측값 재사용: location={}, baseDateTime={}, weatherLogId={}",
+                    normalizedLocation, bucketKey.baseDateTime(), cached.get().getWeather_log_id());
+            return cached.get();
+        }
+
+        // 다른 인스턴스/재시작 전에 저장된 같은 격자/시간대의 실시간 관측값이 있으면 공유
+        Optional<WeatherLog> stored = weatherLogRepository.findObservation(
+                normalizedLocation, coordinate.nx(), coordinate.ny(), bucketKey.baseDateTime(), WeatherDataSource.LIVE);
+        if (stored.isPresent()) {
+            cacheSnapshot(bucketKey, stored.get().getWeather_log_id());
+            return stored.get();
+        }
+
+        // 대기오염/날씨 조회를 동시에 시작 → 전체 지연은 두 호출 중 긴 쪽
         log.info("[대기오염 API] 서울시 대기질 정보 API 호출 시작: location={}", normalizedLocation);
-        AirQualityResponseDto airQuality;
+        CompletableFuture<AirQualityResponseDto> airQualityFuture = CompletableFuture
+                .supplyAsync(() -> airQualityClient.getAirQuality(normalizedLocation), fetchExecutor)
+                .orTimeout(airQualityDeadlineMs, TimeUnit.MILLISECONDS);
+        CompletableFuture<KmaWeatherResponseDto> weatherFuture = CompletableFuture
+                .supplyAsync(() -> kmaWeatherClient.getWeather(coordinate.nx(), coordinate.ny()), fetchExecutor)
+                .orTimeout(kmaDeadlineMs, TimeUnit.MILLISECONDS);
+
+        // 실제 HTTP 호출은 가상 스레드에서 실행되어 호출자의 트랜잭션이 보이지 않으므로,
+        // 호출 스레드가 결과를 기다리는 구간을 감시 (트랜잭션 커넥션을 잡은 채 기다리면 기록/strict 모드에서 예외)
+        transactionIoMonitor.monitor("weather-fetch", () -> CompletableFuture.allOf(airQualityFuture, weatherFuture)
+                .exceptionally(e -> null)
+                .join());
+
+        // 대기오염 API 결과 (서울시 대기질 정보 API)
+        // 스냅샷 갱신이 실패 중이면 마지막 정상 스냅샷(stale)을 사용
+        AirQualityResponseDto airQuality = null;
+        WeatherDataSource airQualitySource;
+        LocalDateTime airQualityObservedAt = null;
         try {
-            airQuality = airQualityClient.getAirQuality(normalizedLocation);
-            log.info("[대기오염 API] API 호출 완료, 받은 데이터: pm10={}, pm25={}, airQualityIndex={}", 
-                    airQuality.getPm10(), airQuality.getPm25(), airQuality.getAirQualityIndex());
-            
-            // Mock 데이터 확인 (기본 mock 값: pm10=30, pm25=15, cai=50)
-            if (airQuality.getPm10() != null && airQuality.getPm10() == 30 && 
-                airQuality.getPm25() != null && airQuality.getPm25() == 15 &&
-                airQuality.getAirQualityIndex() != null && airQuality.getAirQualityIndex() == 50) {
-                log.warn("[대기오염 API] 서울시 대기질 정보 API 호출 실패 또는 데이터 없음, mock 데이터 사용: location={}", normalizedLocation);
-                isMockData = true;
-            } else {
-                log.info("[대기오염 API] 실제 API 데이터 사용: pm10={}, pm25={}, airQualityIndex={}", 
-                        airQuality.getPm10(), airQuality.getPm25(), airQuality.getAirQualityIndex());
-            }
+            airQuality = airQualityFuture.join();
+            airQualitySource = airQuality.isStale() ? WeatherDataSource.LAST_KNOWN_GOOD : WeatherDataSource.LIVE;
+            airQualityObservedAt = airQuality.getObservedAt();
+            log.info("[대기오염 API] API 데이터 사용: pm10={}, pm25={}, airQualityIndex={}, source={}, observedAt={}",
+                    airQuality.getPm10(), airQuality.getPm25(), airQuality.getAirQualityIndex(),
+                    airQualitySource, airQualityObservedAt);
         } catch (Exception e) {
-            log.error("[대기오염 API] 서울시 대기질 정보 API 호출 실패, mock 데이터 사용: location={}, error={}", normalizedLocation, e.getMessage(), e);
-            airQuality = AirQualityResponseDto.builder()
-                    .pm10((short) 30)
-                    .pm25((short) 15)
-                    .airQualityIndex((short) 50)
-                    .build();
-            isMockData = true;
+            log.error("[대기오염 API] 서울시 대기질 정보 조회 실패, 기본값 사용: location={}, error={}", normalizedLocation, e.getMessage());
+            airQualitySource = WeatherDataSource.DEFAULT;
         }
 
-        // 날씨 API 호출 (기상청 초단기실황 API)
-        Coordinate coordinate = CoordinateMapper.toGridXY(normalizedLocation);
-        Double temperature = null;
-        WeatherCondition condition = null;
+        // 날씨 API 결과 (기상청 초단기실황 API)
+        // 실패하거나 서킷이 열려 있으면 해당 격자의 마지막 정상 관측값을 사용
+        KmaWeatherResponseDto weather = null;
+        WeatherDataSource weatherSource;
+        LocalDateTime weatherObservedAt = null;
         try {
-            KmaWeatherResponseDto weather = kmaWeatherClient.getWeather(coordinate.nx(), coordinate.ny());
-            temperature = weather.getTemperature();
-            condition = mapCondition(weather.getSkyCode(), weather.getPrecipitationType());
-            log.info("[날씨 API] 기상청 초단기실황 API 호출 성공: location={}, temperature={}, condition={}, skyCode={}, precipitationType={}",
-                    normalizedLocation, temperature, condition, weather.getSkyCode(), weather.getPrecipitationType());
-
+            weather = weatherFuture.join();
+            weatherSource = WeatherDataSource.LIVE;
+            weatherObservedAt = bucketKey.baseDateTime();
+            lastKnownWeather.put(coordinate, new ObservedWeather(weather, weatherObservedAt));
+            log.info("[날씨 API] 기상청 초단기실황 API 호출 성공: location={}, temperature={}, skyCode={}, precipitationType={}",
+                    normalizedLocation, weather.getTemperature(), weather.getSkyCode(), weather.getPrecipitationType());
         } catch (Exception e) {
-            log.error("[날씨 API] 기상청 초단기실황 API 호출 실패, null로 저장: location={}, nx={}, ny={}, skyCode=N/A, precipitationType=N/A, error={}",
-                    normalizedLocation, coordinate.nx(), coordinate.ny(), e.getMessage(), e);
-
-            // 날씨 API 호출 실패 시 null로 저장
-            temperature = null;
-            condition = null;
+            ObservedWeather lastKnown = lastKnownWeather.get(coordinate);
+            if (lastKnown != null) {
+                weather = lastKnown.weather();
+                weatherSource = WeatherDataSource.LAST_KNOWN_GOOD;
+                weatherObservedAt = lastKnown.observedAt();
+                log.warn("[날씨 API] 기상청 초단기실황 조회 실패, 마지막 정상 관측값 사용: location={}, nx={}, ny={}, observedAt={}, error={}",
+                        normalizedLocation, coordinate.nx(), coordinate.ny(), weatherObservedAt, e.getMessage());
+            } else {
+                weatherSource = WeatherDataSource.DEFAULT;
+                log.error("[날씨 API] 기상청 초단기실황 조회 실패, 기본값 사용: location={}, nx={}, ny={}, error={}",
+                        normalizedLocation, coordinate.nx(), coordinate.ny(), e.getMessage());
+            }
         }
 
-        // Mock 데이터인 경우 location에 표시
-        String locationWithMock = isMockData ? "mock데이터 - " + normalizedLocation : normalizedLocation;
-
         // null 값에 대한 기본값 설정
-        WeatherCondition finalCondition = condition != null ? condition : WeatherCondition.other;
-        Double finalTemperature = temperature != null ? temperature : 21.0; // temperature가 null이면 기본값 21.0 사용
-        Short finalPm10 = airQuality.getPm10() != null ? airQuality.getPm10() : (short) 30; // pm10이 null이면 기본값 30 사용
-        Short finalPm25 = airQuality.getPm25() != null ? airQuality.getPm25() : (short) 15; // pm25가 null이면 기본값 15 사용
-        Short finalAirQualityIndex = airQuality.getAirQualityIndex() != null ? airQuality.getAirQualityIndex() : (short) 50; // air_quality_index가 null이면 기본값 50 사용
+        WeatherCondition finalCondition = weather != null
+                ? mapCondition(weather.getSkyCode(), weather.getPrecipitationType()) : WeatherCondition.other;
+        Double finalTemperature = weather != null ? weather.getTemperature() : 21.0; // 날씨 정보가 없으면 기본값 21.0 사용
+        Short finalPm10 = airQuality != null && airQuality.getPm10() != null ? airQuality.getPm10() : (short) 30; // pm10이 null이면 기본값 30 사용
+        Short finalPm25 = airQuality != null && airQuality.getPm25() != null ? airQuality.getPm25() : (short) 15; // pm25가 null이면 기본값 15 사용
+        Short finalAirQualityIndex = airQuality != null && airQuality.getAirQualityIndex() != null ? airQuality.getAirQualityIndex() : (short) 50; // air_quality_index가 null이면 기본값 50 사용
+
+        // 두 출처 중 신뢰도가 낮은 쪽을 기록의 출처로, 오래된 쪽을 실제 관측 시각으로 사용
+        WeatherDataSource dataSource = airQualitySource.compareTo(weatherSource) >= 0 ? airQualitySource : weatherSource;
+        LocalDateTime sourceObservedAt = earliest(airQualityObservedAt, weatherObservedAt);
 
         WeatherLog weatherLog = WeatherLog.builder()
-                .location(locationWithMock)
-                .observed_at(LocalDateTime.now())
+                .location(normalizedLocation)
+                .gridNx(coordinate.nx())
+                .gridNy(coordinate.ny())
+                .observed_at(bucketKey.baseDateTime())
                 .temperature(finalTemperature)
                 .condition(finalCondition)
                 .pm10(finalPm10)
                 .pm25(finalPm25)
                 .air_quality_index(finalAirQualityIndex)
+                .dataSource(dataSource)
+                .sourceObservedAt(sourceObservedAt)
                 .build();
 
-        return weatherLogRepository.save(weatherLog);
+        WeatherLog savedWeatherLog = saveObservation(weatherLog);
+
+        // 두 API 모두 실시간 데이터를 받은 경우에만 캐시 (대체값은 다음 요청에서 재시도)
+        if (dataSource == WeatherDataSource.LIVE) {
+            cacheSnapshot(bucketKey, savedWeatherLog.getWeather_log_id());
+        }
+        return savedWeatherLog;
     }
 
-    @Transactional(readOnly = true)
     public WeatherDataDto getLatestWeather(String location) {
         WeatherLog weatherLog = fetchWeatherData(location);
         return WeatherDataDto.builder()
@@ -107,9 +183,96 @@ public class WeatherService {
                 .pm10(weatherLog.getPm10())
                 .pm25(weatherLog.getPm25())
                 .airQualityIndex(weatherLog.getAir_quality_index())
+                .dataSource(weatherLog.getDataSource() != null ? weatherLog.getDataSource().name() : null)
                 .build();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 요청 값으로 사용할 기상청 격자 (기기 위경도 우선, 없거나 변환할 수 없으면 지역명, 지역명도 없으면 서울특별시)
+     * 기록 수정 시 기존 관측값을 재사용할 수 있는지 판단할 때도 사용합니다.
+     */
+    public Coordinate resolveCoordinate(String location, Double latitude, Double longitude) {
+        location = location != null ? location.trim() : "서울특별시";
+        if (latitude != null && longitude != null) {
+            try {
+                return CoordinateMapper.toGridXY(latitude, longitude);
+            } catch (IllegalArgumentException e) {
+                log.warn("[날씨 API] 위경도 격자 변환 실패, 지역명으로 대체: location={}, latitude={}, longitude={}",
+                        location, latitude, longitude);
+            }
+        }
+        return CoordinateMapper.toGridXY(location);
+    }
+
+    /**
+     * (지역, 격자, 관측 시간대, 출처)당 한 행만 저장
+     * 동시에 같은 관측값을 저장하면 먼저 저장된 행을 조회하여 반환합니다.
+     */
+    private WeatherLog saveObservation(WeatherLog weatherLog) {
+        int inserted = weatherLogRepository.insertIgnoringDuplicate(weatherLog);
+        WeatherLog saved = weatherLogRepository.findObservation(weatherLog.getLocation(), weatherLog.getGridNx(),
+                        weatherLog.getGridNy(), weatherLog.getObserved_at(), weatherLog.getDataSource())
+                .orElseThrow(() -> new IllegalStateException("Weather observation was not stored: location="
+                        + weatherLog.getLocation() + ", nx=" + weatherLog.getGridNx() + ", ny=" + weatherLog.getGridNy()
+                        + ", observedAt=" + weatherLog.getObserved_at()));
+        if (inserted == 0) {
+            log.debug("[날씨 저장] 같은 시간대 관측값이 이미 저장되어 있어 재사용: location={}, nx={}, ny={}, observedAt={}, dataSource={}, weatherLogId={}",
+                    weatherLog.getLocation(), weatherLog.getGridNx(), weatherLog.getGridNy(), weatherLog.getObserved_at(),
+                    weatherLog.getDataSource(), saved.getWeather_log_id());
+        }
+        return saved;
+    }
+
+    private Optional<WeatherLog> findCachedSnapshot(WeatherBucketKey bucketKey) {
+        Long weatherLogId = snapshotCache.get(bucketKey);
+        if (weatherLogId == null) {
+            return Optional.empty();
+        }
+        Optional<WeatherLog> weatherLog = weatherLogRepository.findById(weatherLogId);
+        if (weatherLog.isEmpty()) {
+            // 행이 삭제된 경우 캐시에서도 제거
+            snapshotCache.remove(bucketKey, weatherLogId);
+        }
+        return weatherLog;
+    }
+
+    /**
+     * 트랜잭션 커밋 이후에 캐시에 등록 (롤백된 행의 ID가 캐시에 남지 않도록, 트랜잭션 밖이면 바로 등록)
+     */
+    private void cacheSnapshot(WeatherBucketKey bucketKey, Long weatherLogId) {
+        Runnable register = () -> {
+            // 지난 시간대의 항목은 더 이상 조회되지 않으므로 정리
+            snapshotCache.keySet().removeIf(key -> key.baseDateTime().isBefore(bucketKey.baseDateTime()));
+            snapshotCache.putIfAbsent(bucketKey, weatherLogId);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register.run();
+                }
+            });
+        } else {
+            register.run();
+        }
+    }
+
+    private LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+
     private WeatherCondition mapCondition(int skyCode, int precipitationType) {
         if (precipitationType == 1 || precipitationType == 2) {
             return WeatherCondition.rain;
@@ -123,4 +286,10 @@ public class WeatherService {
             default -> WeatherCondition.other;
         };
     }
+
+    private record WeatherBucketKey(String location, Coordinate coordinate, LocalDateTime baseDateTime) {
+    }
+
+    private record ObservedWeather(KmaWeatherResponseDto weather, LocalDateTime observedAt) {
+    }
 }
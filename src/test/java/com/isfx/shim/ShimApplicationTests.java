@@ -3,7 +3,7 @@ package com.isfx.shim;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "monitoring.transaction-io.strict=true")
 class ShimApplicationTests {
 
 	@Test
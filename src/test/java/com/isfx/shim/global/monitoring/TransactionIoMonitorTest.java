@@ -0,0 +1,74 @@
+package com.isfx.shim.global.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionIoMonitorTest {
+
+	private final DataSource dataSource = mock(DataSource.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void clearTransaction() {
+		if (TransactionSynchronizationManager.hasResource(dataSource)) {
+			TransactionSynchronizationManager.unbindResource(dataSource);
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionName(null);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void callOutsideTransactionIsNotRecorded() {
+		TransactionIoMonitor monitor = new TransactionIoMonitor(meterRegistry, dataSource, true);
+
+		assertThat(monitor.monitor("apis.data.go.kr", () -> "ok")).isEqualTo("ok");
+		assertThat(meterRegistry.find("outbound.io.in_transaction").timer()).isNull();
+	}
+
+	@Test
+	void callHoldingTransactionConnectionIsRecordedWithCallSite() {
+		bindTransaction("com.isfx.shim.service.RecordService.createRecord");
+		TransactionIoMonitor monitor = new TransactionIoMonitor(meterRegistry, dataSource, false);
+
+		assertThat(monitor.monitor("weather-fetch", () -> "ok")).isEqualTo("ok");
+		assertThat(meterRegistry.get("outbound.io.in_transaction")
+				.tag("upstream", "weather-fetch")
+				.tag("call_site", "com.isfx.shim.service.RecordService.createRecord")
+				.timer()
+				.count()).isEqualTo(1);
+	}
+
+	@Test
+	void strictModeRejectsCallHoldingTransactionConnection() {
+		bindTransaction("com.isfx.shim.service.RecordService.updateRecord");
+		TransactionIoMonitor monitor = new TransactionIoMonitor(meterRegistry, dataSource, true);
+
+		assertThatThrownBy(() -> monitor.monitor("weather-fetch", () -> "ok"))
+				.isInstanceOf(TransactionIoMonitor.TransactionIoViolationException.class)
+				.hasMessageContaining("RecordService.updateRecord");
+	}
+
+	@Test
+	void transactionWithoutBoundConnectionIsIgnored() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionIoMonitor monitor = new TransactionIoMonitor(meterRegistry, dataSource, true);
+
+		assertThat(monitor.monitor("s3", () -> "ok")).isEqualTo("ok");
+	}
+
+	private void bindTransaction(String name) {
+		TransactionSynchronizationManager.bindResource(dataSource, new ConnectionHolder(mock(Connection.class)));
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionName(name);
+	}
+}
@@ -0,0 +1,95 @@
+package com.isfx.shim.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+	@Test
+	void opensAfterConsecutiveFailuresAndStopsCalling() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofMinutes(1));
+		AtomicInteger calls = new AtomicInteger();
+
+		failOnce(breaker);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		failOnce(breaker);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		assertThatThrownBy(() -> breaker.call(calls::incrementAndGet))
+				.isInstanceOf(CircuitBreaker.CircuitOpenException.class);
+		assertThat(calls).hasValue(0);
+	}
+
+	@Test
+	void successResetsFailureCount() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofMinutes(1));
+
+		failOnce(breaker);
+		assertThat(breaker.call(() -> "ok")).isEqualTo("ok");
+		failOnce(breaker);
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void successfulTrialAfterOpenDurationCloses() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+		failOnce(breaker);
+
+		assertThat(breaker.call(() -> "ok")).isEqualTo("ok");
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void failedTrialReopens() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ZERO);
+		failOnce(breaker);
+		failOnce(breaker);
+		failOnce(breaker);
+
+		// HALF_OPEN 시험 호출은 한 번만 실패해도 다시 OPEN
+		failOnce(breaker);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void onlyOneTrialCallIsAllowedWhileHalfOpen() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+		failOnce(breaker);
+
+		String result = breaker.call(() -> {
+			assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+			assertThatThrownBy(() -> breaker.call(() -> "second"))
+					.isInstanceOf(CircuitBreaker.CircuitOpenException.class);
+			return "trial";
+		});
+
+		assertThat(result).isEqualTo("trial");
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void errorDuringTrialReleasesTrialAndReopens() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+		failOnce(breaker);
+
+		assertThatThrownBy(() -> breaker.call(() -> {
+			throw new ExceptionInInitializerError("boom");
+		})).isInstanceOf(ExceptionInInitializerError.class);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		// 다음 시험 호출이 허용되어야 함
+		assertThat(breaker.call(() -> "ok")).isEqualTo("ok");
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	private void failOnce(CircuitBreaker breaker) {
+		assertThatThrownBy(() -> breaker.call(() -> {
+			throw new IllegalStateException("upstream down");
+		})).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,43 @@
+package com.isfx.shim.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyWindowTest {
+
+	@Test
+	void percentileIsUnavailableBelowMinSamples() {
+		LatencyWindow window = new LatencyWindow(10, 3);
+		window.record(10);
+		window.record(20);
+
+		assertThat(window.percentile(0.95)).isEqualTo(-1);
+	}
+
+	@Test
+	void percentileUsesNearestRankRegardlessOfRecordOrder() {
+		LatencyWindow window = new LatencyWindow(10, 1);
+		for (long latency : new long[] {50, 10, 40, 20, 30}) {
+			window.record(latency);
+		}
+
+		assertThat(window.percentile(0.0)).isEqualTo(10);
+		assertThat(window.percentile(0.5)).isEqualTo(30);
+		assertThat(window.percentile(0.95)).isEqualTo(50);
+		assertThat(window.percentile(1.0)).isEqualTo(50);
+	}
+
+	@Test
+	void oldestSamplesAreOverwrittenWhenFull() {
+		LatencyWindow window = new LatencyWindow(4, 3);
+		for (long latency = 10; latency <= 60; latency += 10) {
+			window.record(latency);
+		}
+
+		// 10, 20은 덮어써지고 30~60만 남음
+		assertThat(window.percentile(0.0)).isEqualTo(30);
+		assertThat(window.percentile(0.5)).isEqualTo(40);
+		assertThat(window.percentile(1.0)).isEqualTo(60);
+	}
+}
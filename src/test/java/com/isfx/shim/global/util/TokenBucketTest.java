@@ -0,0 +1,50 @@
+package com.isfx.shim.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	@Test
+	void allowsBurstUpToCapacityThenRejectsWithoutWaiting() {
+		TokenBucket bucket = new TokenBucket(2, 1);
+
+		assertThat(bucket.reserve(Duration.ZERO)).isZero();
+		assertThat(bucket.reserve(Duration.ZERO)).isZero();
+		assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(-1);
+	}
+
+	@Test
+	void reservesAheadWhenNextTokenArrivesWithinMaxWait() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		bucket.reserve(Duration.ZERO);
+
+		long waitNanos = bucket.reserve(Duration.ofSeconds(2));
+
+		assertThat(waitNanos).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+		assertThat(bucket.availableTokens()).isNegative();
+	}
+
+	@Test
+	void rejectedReservationDoesNotConsumeToken() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		bucket.reserve(Duration.ZERO);
+
+		assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(-1);
+		assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(-1);
+		assertThat(bucket.availableTokens()).isGreaterThanOrEqualTo(0).isLessThan(1);
+	}
+
+	@Test
+	void tryAcquireWaitsForShortRefillAndFailsFastOtherwise() throws InterruptedException {
+		TokenBucket fast = new TokenBucket(1, 1000);
+		assertThat(fast.tryAcquire(Duration.ofSeconds(1))).isTrue();
+		assertThat(fast.tryAcquire(Duration.ofSeconds(1))).isTrue();
+
+		TokenBucket slow = new TokenBucket(1, 0.001);
+		assertThat(slow.tryAcquire(Duration.ofMillis(10))).isTrue();
+		assertThat(slow.tryAcquire(Duration.ofMillis(10))).isFalse();
+	}
+}
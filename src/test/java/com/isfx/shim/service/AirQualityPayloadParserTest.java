@@ -0,0 +1,59 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.isfx.shim.dto.AirQualityResponseDto;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AirQualityPayloadParserTest {
+
+	private static final String PAYLOAD = """
+			{"ListAirQualityByDistrictService":{"list_total_count":4,
+			"RESULT":{"CODE":"INFO-000","MESSAGE":"정상 처리되었습니다"},
+			"row":[
+			{"MSRDATE":"202410171200","MSRRGN_NM":"도심권","MSRSTENAME":" 강남구 ","PM":"45","FPM":"20","CAI":"60"},
+			{"MSRSTN_NM":"중구","PM":"-","FPM":" 12 ","CAI":""},
+			{"MSRSTENAME":"종로구","PM":38,"FPM":"abc","CAI":"99999"},
+			{"PM":"10","FPM":"5"}
+			]}}
+			""";
+
+	@Test
+	void readsMeasurementsByDistrict() throws IOException {
+		Map<String, AirQualityResponseDto> byDistrict = parse(PAYLOAD);
+
+		assertThat(byDistrict).containsOnlyKeys("강남구", "중구", "종로구");
+		AirQualityResponseDto gangnam = byDistrict.get("강남구");
+		assertThat(gangnam.getPm10()).isEqualTo((short) 45);
+		assertThat(gangnam.getPm25()).isEqualTo((short) 20);
+		assertThat(gangnam.getAirQualityIndex()).isEqualTo((short) 60);
+	}
+
+	@Test
+	void missingOrInvalidMeasurementsBecomeNull() throws IOException {
+		Map<String, AirQualityResponseDto> byDistrict = parse(PAYLOAD);
+
+		AirQualityResponseDto junggu = byDistrict.get("중구");
+		assertThat(junggu.getPm10()).isNull();
+		assertThat(junggu.getPm25()).isEqualTo((short) 12);
+		assertThat(junggu.getAirQualityIndex()).isNull();
+
+		AirQualityResponseDto jongno = byDistrict.get("종로구");
+		assertThat(jongno.getPm10()).isEqualTo((short) 38);
+		assertThat(jongno.getPm25()).isNull();
+		assertThat(jongno.getAirQualityIndex()).isNull();
+	}
+
+	@Test
+	void payloadWithoutRowsIsEmpty() throws IOException {
+		assertThat(parse("{\"RESULT\":{\"CODE\":\"INFO-200\"}}")).isEmpty();
+	}
+
+	private Map<String, AirQualityResponseDto> parse(String json) throws IOException {
+		return AirQualityPayloadParser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+}
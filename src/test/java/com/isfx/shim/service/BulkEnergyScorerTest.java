@@ -0,0 +1,82 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BulkEnergyScorerTest {
+
+	private final EnergyScoreCalculator calculator = new EnergyScoreCalculator();
+	private final EnergyScoreModel model = EnergyScoreModel.CURRENT;
+
+	private record Input(Integer emotionLevel, Integer conversationLevel, Integer meetingCount,
+						 TransportMode transportMode, Integer congestionLevel, WeatherLog weatherLog) {
+	}
+
+	private final List<Input> inputs = List.of(
+			new Input(5, 4, 2, TransportMode.WALK, 1, weather(21.0, WeatherCondition.clear, 20, 10)),
+			new Input(1, 0, 0, TransportMode.SUBWAY, 5, weather(-3.5, WeatherCondition.snow, 120, 60)),
+			new Input(3, 3, 7, TransportMode.BUS, null, weather(null, null, null, null)),
+			new Input(null, null, null, TransportMode.SUBWAY, 3, null),
+			new Input(2, 5, 1, TransportMode.BUS, 2, weather(29.0, WeatherCondition.rain, 55, 30)));
+
+	@Test
+	void baselineMatchesSingleRecordCalculation() {
+		BulkEnergyScorer.Batch batch = batchOf(inputs);
+		double[] scores = new double[batch.size()];
+
+		BulkEnergyScorer.score(batch, null, null, null, scores);
+
+		for (int i = 0; i < inputs.size(); i++) {
+			Input input = inputs.get(i);
+			assertThat(scores[i]).isEqualTo(calculator.calculateEnergyScore(model, input.emotionLevel(),
+					input.conversationLevel(), input.meetingCount(), input.transportMode(), input.congestionLevel(),
+					input.weatherLog()));
+		}
+	}
+
+	@Test
+	void scenarioMatchesSingleRecordCalculationWithOverriddenInputs() {
+		BulkEnergyScorer.Batch batch = batchOf(inputs);
+		double[] scores = new double[batch.size()];
+
+		BulkEnergyScorer.score(batch, TransportMode.WALK, 4, 3, scores);
+
+		for (int i = 0; i < inputs.size(); i++) {
+			Input input = inputs.get(i);
+			assertThat(scores[i]).isEqualTo(calculator.calculateEnergyScore(model, input.emotionLevel(),
+					input.conversationLevel(), 3, TransportMode.WALK, 4, input.weatherLog()));
+		}
+	}
+
+	@Test
+	void countsRecordsWhoseEnergyLevelChanges() {
+		double[] baseline = {10, 50, 80, 66.99};
+		double[] simulated = {20, 70, 80, 67};
+
+		assertThat(BulkEnergyScorer.countLevelChanges(model, baseline, simulated, baseline.length)).isEqualTo(2);
+	}
+
+	private BulkEnergyScorer.Batch batchOf(List<Input> records) {
+		BulkEnergyScorer.Batch batch = new BulkEnergyScorer.Batch(model, records.size());
+		for (Input input : records) {
+			batch.add(input.emotionLevel(), input.conversationLevel(), input.meetingCount(), input.transportMode(),
+					input.congestionLevel(), calculator.calculateWeatherScore(model, input.weatherLog()));
+		}
+		return batch;
+	}
+
+	private static WeatherLog weather(Double temperature, WeatherCondition condition, Integer pm10, Integer pm25) {
+		return WeatherLog.builder()
+				.location("강남구")
+				.temperature(temperature)
+				.condition(condition)
+				.pm10(pm10 != null ? pm10.shortValue() : null)
+				.pm25(pm25 != null ? pm25.shortValue() : null)
+				.build();
+	}
+}
@@ -0,0 +1,44 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class CoordinateMapperTest {
+
+	@Test
+	void projectsKnownPositionsOntoKmaGrid() {
+		assertThat(CoordinateMapper.toGridXY(37.5665, 126.9780)).isEqualTo(new Coordinate(60, 127)); // 서울시청
+		assertThat(CoordinateMapper.toGridXY(37.4979, 127.0276)).isEqualTo(new Coordinate(61, 125)); // 강남역
+		assertThat(CoordinateMapper.toGridXY(35.1796, 129.0756)).isEqualTo(new Coordinate(98, 76)); // 부산시청
+		assertThat(CoordinateMapper.toGridXY(33.4996, 126.5312)).isEqualTo(new Coordinate(53, 38)); // 제주시청
+	}
+
+	@Test
+	void nearbyPositionsShareCachedGrid() {
+		assertThat(CoordinateMapper.toGridXY(37.56651, 126.97801))
+				.isEqualTo(CoordinateMapper.toGridXY(37.5665, 126.9780));
+	}
+
+	@Test
+	void positionOutsideGridIsRejected() {
+		assertThatThrownBy(() -> CoordinateMapper.toGridXY(0.0, 0.0))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CoordinateMapper.toGridXY(Double.NaN, 126.9780))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void districtNameIgnoresWhitespaceAndParentRegion() {
+		assertThat(CoordinateMapper.toGridXY("강남구")).isEqualTo(new Coordinate(61, 125));
+		assertThat(CoordinateMapper.toGridXY("  서울특별시   강남구 ")).isEqualTo(new Coordinate(61, 125));
+	}
+
+	@Test
+	void unknownOrBlankDistrictFallsBackToSeoulCenter() {
+		assertThat(CoordinateMapper.toGridXY((String) null)).isEqualTo(new Coordinate(60, 127));
+		assertThat(CoordinateMapper.toGridXY(" ")).isEqualTo(new Coordinate(60, 127));
+		assertThat(CoordinateMapper.toGridXY("해운대구")).isEqualTo(new Coordinate(60, 127));
+	}
+}
@@ -0,0 +1,150 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.isfx.shim.entity.DailyRecord;
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TimePeriod;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import com.isfx.shim.entity.enums.WeatherDataSource;
+import com.isfx.shim.repository.DailyRecordRepository;
+import com.isfx.shim.service.EnergyScoreRecomputeService.ChunkResult;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EnergyScoreRecomputeServiceTest {
+
+	private static final EnergyScoreModel MODEL = EnergyScoreModel.CURRENT;
+
+	private final DailyRecordRepository dailyRecordRepository = mock(DailyRecordRepository.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final EnergyScoreCalculator calculator = new EnergyScoreCalculator();
+	private final EnergyScoreRecomputeService service =
+			new EnergyScoreRecomputeService(dailyRecordRepository, calculator, jdbcTemplate);
+
+	@Test
+	void sameModelVersionReproducesStoredScore() {
+		WeatherLog weather = weather(WeatherCondition.clear, WeatherDataSource.LIVE);
+		DailyRecord record = scoredRecord(1L, weather, weather, MODEL.getVersion());
+		givenChunk(List.of(record), new int[]{1});
+
+		ChunkResult result = service.recomputeChunk(List.of(1L), MODEL);
+
+		assertThat(result.changed()).isZero();
+		Object[] update = capturedUpdates().get(0);
+		assertThat(update).containsExactly(record.getEnergyScore(), record.getEnergyLevel().name(),
+				MODEL.getVersion(), 1L, MODEL.getVersion());
+	}
+
+	@Test
+	void rowsAlreadyOnTargetVersionAreNotCountedAsWritten() {
+		WeatherLog weather = weather(WeatherCondition.rain, WeatherDataSource.LIVE);
+		DailyRecord stale = scoredRecord(1L, weather, weather, null);
+		DailyRecord editedMeanwhile = scoredRecord(2L, weather, weather, null);
+		// 두 번째 행은 조회 이후 사용자가 수정하여 이미 현재 버전 → 조건부 UPDATE가 0건
+		givenChunk(List.of(stale, editedMeanwhile), new int[]{1, 0});
+
+		ChunkResult result = service.recomputeChunk(List.of(1L, 2L), MODEL);
+
+		assertThat(result.processed()).isEqualTo(2);
+		assertThat(result.written()).isEqualTo(1);
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		verify(jdbcTemplate).batchUpdate(sql.capture(), anyList());
+		assertThat(sql.getValue()).contains("(score_version IS NULL OR score_version <> ?)");
+	}
+
+	@Test
+	void recordScoredWithOtherInputsIsCountedAsChanged() {
+		DailyRecord record = DailyRecord.builder()
+				.recordDate(LocalDate.of(2025, 1, 10))
+				.timePeriod(TimePeriod.OTHER)
+				.emotionLevel(4)
+				.conversationLevel(3)
+				.meetingCount(1)
+				.transportMode(TransportMode.WALK)
+				.congestionLevel(2)
+				.energyScore(12.0)
+				.energyLevel(EnergyLevel.LOW)
+				.build();
+		ReflectionTestUtils.setField(record, "id", 1L);
+		givenChunk(List.of(record), new int[]{1});
+
+		ChunkResult result = service.recomputeChunk(List.of(1L), MODEL);
+
+		assertThat(result.changed()).isEqualTo(1);
+		assertThat(capturedUpdates().get(0)[0]).isNotEqualTo(12.0);
+	}
+
+	@Test
+	void importedRecordWithLinkedSummaryWeatherKeepsScore() {
+		// 가져오기에서 일별 요약으로 만든 관측 행 (RecordImportService가 저장 후 연결)
+		WeatherLog summary = weather(WeatherCondition.other, WeatherDataSource.LAST_KNOWN_GOOD);
+		DailyRecord linked = scoredRecord(1L, summary, summary, MODEL.getVersion());
+		// 연결 없이 저장되면 같은 점수라도 재계산이 날씨 없음 점수로 덮어씀
+		DailyRecord unlinked = scoredRecord(2L, summary, null, MODEL.getVersion());
+		givenChunk(List.of(linked, unlinked), new int[]{1, 1});
+
+		ChunkResult result = service.recomputeChunk(List.of(1L, 2L), MODEL);
+
+		assertThat(result.changed()).isEqualTo(1);
+		List<Object[]> updates = capturedUpdates();
+		assertThat(updates.get(0)[0]).isEqualTo(linked.getEnergyScore());
+		assertThat(updates.get(1)[0]).isNotEqualTo(unlinked.getEnergyScore());
+	}
+
+	private void givenChunk(List<DailyRecord> records, int[] counts) {
+		when(dailyRecordRepository.findAllWithWeatherByIdIn(anyList())).thenReturn(records);
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(counts);
+	}
+
+	private List<Object[]> capturedUpdates() {
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+		return updates.getValue();
+	}
+
+	// scoredWith로 계산한 점수를 저장하고, 기록에는 linked를 연결
+	private DailyRecord scoredRecord(Long id, WeatherLog scoredWith, WeatherLog linked, Integer scoreVersion) {
+		double energyScore = calculator.calculateEnergyScore(MODEL, 4, 3, 1, TransportMode.WALK, 2, scoredWith);
+		DailyRecord record = DailyRecord.builder()
+				.recordDate(LocalDate.of(2025, 1, 10))
+				.timePeriod(TimePeriod.OTHER)
+				.emotionLevel(4)
+				.conversationLevel(3)
+				.meetingCount(1)
+				.transportMode(TransportMode.WALK)
+				.congestionLevel(2)
+				.energyScore(energyScore)
+				.energyLevel(calculator.determineEnergyLevel(MODEL, energyScore))
+				.scoreVersion(scoreVersion)
+				.weatherLog(linked)
+				.build();
+		ReflectionTestUtils.setField(record, "id", id);
+		return record;
+	}
+
+	private static WeatherLog weather(WeatherCondition condition, WeatherDataSource dataSource) {
+		return WeatherLog.builder()
+				.location("강남구")
+				.observed_at(LocalDate.of(2025, 1, 10).atTime(12, 0))
+				.temperature(-4.0)
+				.condition(condition)
+				.pm10((short) 80)
+				.pm25((short) 45)
+				.air_quality_index((short) 70)
+				.dataSource(dataSource)
+				.build();
+	}
+}
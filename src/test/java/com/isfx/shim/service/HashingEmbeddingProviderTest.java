@@ -0,0 +1,47 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class HashingEmbeddingProviderTest {
+
+	private final HashingEmbeddingProvider provider = new HashingEmbeddingProvider(256);
+
+	@Test
+	void vectorsAreUnitLength() {
+		float[] vector = provider.embed("오늘은 비가 와서 기분이 가라앉았다");
+
+		assertThat(vector).hasSize(256);
+		assertThat(dot(vector, vector)).isCloseTo(1.0, within(1e-5));
+	}
+
+	@Test
+	void punctuationAndCaseAreIgnored() {
+		assertThat(dot(provider.embed("Exam, 공부!"), provider.embed("exam 공부")))
+				.isCloseTo(1.0, within(1e-5));
+	}
+
+	@Test
+	void similarJournalsScoreHigherThanUnrelatedOnes() {
+		float[] journal = provider.embed("시험 공부 때문에 너무 피곤했다");
+		double similar = dot(journal, provider.embed("시험 공부 때문에 정말 피곤했다"));
+		double unrelated = dot(journal, provider.embed("친구들과 한강에서 자전거를 탔다"));
+
+		assertThat(similar).isGreaterThan(unrelated);
+	}
+
+	@Test
+	void blankJournalsShareOneVector() {
+		assertThat(dot(provider.embed(null), provider.embed("  ...  "))).isCloseTo(1.0, within(1e-5));
+	}
+
+	private double dot(float[] a, float[] b) {
+		double sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,114 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.isfx.shim.entity.IdempotencyKey;
+import com.isfx.shim.entity.enums.IdempotencyStatus;
+import com.isfx.shim.global.exception.CustomException;
+import com.isfx.shim.global.exception.ErrorCode;
+import com.isfx.shim.repository.IdempotencyKeyRepository;
+import com.isfx.shim.service.IdempotencyService.Reservation;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IdempotencyServiceTest {
+
+	private static final Long USER_ID = 1L;
+	private static final String KEY = "key-1";
+	private static final String HASH = "hash-a";
+
+	private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+	private final IdempotencyService service = new IdempotencyService(repository);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "ttlHours", 24L);
+		ReflectionTestUtils.setField(service, "inProgressTimeoutSeconds", 60L);
+	}
+
+	@Test
+	void newKeyIsReserved() {
+		givenInsert(1);
+		givenStored(IdempotencyStatus.IN_PROGRESS, HASH, null);
+
+		Reservation reservation = service.reserve(USER_ID, KEY, HASH);
+
+		assertThat(reservation.keyId()).isEqualTo(10L);
+		assertThat(reservation.isReplay()).isFalse();
+	}
+
+	@Test
+	void sameKeyAndBodyReturnsStoredResponse() {
+		givenInsert(0);
+		givenStored(IdempotencyStatus.COMPLETED, HASH, "{\"recordId\":7}");
+
+		Reservation reservation = service.reserve(USER_ID, KEY, HASH);
+
+		assertThat(reservation.isReplay()).isTrue();
+		assertThat(reservation.storedResponse()).isEqualTo("{\"recordId\":7}");
+	}
+
+	@Test
+	void sameKeyWithDifferentBodyIsRejected() {
+		givenInsert(0);
+		givenStored(IdempotencyStatus.COMPLETED, "hash-b", "{\"recordId\":7}");
+
+		assertThatThrownBy(() -> service.reserve(USER_ID, KEY, HASH))
+				.isInstanceOfSatisfying(CustomException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED));
+	}
+
+	@Test
+	void keyStillInProgressIsRejected() {
+		givenInsert(0);
+		givenStored(IdempotencyStatus.IN_PROGRESS, HASH, null);
+
+		assertThatThrownBy(() -> service.reserve(USER_ID, KEY, HASH))
+				.isInstanceOfSatisfying(CustomException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS));
+	}
+
+	@Test
+	void reclaimableKeyIsPurgedBeforeInsert() {
+		givenInsert(1);
+		givenStored(IdempotencyStatus.IN_PROGRESS, HASH, null);
+
+		service.reserve(USER_ID, KEY, HASH);
+
+		// 만료/중단된 키를 먼저 지워야 같은 키로 새 요청을 선점할 수 있음
+		ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+		ArgumentCaptor<LocalDateTime> lockedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+		InOrder order = inOrder(repository);
+		order.verify(repository).deleteReclaimable(eq(USER_ID), eq(KEY), now.capture(), lockedBefore.capture());
+		order.verify(repository).insertIgnoringDuplicate(eq(USER_ID), eq(KEY), eq(HASH), any(), any());
+		assertThat(Duration.between(lockedBefore.getValue(), now.getValue())).isEqualTo(Duration.ofSeconds(60));
+	}
+
+	private void givenInsert(int inserted) {
+		when(repository.insertIgnoringDuplicate(anyLong(), anyString(), anyString(), any(), any()))
+				.thenReturn(inserted);
+	}
+
+	private void givenStored(IdempotencyStatus status, String requestHash, String responseBody) {
+		IdempotencyKey stored = mock(IdempotencyKey.class);
+		when(stored.getId()).thenReturn(10L);
+		when(stored.getStatus()).thenReturn(status);
+		when(stored.getRequestHash()).thenReturn(requestHash);
+		when(stored.getResponseBody()).thenReturn(responseBody);
+		when(repository.findByUserIdAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.of(stored));
+	}
+}
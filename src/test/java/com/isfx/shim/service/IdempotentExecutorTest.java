@@ -0,0 +1,111 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isfx.shim.service.IdempotencyService.Reservation;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class IdempotentExecutorTest {
+
+	private static final Long USER_ID = 1L;
+	private static final String KEY = "key-1";
+	private static final String SCOPE = "POST /api/records";
+
+	private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+	private final IdempotentExecutor executor = new IdempotentExecutor(idempotencyService, new ObjectMapper());
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void storedResponseIsReturnedWithoutRunningAction() {
+		when(idempotencyService.reserve(eq(USER_ID), eq(KEY), anyString()))
+				.thenReturn(new Reservation(10L, "{\"value\":\"first\"}"));
+
+		Echo response = executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, this::action);
+
+		assertThat(response).isEqualTo(new Echo("first"));
+		assertThat(calls).hasValue(0);
+	}
+
+	@Test
+	void responseIsStoredAfterAction() {
+		when(idempotencyService.reserve(eq(USER_ID), eq(KEY), anyString())).thenReturn(new Reservation(10L, null));
+
+		Echo response = executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, this::action);
+
+		assertThat(response).isEqualTo(new Echo("done"));
+		verify(idempotencyService).complete(10L, "{\"value\":\"done\"}");
+		verify(idempotencyService, never()).release(10L);
+	}
+
+	@Test
+	void sameBodyProducesSameHashAndScopeChangesIt() {
+		when(idempotencyService.reserve(eq(USER_ID), eq(KEY), anyString())).thenReturn(new Reservation(10L, "{}"));
+
+		executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, this::action);
+		executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, this::action);
+		executor.execute(USER_ID, KEY, "PUT /api/records", new Echo("body"), Echo.class, this::action);
+
+		ArgumentCaptor<String> hashes = ArgumentCaptor.forClass(String.class);
+		verify(idempotencyService, times(3)).reserve(eq(USER_ID), eq(KEY), hashes.capture());
+		assertThat(hashes.getAllValues().get(0)).isEqualTo(hashes.getAllValues().get(1));
+		assertThat(hashes.getAllValues().get(2)).isNotEqualTo(hashes.getAllValues().get(0));
+	}
+
+	@Test
+	void failedActionReleasesKey() {
+		when(idempotencyService.reserve(eq(USER_ID), eq(KEY), anyString())).thenReturn(new Reservation(10L, null));
+
+		assertThatThrownBy(() -> executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class);
+
+		verify(idempotencyService).release(10L);
+		verify(idempotencyService, never()).complete(eq(10L), anyString());
+	}
+
+	@Test
+	void failedCompleteReleasesKeyAndReturnsResponse() {
+		when(idempotencyService.reserve(eq(USER_ID), eq(KEY), anyString())).thenReturn(new Reservation(10L, null));
+		doThrow(new DataAccessResourceFailureException("db down"))
+				.when(idempotencyService).complete(eq(10L), anyString());
+
+		Echo response = executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, this::action);
+
+		// 키가 IN_PROGRESS로 남으면 같은 키의 재시도가 제한 시간 동안 409로 막힘
+		assertThat(response).isEqualTo(new Echo("done"));
+		verify(idempotencyService).release(10L);
+	}
+
+	@Test
+	void failedReleaseAfterCompleteFailureStillReturnsResponse() {
+		when(idempotencyService.reserve(eq(USER_ID), eq(KEY), anyString())).thenReturn(new Reservation(10L, null));
+		doThrow(new DataAccessResourceFailureException("db down"))
+				.when(idempotencyService).complete(eq(10L), anyString());
+		doThrow(new DataAccessResourceFailureException("db down")).when(idempotencyService).release(10L);
+
+		Echo response = executor.execute(USER_ID, KEY, SCOPE, new Echo("body"), Echo.class, this::action);
+
+		assertThat(response).isEqualTo(new Echo("done"));
+	}
+
+	private Echo action() {
+		calls.incrementAndGet();
+		return new Echo("done");
+	}
+
+	record Echo(String value) {
+	}
+}
@@ -0,0 +1,63 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class KmaObservationParserTest {
+
+	@Test
+	void extractsTemperatureSkyAndPrecipitationFromItemArray() throws IOException {
+		KmaObservationParser.KmaObservation observation = parse("""
+				{"response":{"header":{"resultCode":"00","resultMsg":"NORMAL_SERVICE"},
+				"body":{"dataType":"JSON","items":{"item":[
+				{"baseDate":"20241017","baseTime":"1200","category":"PTY","nx":60,"ny":127,"obsrValue":"1"},
+				{"baseDate":"20241017","baseTime":"1200","category":"REH","nx":60,"ny":127,"obsrValue":"80"},
+				{"baseDate":"20241017","baseTime":"1200","category":"T1H","nx":60,"ny":127,"obsrValue":"12.3"},
+				{"obsrValue":"4","category":"SKY"}
+				]},"pageNo":1,"numOfRows":10,"totalCount":8}}}
+				""");
+
+		assertThat(observation.hasResponse()).isTrue();
+		assertThat(observation.hasBody()).isTrue();
+		assertThat(observation.hasItems()).isTrue();
+		assertThat(observation.hasItem()).isTrue();
+		assertThat(observation.resultCode()).isEqualTo("00");
+		assertThat(observation.totalCount()).isEqualTo(8);
+		assertThat(observation.temperature()).isEqualTo(12.3);
+		assertThat(observation.sky()).isEqualTo(4);
+		assertThat(observation.pty()).isEqualTo(1);
+	}
+
+	@Test
+	void singleItemObjectIsParsedLikeArray() throws IOException {
+		KmaObservationParser.KmaObservation observation = parse("""
+				{"response":{"header":{"resultCode":"00","resultMsg":"NORMAL_SERVICE"},
+				"body":{"items":{"item":{"category":"T1H","obsrValue":-2.5}},"totalCount":1}}}
+				""");
+
+		assertThat(observation.hasItem()).isTrue();
+		assertThat(observation.temperature()).isEqualTo(-2.5);
+		assertThat(observation.sky()).isEqualTo(1);
+		assertThat(observation.pty()).isZero();
+	}
+
+	@Test
+	void errorResponseHasNoBodyOrTemperature() throws IOException {
+		KmaObservationParser.KmaObservation observation = parse("""
+				{"response":{"header":{"resultCode":"03","resultMsg":"NO_DATA"}}}
+				""");
+
+		assertThat(observation.hasResponse()).isTrue();
+		assertThat(observation.hasBody()).isFalse();
+		assertThat(observation.resultCode()).isEqualTo("03");
+		assertThat(observation.resultMsg()).isEqualTo("NO_DATA");
+		assertThat(observation.temperature()).isNaN();
+	}
+
+	private KmaObservationParser.KmaObservation parse(String json) throws IOException {
+		return KmaObservationParser.parse(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,44 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.isfx.shim.dto.KmaWeatherResponseDto;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+class KmaWeatherClientTest {
+
+	private final RestTemplate restTemplate = mock(RestTemplate.class);
+	private final KmaWeatherClient client = new KmaWeatherClient(restTemplate, "test-key", 3, 60);
+
+	@Test
+	void errorInSharedCallIsNotCachedAndNextCallerRetries() {
+		when(restTemplate.<KmaObservationParser.KmaObservation>execute(anyString(), eq(HttpMethod.GET),
+				isNull(RequestCallback.class), any(ResponseExtractor.class)))
+				.thenThrow(new ExceptionInInitializerError("boom"))
+				.thenReturn(new KmaObservationParser.KmaObservation(true, true, true, true,
+						"00", "NORMAL_SERVICE", 8, 12.3, 1, 0));
+		LocalDateTime baseDateTime = KmaWeatherClient.currentBaseDateTime();
+
+		assertThatThrownBy(() -> client.getWeather(60, 127, baseDateTime))
+				.isInstanceOf(ExceptionInInitializerError.class);
+
+		// 실패한 Future가 남아 있으면 다음 요청이 join()에서 멈춤
+		KmaWeatherResponseDto weather = assertTimeoutPreemptively(Duration.ofSeconds(5),
+				() -> client.getWeather(60, 127, baseDateTime));
+		assertThat(weather.getTemperature()).isEqualTo(12.3);
+	}
+}
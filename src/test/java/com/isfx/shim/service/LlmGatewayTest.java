@@ -0,0 +1,232 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.isfx.shim.service.LlmGateway.LoadShedException;
+import com.isfx.shim.service.LlmGateway.ShedReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class LlmGatewayTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final FakeChatClient client = new FakeChatClient();
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@Test
+	void requestBeyondQueueLimitIsShed() throws Exception {
+		LlmGateway gateway = gateway(1, 1, 2000, 20_000, false, 0);
+		client.script.add(() -> {
+			release.await();
+			return "held";
+		});
+		CompletableFuture<String> holder = callAsync(gateway);
+		awaitCalls(1);
+		CompletableFuture<String> waiting = callAsync(gateway);
+		awaitQueued(1);
+
+		assertShed(gateway, ShedReason.QUEUE_FULL);
+
+		release.countDown();
+		assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+		assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+		assertThat(client.calls).hasValue(2);
+	}
+
+	@Test
+	void requestExpectedToMissQueueDeadlineIsShed() throws Exception {
+		LlmGateway gateway = gateway(1, 8, 500, 20_000, false, 0);
+		// 평균 응답 시간 600ms 기록
+		client.script.add(() -> {
+			Thread.sleep(600);
+			return "slow";
+		});
+		assertThat(call(gateway)).isEqualTo("slow");
+
+		client.script.add(() -> {
+			release.await();
+			return "held";
+		});
+		CompletableFuture<String> holder = callAsync(gateway);
+		awaitCalls(2);
+		CompletableFuture<String> waiting = callAsync(gateway);
+		awaitQueued(1);
+
+		// 앞에 1건 대기 → 슬롯 하나가 비기까지 약 600ms > 대기 기한 500ms
+		try {
+			assertShed(gateway, ShedReason.PREDICTED_TIMEOUT);
+			assertThat(client.calls).hasValue(2);
+		} finally {
+			release.countDown();
+		}
+		assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+		waiting.handle((result, error) -> null).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void requestPastDeadlineIsShed() {
+		LlmGateway gateway = gateway(4, 8, 2000, 200, false, 0);
+		client.script.add(() -> {
+			release.await();
+			return "late";
+		});
+
+		try {
+			assertShed(gateway, ShedReason.DEADLINE_EXCEEDED);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void hedgeIsSkippedWhenCreditsRunOut() {
+		// 요청 1건당 0.05건 적립 → 20건 후 헤지 1건
+		LlmGateway gateway = gateway(4, 8, 2000, 20_000, true, 0.05);
+		warmUp(gateway);
+
+		client.script.add(sleeping(50, "primary"));
+		client.script.add(sleeping(50, "hedge"));
+		call(gateway);
+		assertThat(client.calls).hasValue(22);
+
+		client.script.add(sleeping(50, "primary"));
+		assertThat(call(gateway)).isEqualTo("primary");
+		assertThat(client.calls).hasValue(23);
+		assertThat(hedgeCount("won") + hedgeCount("lost")).isEqualTo(1);
+	}
+
+	@Test
+	void hedgeResultIsUsedWhenPrimaryFails() throws InterruptedException {
+		LlmGateway gateway = gateway(4, 8, 2000, 20_000, true, 1.0);
+		warmUp(gateway);
+
+		client.script.add(() -> {
+			Thread.sleep(100);
+			throw new IllegalStateException("primary failed");
+		});
+		client.script.add(sleeping(200, "hedge"));
+
+		assertThat(call(gateway)).isEqualTo("hedge");
+		assertThat(client.calls).hasValue(22);
+		// 카운터는 결과 전달 직후 완료 콜백에서 증가
+		awaitHedgeCount("won", 1);
+	}
+
+	private LlmGateway gateway(int maxInFlight, int maxQueued, long queueDeadlineMs, long requestDeadlineMs,
+							   boolean hedgeEnabled, double hedgeMaxRatio) {
+		return new LlmGateway(client, meterRegistry, maxInFlight, maxQueued, queueDeadlineMs, 60_000, 1000,
+				requestDeadlineMs, hedgeEnabled, 0.5, hedgeMaxRatio);
+	}
+
+	// 헤지 지연 계산에 필요한 최소 표본(20건) 기록
+	// 헤지 지연(약 10ms)이 있어야 첫 요청이 헤지보다 먼저 script를 가져감
+	private void warmUp(LlmGateway gateway) {
+		for (int i = 0; i < 20; i++) {
+			client.script.add(sleeping(10, "ok"));
+			call(gateway);
+		}
+		assertThat(client.calls).hasValue(20);
+	}
+
+	private String call(LlmGateway gateway) {
+		return gateway.generateJsonResponse("system", "user", String.class);
+	}
+
+	private CompletableFuture<String> callAsync(LlmGateway gateway) {
+		return CompletableFuture.supplyAsync(() -> call(gateway));
+	}
+
+	private void assertShed(LlmGateway gateway, ShedReason reason) {
+		assertThatThrownBy(() -> call(gateway))
+				.isInstanceOfSatisfying(LoadShedException.class, e -> assertThat(e.getReason()).isEqualTo(reason));
+		assertThat(meterRegistry.get("ai.llm.gateway.requests").tag("outcome", reason.name().toLowerCase())
+				.counter().count()).isEqualTo(1);
+	}
+
+	private double hedgeCount(String result) {
+		return meterRegistry.get("ai.llm.gateway.hedges").tag("result", result).counter().count();
+	}
+
+	private void awaitHedgeCount(String result, double expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (hedgeCount(result) < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(hedgeCount(result)).isEqualTo(expected);
+	}
+
+	private void awaitCalls(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (client.calls.get() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(client.calls).hasValue(expected);
+	}
+
+	private void awaitQueued(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (queued() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(queued()).isEqualTo(expected);
+	}
+
+	private double queued() {
+		return meterRegistry.get("ai.llm.gateway.queued").gauge().value();
+	}
+
+	private static Callable<String> sleeping(long millis, String response) {
+		return () -> {
+			Thread.sleep(millis);
+			return response;
+		};
+	}
+
+	// 호출 순서대로 script의 응답을 사용하는 가짜 클라이언트 (script가 비면 즉시 "ok")
+	private static final class FakeChatClient extends UpstageChatClient {
+
+		private final Deque<Callable<String>> script = new ConcurrentLinkedDeque<>();
+		private final AtomicInteger calls = new AtomicInteger();
+
+		FakeChatClient() {
+			super(null, "test-key", null, null);
+		}
+
+		@Override
+		public <T> T generateJsonResponse(String systemPrompt, String userPrompt, Class<T> responseType) {
+			return responseType.cast(next());
+		}
+
+		@Override
+		public <T> T streamJsonResponse(String systemPrompt, String userPrompt, Consumer<String> onDelta,
+										Class<T> responseType) {
+			String response = next();
+			onDelta.accept(response);
+			return responseType.cast(response);
+		}
+
+		private String next() {
+			calls.incrementAndGet();
+			Callable<String> step = script.poll();
+			if (step == null) {
+				return "ok";
+			}
+			try {
+				return step.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
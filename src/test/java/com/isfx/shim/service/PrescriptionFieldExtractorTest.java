@@ -0,0 +1,83 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PrescriptionFieldExtractorTest {
+
+	private final Map<String, StringBuilder> values = new LinkedHashMap<>();
+	private final List<String> deltas = new ArrayList<>();
+	private final PrescriptionFieldExtractor extractor = new PrescriptionFieldExtractor(
+			Set.of("journal_explain", "recommendation_text"),
+			(field, delta) -> {
+				deltas.add(delta);
+				values.computeIfAbsent(field, key -> new StringBuilder()).append(delta);
+			});
+
+	@Test
+	void streamsTrackedFieldsAcrossChunks() {
+		feed("{\"journal_explain\": \"오늘은 ", "비가 왔어요\", \"recommendation_", "text\":\"쉬세요\"}");
+
+		assertThat(value("journal_explain")).isEqualTo("오늘은 비가 왔어요");
+		assertThat(value("recommendation_text")).isEqualTo("쉬세요");
+		// 값은 완료 전에도 조각 단위로 전달
+		assertThat(deltas).startsWith("오늘은 ", "비가 왔어요");
+	}
+
+	@Test
+	void unicodeEscapeSplitAcrossChunksIsDecoded() {
+		feed("{\"journal_explain\":\"\\u", "AC00\\uAC", "01\"}");
+
+		assertThat(value("journal_explain")).isEqualTo("가각");
+	}
+
+	@Test
+	void surrogatePairSplitAcrossChunksIsNeverDeliveredHalf() {
+		String smile = "😀";
+		feed("{\"journal_explain\":\"웃음" + smile.charAt(0), smile.charAt(1) + "\"}");
+
+		assertThat(value("journal_explain")).isEqualTo("웃음😀");
+		assertThat(deltas).noneMatch(delta -> Character.isHighSurrogate(delta.charAt(delta.length() - 1)));
+	}
+
+	@Test
+	void escapedSurrogatePairSplitAcrossChunksIsNeverDeliveredHalf() {
+		feed("{\"recommendation_text\":\"산책\\uD83D", "\\uDE00\"}");
+
+		assertThat(value("recommendation_text")).isEqualTo("산책😀");
+		assertThat(deltas).containsExactly("산책", "😀");
+	}
+
+	@Test
+	void escapedQuotesAndControlCharactersStayInsideValue() {
+		feed("{\"journal_explain\":\"그는 \\\"괜찮아\\\"라고 했다\\n", "다행\\", "\"이다\"}");
+
+		assertThat(value("journal_explain")).isEqualTo("그는 \"괜찮아\"라고 했다\n다행\"이다");
+	}
+
+	@Test
+	void untrackedKeysAndValuesAreIgnored() {
+		feed("{\"category\":\"journal_explain\",\"score\":42,\"extra\":{\"note\":\"무시\"},",
+				"\"journal_explain\":\"x\",\"recommendation_text\":\"y\"}");
+
+		assertThat(values).containsOnlyKeys("journal_explain", "recommendation_text");
+		assertThat(value("journal_explain")).isEqualTo("x");
+		assertThat(value("recommendation_text")).isEqualTo("y");
+	}
+
+	private void feed(String... chunks) {
+		for (String chunk : chunks) {
+			extractor.accept(chunk);
+		}
+	}
+
+	private String value(String field) {
+		return values.getOrDefault(field, new StringBuilder()).toString();
+	}
+}
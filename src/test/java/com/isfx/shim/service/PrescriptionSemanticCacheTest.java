@@ -0,0 +1,121 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.isfx.shim.entity.enums.AiPrescriptionCategory;
+import com.isfx.shim.entity.enums.EnergyLevel;
+import com.isfx.shim.entity.enums.TransportMode;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class PrescriptionSemanticCacheTest {
+
+	private static final String JOURNAL = "시험 공부 때문에 밤을 새서 너무 피곤했다";
+	private static final PrescriptionContent CONTENT = new PrescriptionContent(
+			AiPrescriptionCategory.recovery, "시험 준비로 많이 지치셨겠어요.", "오늘은 일찍 주무세요.",
+			PrescriptionSource.LLM);
+
+	@Test
+	void sameUserAndInputsReuseStoredPrescription() {
+		PrescriptionSemanticCache cache = newCache(true, 200);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(1L, JOURNAL + "!", TransportMode.WALK, 1))).contains(CONTENT);
+	}
+
+	@Test
+	void otherUsersNeverReceiveThePrescription() {
+		PrescriptionSemanticCache cache = newCache(true, 200);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(2L, JOURNAL, TransportMode.WALK, 1))).isEmpty();
+	}
+
+	@Test
+	void differentScoringInputsMiss() {
+		PrescriptionSemanticCache cache = newCache(true, 200);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(1L, JOURNAL, TransportMode.SUBWAY, 1))).isEmpty();
+		assertThat(cache.find(context(1L, JOURNAL, TransportMode.WALK, 3))).isEmpty();
+	}
+
+	@Test
+	void dissimilarJournalMisses() {
+		PrescriptionSemanticCache cache = newCache(true, 200);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(1L, "친구들과 한강에서 자전거를 탔다", TransportMode.WALK, 1))).isEmpty();
+	}
+
+	@Test
+	void contextWithoutUserIsNotCached() {
+		PrescriptionSemanticCache cache = newCache(true, 200);
+		cache.put(context(null, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(null, JOURNAL, TransportMode.WALK, 1))).isEmpty();
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvictedWhenBucketIsFull() {
+		PrescriptionSemanticCache cache = newCache(true, 1);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+		cache.put(context(1L, "친구들과 한강에서 자전거를 탔다", TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(1L, JOURNAL, TransportMode.WALK, 1))).isEmpty();
+	}
+
+	@Test
+	void disabledCacheNeverHits() {
+		PrescriptionSemanticCache cache = newCache(false, 200);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.find(context(1L, JOURNAL, TransportMode.WALK, 1))).isEmpty();
+	}
+
+	@Test
+	void sweepRemovesExpiredEntriesAndEmptyBuckets() {
+		PrescriptionSemanticCache cache = newCache(true, 200);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+		cache.put(context(2L, JOURNAL, TransportMode.BUS, 0), CONTENT);
+
+		cache.evictExpired(LocalDateTime.now());
+		assertThat(cache.bucketCount()).isEqualTo(2);
+
+		cache.evictExpired(LocalDateTime.now().plusHours(169));
+		assertThat(cache.bucketCount()).isZero();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void globalCapEvictsLeastRecentlyUsedBuckets() {
+		PrescriptionSemanticCache cache = newCache(true, 200, 3);
+		cache.put(context(1L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+		cache.put(context(2L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+		cache.put(context(3L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+		cache.find(context(1L, JOURNAL, TransportMode.WALK, 1));
+
+		cache.put(context(4L, JOURNAL, TransportMode.WALK, 1), CONTENT);
+
+		assertThat(cache.size()).isLessThanOrEqualTo(3);
+		assertThat(cache.find(context(1L, JOURNAL, TransportMode.WALK, 1))).contains(CONTENT);
+		assertThat(cache.find(context(2L, JOURNAL, TransportMode.WALK, 1))).isEmpty();
+		assertThat(cache.find(context(4L, JOURNAL, TransportMode.WALK, 1))).contains(CONTENT);
+	}
+
+	private PrescriptionSemanticCache newCache(boolean enabled, int maxEntriesPerBucket) {
+		return newCache(enabled, maxEntriesPerBucket, 50_000);
+	}
+
+	private PrescriptionSemanticCache newCache(boolean enabled, int maxEntriesPerBucket, int maxEntries) {
+		return new PrescriptionSemanticCache(new HashingEmbeddingProvider(256), new SimpleMeterRegistry(),
+				enabled, 0.9, maxEntriesPerBucket, maxEntries, 168);
+	}
+
+	private PrescriptionContext context(Long userId, String journal, TransportMode transportMode, int meetingCount) {
+		return new PrescriptionContext(10L, userId, journal, 45.0, EnergyLevel.MEDIUM, WeatherCondition.clouds,
+				12.3, 3, transportMode, 2, 3, meetingCount);
+	}
+}
@@ -0,0 +1,159 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.isfx.shim.dto.CreateRecordResponseDto;
+import com.isfx.shim.entity.enums.AiPrescriptionCategory;
+import com.isfx.shim.entity.enums.PrescriptionStatus;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class PrescriptionStreamHubTest {
+
+	private static final Long RECORD_ID = 7L;
+
+	private final PrescriptionStreamHub hub = new PrescriptionStreamHub();
+
+	@Test
+	void lateSubscriberReceivesReplayThenLiveEvents() {
+		hub.open(RECORD_ID);
+		hub.publish(RECORD_ID, "journal_explain", "오늘은 ");
+		hub.publish(RECORD_ID, "journal_explain", "비가");
+
+		RecordingEmitter late = subscribe();
+		hub.publish(RECORD_ID, "recommendation_text", "쉬세요");
+
+		assertThat(late.names()).containsExactly("journal_explain", "journal_explain", "recommendation_text");
+		assertThat(late.data()).containsExactly("오늘은 ", "비가", "쉬세요");
+	}
+
+	@Test
+	void subscriberBeforeOpenWaitsForGeneration() {
+		RecordingEmitter early = subscribe();
+
+		hub.open(RECORD_ID);
+		hub.publish(RECORD_ID, "journal_explain", "안녕");
+
+		assertThat(early.data()).containsExactly("안녕");
+	}
+
+	@Test
+	void reopeningForRetrySendsResetAndDropsOldEvents() {
+		RecordingEmitter subscriber = subscribe();
+		hub.open(RECORD_ID);
+		hub.publish(RECORD_ID, "journal_explain", "첫 시도");
+
+		hub.open(RECORD_ID);
+
+		assertThat(subscriber.names()).containsExactly("journal_explain", "reset");
+		assertThat(subscribe().names()).isEmpty();
+	}
+
+	@Test
+	void resetKeepsSubscribersAndClearsReplay() {
+		RecordingEmitter subscriber = subscribe();
+		hub.open(RECORD_ID);
+		hub.publish(RECORD_ID, "journal_explain", "버려질 조각");
+
+		hub.reset(RECORD_ID);
+		hub.open(RECORD_ID);
+		hub.publish(RECORD_ID, "journal_explain", "새 조각");
+
+		assertThat(subscriber.names()).containsExactly("journal_explain", "reset", "journal_explain");
+		assertThat(subscriber.completed).isFalse();
+		assertThat(subscribe().data()).containsExactly("새 조각");
+	}
+
+	@Test
+	void abortSendsStatusAndClosesSubscribers() {
+		RecordingEmitter subscriber = subscribe();
+		hub.open(RECORD_ID);
+		hub.publish(RECORD_ID, "journal_explain", "생성 중");
+
+		hub.abort(RECORD_ID, PrescriptionStatus.PENDING);
+		hub.publish(RECORD_ID, "journal_explain", "닫힌 뒤");
+
+		assertThat(subscriber.names()).containsExactly("journal_explain", "status");
+		assertThat(((CreateRecordResponseDto.AiPrescriptionDto) subscriber.data().get(1)).getStatus())
+				.isEqualTo("PENDING");
+		assertThat(subscriber.completed).isTrue();
+	}
+
+	@Test
+	void completeSendsFinalPrescriptionAndClosesSubscribers() {
+		RecordingEmitter subscriber = subscribe();
+		hub.open(RECORD_ID);
+
+		hub.complete(RECORD_ID, new PrescriptionContent(AiPrescriptionCategory.recovery, "설명", "추천",
+				PrescriptionSource.LLM));
+
+		assertThat(subscriber.names()).containsExactly("done");
+		CreateRecordResponseDto.AiPrescriptionDto done = (CreateRecordResponseDto.AiPrescriptionDto) subscriber.data().get(0);
+		assertThat(done.getStatus()).isEqualTo("DONE");
+		assertThat(done.getJournalExplain()).isEqualTo("설명");
+		assertThat(subscriber.completed).isTrue();
+	}
+
+	@Test
+	void disconnectedSubscriberIsDropped() {
+		RecordingEmitter broken = new RecordingEmitter(true);
+		hub.subscribe(RECORD_ID, broken);
+		RecordingEmitter healthy = subscribe();
+		hub.open(RECORD_ID);
+
+		hub.publish(RECORD_ID, "journal_explain", "a");
+		hub.publish(RECORD_ID, "journal_explain", "b");
+
+		assertThat(broken.attempts).isEqualTo(1);
+		assertThat(healthy.data()).containsExactly("a", "b");
+	}
+
+	private RecordingEmitter subscribe() {
+		RecordingEmitter emitter = new RecordingEmitter(false);
+		hub.subscribe(RECORD_ID, emitter);
+		return emitter;
+	}
+
+	// 보낸 이벤트를 (이름, 데이터)로 기록하는 SseEmitter
+	private static final class RecordingEmitter extends SseEmitter {
+		private final boolean failing;
+		private final List<String> names = new ArrayList<>();
+		private final List<Object> data = new ArrayList<>();
+		private int attempts;
+		private boolean completed;
+
+		private RecordingEmitter(boolean failing) {
+			this.failing = failing;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			attempts++;
+			if (failing) {
+				throw new IOException("client disconnected");
+			}
+			Set<DataWithMediaType> parts = builder.build();
+			List<DataWithMediaType> ordered = new ArrayList<>(parts);
+			String header = ordered.get(0).getData().toString();
+			names.add(header.substring("event:".length(), header.indexOf('\n')));
+			data.add(ordered.get(1).getData());
+		}
+
+		@Override
+		public synchronized void complete() {
+			completed = true;
+		}
+
+		List<String> names() {
+			return names;
+		}
+
+		List<Object> data() {
+			return data;
+		}
+	}
+}
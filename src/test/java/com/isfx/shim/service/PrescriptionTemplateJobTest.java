@@ -0,0 +1,60 @@
+package com.isfx.shim.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.isfx.shim.entity.enums.AiPrescriptionCategory;
+import com.isfx.shim.global.monitoring.LlmUsageMonitor;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PrescriptionTemplateJobTest {
+
+	private static final PrescriptionContent CONTENT = new PrescriptionContent(
+			AiPrescriptionCategory.recovery, "설명", "추천", PrescriptionSource.LLM);
+
+	private final PrescriptionGenerator generator = mock(PrescriptionGenerator.class);
+	private final PrescriptionTemplateService templateService = mock(PrescriptionTemplateService.class);
+	private final PrescriptionTemplateLibrary library = mock(PrescriptionTemplateLibrary.class);
+	private final LlmUsageMonitor usageMonitor = mock(LlmUsageMonitor.class);
+
+	@Test
+	void partialVariantsAreStored() {
+		List<PrescriptionTemplateKey> all = PrescriptionTemplateKey.all();
+		givenFresh(new HashSet<>(all.subList(1, all.size())));
+		when(generator.generateVariants(any(), eq(3))).thenReturn(List.of(CONTENT));
+
+		job(60).refreshTemplates();
+
+		// 일부만 생성되어도 저장 → 생성 시각 기준으로 신선한 조합이 되어 다음 실행에서 다시 생성하지 않음
+		verify(templateService).replace(all.get(0), List.of(CONTENT));
+		verify(library).reload();
+	}
+
+	@Test
+	void combinationsPastRunDeadlineAreDeferred() {
+		givenFresh(Set.of());
+
+		job(0).refreshTemplates();
+
+		verify(generator, never()).generateVariants(any(), anyInt());
+		verify(templateService, never()).replace(any(), any());
+		verify(library).reload();
+	}
+
+	private void givenFresh(Set<PrescriptionTemplateKey> fresh) {
+		when(templateService.findFreshCombinations(any())).thenReturn(fresh);
+	}
+
+	private PrescriptionTemplateJob job(long maxRunMinutes) {
+		return new PrescriptionTemplateJob(generator, templateService, library, usageMonitor,
+				true, 3, 7, 200, 6000, maxRunMinutes);
+	}
+}
@@ -0,0 +1,70 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PromptCompactorTest {
+
+	private final PromptCompactor compactor = new PromptCompactor(1200, 30, 20000);
+
+	@Test
+	void estimatesSyllablesAsciiRunsAndSymbols() {
+		assertThat(compactor.estimateTokens(null)).isZero();
+		assertThat(compactor.estimateTokens("가나다")).isEqualTo(3);
+		assertThat(compactor.estimateTokens("hello")).isEqualTo(2);
+		assertThat(compactor.estimateTokens("ab cd!")).isEqualTo(3);
+		assertThat(compactor.estimateTokens("😀")).isEqualTo(1);
+	}
+
+	@Test
+	void journalWithinBudgetIsOnlyTrimmed() {
+		assertThat(compactor.compactJournal("  짧은 일기.  ", 0)).isEqualTo("짧은 일기.");
+		assertThat(compactor.compactJournal("   ", 0)).isEmpty();
+		assertThat(compactor.compactJournal(null, 0)).isEmpty();
+	}
+
+	@Test
+	void compactedJournalStaysWithinBudgetIncludingOmissionMarkers() {
+		StringBuilder journal = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			journal.append("오늘 시험 공부를 했다 ").append(i).append(". ");
+		}
+
+		String compacted = compactor.compactJournal(journal.toString(), 0);
+
+		assertThat(compacted).contains(" … ");
+		assertThat(compactor.estimateTokens(compacted)).isLessThanOrEqualTo(30);
+	}
+
+	@Test
+	void otherPromptTokensShrinkJournalBudget() {
+		PromptCompactor tight = new PromptCompactor(100, 400, 20000);
+		String journal = "시험 준비 때문에 잠을 못 잤다. 친구와 통화하며 조금 나아졌다. 내일은 일찍 자야겠다.";
+
+		String compacted = tight.compactJournal(journal, 90);
+
+		assertThat(tight.estimateTokens(compacted)).isLessThanOrEqualTo(10);
+	}
+
+	@Test
+	void sentenceLongerThanBudgetIsTruncatedWithEllipsis() {
+		String journal = "가나다라마바사아자차카타파하".repeat(3);
+
+		String compacted = compactor.compactJournal(journal, 0);
+
+		assertThat(compacted).endsWith("…");
+		assertThat(compactor.estimateTokens(compacted)).isLessThanOrEqualTo(30);
+	}
+
+	@Test
+	void veryLongJournalIsReadOnlyAtBothEnds() {
+		PromptCompactor windowed = new PromptCompactor(100_000, 100_000, 100);
+		String journal = "처음" + "가".repeat(10_000) + "마지막";
+
+		String compacted = windowed.compactJournal(journal, 0);
+
+		assertThat(compacted).startsWith("처음").endsWith("마지막");
+		assertThat(compacted.length()).isLessThanOrEqualTo(101);
+	}
+}
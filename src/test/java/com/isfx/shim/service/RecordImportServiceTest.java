@@ -0,0 +1,151 @@
+package com.isfx.shim.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.isfx.shim.dto.ImportRecordsRequest;
+import com.isfx.shim.dto.ImportRecordsRequest.ImportRecordItem;
+import com.isfx.shim.entity.DailyRecord;
+import com.isfx.shim.entity.User;
+import com.isfx.shim.entity.WeatherDailySummary;
+import com.isfx.shim.entity.WeatherLog;
+import com.isfx.shim.entity.enums.WeatherCondition;
+import com.isfx.shim.entity.enums.WeatherDataSource;
+import com.isfx.shim.repository.DailyRecordRepository;
+import com.isfx.shim.repository.UserRepository;
+import com.isfx.shim.repository.WeatherDailySummaryRepository;
+import com.isfx.shim.repository.WeatherLogRepository;
+import com.isfx.shim.service.EnergyScoreRecomputeService.ChunkResult;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RecordImportServiceTest {
+
+	private static final Long USER_ID = 1L;
+	private static final String LOCATION = "강남구";
+	private static final LocalDate SUMMARY_DATE = LocalDate.of(2025, 1, 10);
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final DailyRecordRepository dailyRecordRepository = mock(DailyRecordRepository.class);
+	private final WeatherLogRepository weatherLogRepository = mock(WeatherLogRepository.class);
+	private final WeatherDailySummaryRepository weatherDailySummaryRepository = mock(WeatherDailySummaryRepository.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final EnergyScoreCalculator calculator = new EnergyScoreCalculator();
+
+	private final RecordImportService importService = new RecordImportService(userRepository, dailyRecordRepository,
+			weatherLogRepository, weatherDailySummaryRepository, mock(WeatherService.class), calculator);
+	private final EnergyScoreRecomputeService recomputeService =
+			new EnergyScoreRecomputeService(dailyRecordRepository, calculator, jdbcTemplate);
+
+	private final List<DailyRecord> savedRecords = new ArrayList<>();
+	private final List<WeatherLog> savedWeather = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(importService, "chunkSize", 200);
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.of(mock(User.class)));
+		when(dailyRecordRepository.findAllByUserAndRecordDateBetween(any(), any(), any())).thenReturn(List.of());
+		when(dailyRecordRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<DailyRecord> chunk = invocation.getArgument(0);
+			savedRecords.addAll(chunk);
+			return chunk;
+		});
+		when(weatherLogRepository.findObservationsBetween(any(), any(), any())).thenReturn(List.of());
+		when(weatherLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<WeatherLog> logs = invocation.getArgument(0);
+			savedWeather.addAll(logs);
+			return logs;
+		});
+		WeatherDailySummary summary = summary(-4.0, 80.0, 45.0);
+		when(weatherDailySummaryRepository.findAllByLocationInAndSummaryDateBetween(any(), any(), any()))
+				.thenReturn(List.of(summary));
+	}
+
+	@Test
+	void summaryOnlyDayIsPersistedAndLinked() {
+		importService.importRecords(USER_ID, request(item(SUMMARY_DATE)));
+
+		assertThat(savedWeather).hasSize(1);
+		WeatherLog weather = savedWeather.get(0);
+		assertThat(weather.getLocation()).isEqualTo(LOCATION);
+		assertThat(weather.getObserved_at()).isEqualTo(SUMMARY_DATE.atTime(12, 0));
+		assertThat(weather.getTemperature()).isEqualTo(-4.0);
+		assertThat(weather.getCondition()).isEqualTo(WeatherCondition.other);
+		assertThat(weather.getDataSource()).isEqualTo(WeatherDataSource.LAST_KNOWN_GOOD);
+
+		assertThat(savedRecords).hasSize(1);
+		assertThat(savedRecords.get(0).getWeatherLog()).isSameAs(weather);
+	}
+
+	@Test
+	void recomputeKeepsScoreOfSummaryScoredImport() {
+		importService.importRecords(USER_ID, request(item(SUMMARY_DATE)));
+		DailyRecord imported = savedRecords.get(0);
+		when(dailyRecordRepository.findAllWithWeatherByIdIn(List.of(100L))).thenReturn(List.of(imported));
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+		ChunkResult result = recomputeService.recomputeChunk(List.of(100L), EnergyScoreModel.CURRENT);
+
+		// 날씨가 연결되지 않으면 재계산이 날씨 없음 점수로 바꿔 changed=1이 됨
+		assertThat(result.changed()).isZero();
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+		assertThat(updates.getValue().get(0)[0]).isEqualTo(imported.getEnergyScore());
+		assertThat(imported.getEnergyScore()).isNotEqualTo(calculator.calculateEnergyScore(EnergyScoreModel.CURRENT,
+				imported.getEmotionLevel(), imported.getConversationLevel(), imported.getMeetingCount(),
+				imported.getTransportMode(), imported.getCongestionLevel(), null));
+	}
+
+	@Test
+	void dayWithoutAnyWeatherIsNotPersisted() {
+		when(weatherDailySummaryRepository.findAllByLocationInAndSummaryDateBetween(any(), any(), any()))
+				.thenReturn(List.of());
+
+		importService.importRecords(USER_ID, request(item(SUMMARY_DATE)));
+
+		assertThat(savedWeather).isEmpty();
+		assertThat(savedRecords.get(0).getWeatherLog()).isNull();
+	}
+
+	private static ImportRecordsRequest request(ImportRecordItem... items) {
+		ImportRecordsRequest request = new ImportRecordsRequest();
+		request.setRecords(List.of(items));
+		return request;
+	}
+
+	private static ImportRecordItem item(LocalDate recordDate) {
+		ImportRecordItem item = new ImportRecordItem();
+		item.setRecordDate(recordDate);
+		item.setEmotionLevel(4);
+		item.setConversationLevel(3);
+		item.setMeetingCount(1);
+		item.setTransportMode("walk");
+		item.setCongestionLevel(2);
+		item.setLocation(LOCATION);
+		return item;
+	}
+
+	private static WeatherDailySummary summary(double temperature, double pm10, double pm25) {
+		WeatherDailySummary summary = mock(WeatherDailySummary.class);
+		when(summary.getLocation()).thenReturn(LOCATION);
+		when(summary.getSummaryDate()).thenReturn(SUMMARY_DATE);
+		when(summary.getAvgTemperature()).thenReturn(temperature);
+		when(summary.getAvgPm10()).thenReturn(pm10);
+		when(summary.getAvgPm25()).thenReturn(pm25);
+		when(summary.getAvgAirQualityIndex()).thenReturn(70.0);
+		return summary;
+	}
+}